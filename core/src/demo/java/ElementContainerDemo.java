@@ -14,8 +14,12 @@
  *  limitations under the License.
  */
 
+import elemental2.dom.HTMLTableSectionElement;
 import elemental2.dom.HTMLUListElement;
 
+import static org.jboss.elemento.Elements.tbody;
+import static org.jboss.elemento.Elements.td;
+import static org.jboss.elemento.Elements.tr;
 import static org.jboss.elemento.Elements.ul;
 
 @SuppressWarnings("unused")
@@ -32,4 +36,16 @@ public class ElementContainerDemo {
                 .element();
         // @end region = addAll
     }
+
+    public void batchDemo() {
+        // @start region = batch
+        HTMLTableSectionElement tbody = tbody()
+                .batch(builder -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        builder.add(tr().add(td().text("Row " + i)));
+                    }
+                })
+                .element();
+        // @end region = batch
+    }
 }
@@ -15,11 +15,20 @@
  */
 
 import org.gwtproject.event.shared.HandlerRegistration;
+import org.jboss.elemento.By;
+
+import elemental2.dom.HTMLTableSectionElement;
 
 import static elemental2.dom.DomGlobal.alert;
 import static org.jboss.elemento.Elements.body;
+import static org.jboss.elemento.Elements.button;
+import static org.jboss.elemento.Elements.failSafeRemoveFromParent;
+import static org.jboss.elemento.Elements.tbody;
+import static org.jboss.elemento.Elements.td;
+import static org.jboss.elemento.Elements.tr;
 import static org.jboss.elemento.EventType.bind;
 import static org.jboss.elemento.EventType.click;
+import static org.jboss.elemento.EventType.dblclick;
 
 @SuppressWarnings("unused")
 public class EventDemo {
@@ -32,4 +41,19 @@ public class EventDemo {
         // @end region = bind
 
     }
+
+    public void delegateDemo() {
+        // @start region = delegate
+        HTMLTableSectionElement tbody = tbody()
+                .on(click, By.classname("delete"), (event, button) -> failSafeRemoveFromParent(button.closest("tr")))
+                .on(dblclick, By.element("td"), (event, cell) -> alert(cell.textContent))
+                .element();
+        for (int i = 0; i < 5_000; i++) {
+            tbody.appendChild(tr()
+                    .add(td().text("Row " + i))
+                    .add(td().add(button().css("delete").text("Delete")))
+                    .element());
+        }
+        // @end region = delegate
+    }
 }
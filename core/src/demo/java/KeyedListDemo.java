@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+import java.util.List;
+
+import elemental2.dom.HTMLLIElement;
+import org.jboss.elemento.KeyedList;
+
+import static org.jboss.elemento.Elements.li;
+import static org.jboss.elemento.Elements.ul;
+import static org.jboss.elemento.KeyedList.list;
+
+@SuppressWarnings("unused")
+public class KeyedListDemo {
+
+    public void listDemo() {
+        // @start region = list
+        TodoRepository repository = new TodoRepository();
+        KeyedList<Todo, String, HTMLLIElement> todos = list(ul(), repository.todos(),
+                todo -> todo.id,
+                todo -> li().text(todo.text).element(),
+                (element, todo) -> element.textContent = todo.text);
+
+        // later on: new, moved, or removed todos touch the DOM, and the update function is called for the other todos
+        List<Todo> changed = repository.todos();
+        todos.update(changed);
+        // @end region = list
+    }
+}
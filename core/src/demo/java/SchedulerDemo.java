@@ -0,0 +1,54 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+import elemental2.dom.DOMRect;
+import elemental2.dom.HTMLElement;
+import org.jboss.elemento.Cancellable;
+import org.jboss.elemento.CancellableCallback;
+
+import static org.jboss.elemento.Elements.div;
+import static org.jboss.elemento.Scheduler.idle;
+import static org.jboss.elemento.Scheduler.measure;
+import static org.jboss.elemento.Scheduler.mutate;
+import static org.jboss.elemento.Scheduler.throttle;
+
+@SuppressWarnings("unused")
+public class SchedulerDemo {
+
+    public void measureMutateDemo() {
+        // @start region = measureMutate
+        HTMLElement element = div().element();
+        measure(() -> {
+            DOMRect rect = element.getBoundingClientRect();
+            mutate(() -> element.style.setProperty("width", (rect.width * 2) + "px"));
+        });
+        // @end region = measureMutate
+    }
+
+    public void throttleDemo() {
+        // @start region = throttle
+        CancellableCallback update = throttle(100, () -> {
+            // expensive update
+        });
+        Cancellable prefetch = idle(2_000, () -> {
+            // low priority work
+        });
+        // later...
+        update.cancel();
+        prefetch.cancel();
+        // @end region = throttle
+    }
+}
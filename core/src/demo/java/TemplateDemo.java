@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+import java.util.List;
+
+import elemental2.dom.HTMLLIElement;
+import elemental2.dom.HTMLUListElement;
+import elemental2.dom.MouseEvent;
+import org.jboss.elemento.Template;
+import org.jboss.elemento.Template.AttributeHole;
+import org.jboss.elemento.Template.EventHole;
+import org.jboss.elemento.Template.TextHole;
+
+import static org.jboss.elemento.By.classname;
+import static org.jboss.elemento.Elements.button;
+import static org.jboss.elemento.Elements.li;
+import static org.jboss.elemento.Elements.span;
+import static org.jboss.elemento.Elements.ul;
+import static org.jboss.elemento.EventType.click;
+import static org.jboss.elemento.Template.template;
+
+@SuppressWarnings("unused")
+public class TemplateDemo {
+
+    public void templateDemo() {
+        // @start region = template
+        Template<HTMLLIElement> row = template(li().css("todo")
+                .add(span().css("text"))
+                .add(button().css("destroy")));
+        TextHole text = row.text(classname("text"));
+        AttributeHole id = row.attribute("data-todo-id");
+        EventHole<MouseEvent> destroy = row.on(classname("destroy"), click);
+
+        List<Todo> todos = new TodoRepository().todos();
+        HTMLUListElement ul = ul()
+                .addAll(todos.stream().map(todo -> row.stamp()
+                        .attr(id, todo.id)
+                        .text(text, todo.text)
+                        .on(destroy, event -> todos.remove(todo))))
+                .element();
+        // @end region = template
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+import java.util.List;
+
+import elemental2.dom.HTMLDivElement;
+import elemental2.dom.HTMLTableRowElement;
+import elemental2.dom.HTMLTableSectionElement;
+import org.jboss.elemento.HTMLContainerBuilder;
+import org.jboss.elemento.VirtualList;
+
+import static org.jboss.elemento.Elements.div;
+import static org.jboss.elemento.Elements.table;
+import static org.jboss.elemento.Elements.tbody;
+import static org.jboss.elemento.Elements.td;
+import static org.jboss.elemento.Elements.tr;
+import static org.jboss.elemento.VirtualList.virtualList;
+
+@SuppressWarnings("unused")
+public class VirtualListDemo {
+
+    public void virtualListDemo() {
+        // @start region = virtualList
+        List<Todo> todos = new TodoRepository().todos();
+        HTMLContainerBuilder<HTMLTableSectionElement> tbody = tbody();
+        HTMLContainerBuilder<HTMLDivElement> viewport = div()
+                .style("height: 400px; overflow: auto")
+                .add(table().add(tbody));
+
+        VirtualList<Todo, HTMLTableRowElement> list = virtualList(viewport, tbody,
+                () -> tr().add(td()).element(),
+                (row, todo) -> row.firstElementChild.textContent = todo.text);
+        list.rowHeight(24).items(todos);
+        list.scrollToIndex(1_000);
+        // @end region = virtualList
+    }
+}
@@ -16,235 +16,224 @@
 package org.jboss.elemento;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.elemento.logger.Logger;
 
+import elemental2.core.FinalizationRegistry;
 import elemental2.core.JsArray;
 import elemental2.dom.HTMLElement;
-import elemental2.dom.MutationObserver;
-import elemental2.dom.MutationObserverInit;
-import elemental2.dom.MutationRecord;
+import elemental2.dom.Node;
 import jsinterop.base.Js;
 
+import static elemental2.dom.DomGlobal.clearInterval;
 import static elemental2.dom.DomGlobal.document;
-import static java.util.stream.Collectors.toList;
-import static org.jboss.elemento.Elements.asHtmlElement;
-import static org.jboss.elemento.Elements.htmlElements;
-import static org.jboss.elemento.Elements.stream;
+import static elemental2.dom.DomGlobal.setInterval;
+import static jsinterop.base.Js.isTripleEqual;
+import static jsinterop.base.Js.undefined;
+import static org.jboss.elemento.ObservationRoot.ATTACH_UID_KEY;
+import static org.jboss.elemento.ObservationRoot.DETACH_UID_KEY;
+import static org.jboss.elemento.ObservationRoot.ids;
 import static org.jboss.elemento.logger.Level.DEBUG;
 
-final class BodyObserver {
-
-    private static final String ATTACH_UID_KEY = "on-attach-uid";
-    private static final String DETACH_UID_KEY = "on-detach-uid";
+/**
+ * Observes the document body and calls the registered attach / detach callbacks.
+ * <p>
+ * Observed elements are marked with an attribute holding the (space-separated) IDs of their observers. The observers are kept in
+ * an index keyed by these IDs. For each added or removed node, the node itself and its subtree are queried <em>once</em> for
+ * the attribute, and only the IDs found there are looked up in the index. The costs of a mutation record are therefore
+ * proportional to the number of matched elements and independent of the number of registered observers.
+ * <p>
+ * By default, mutation records are processed one at a time. Use {@link #mode(ObserverMode)} to collapse the records into the
+ * net set of added and removed nodes, optionally deferred to the next animation frame.
+ * <p>
+ * Use {@link #lifetime(ObserverLifetime)} to reference elements weakly, so that observers of elements which are never attached
+ * or whose removal is never observed don't leak. {@link #stats()} reports the number of live and released observers.
+ * <p>
+ * Use {@link ObservationRoot} to observe a part of the page or a shadow root instead of the whole document body. The
+ * settings of this class apply to all observation roots.
+ */
+public final class BodyObserver {
 
-    private static final List<ElementObserver> detachObservers = new ArrayList<>();
-    private static final List<ElementObserver> attachObservers = new ArrayList<>();
+    private static final int SWEEP_INTERVAL = 60_000;
     private static final Logger logger = Logger.getLogger(BodyObserver.class.getName());
-    private static boolean ready = false;
+    private static final Map<Node, ObservationRoot> scopes = new LinkedHashMap<>();
+    private static ObservationRoot body;
+    private static ObserverMode mode = ObserverMode.immediate;
+    private static ObserverLifetime lifetime = ObserverLifetime.strong;
+    private static FinalizationRegistry<HTMLElement, String, Object> registry;
+    private static double sweepHandle = 0;
+    private static int collected = 0;
+    private static int purged = 0;
 
-    // ------------------------------------------------------ api
+    // ------------------------------------------------------ public api
 
     /**
-     * Registers the element and calls the callback when the element is attached to the DOM.
+     * Sets the mode used to process mutation records. Records which are already pending are processed in the next animation
+     * frame, regardless of the new mode.
      */
-    static void addAttachObserver(HTMLElement element, ObserverCallback callback) {
-        if (!ready) {
-            startObserving();
-        }
-        String id = Id.unique("a");
-        attachObservers.add(createObserver(id, element, ATTACH_UID_KEY, callback));
-        if (logger.isEnabled(DEBUG)) {
-            logger.debug("Add attach observer %s for %o %s", id, element, count());
+    public static void mode(ObserverMode mode) {
+        if (mode != null) {
+            BodyObserver.mode = mode;
         }
     }
 
-    static void removeAttachObserver(HTMLElement element) {
-        element.removeAttribute(ATTACH_UID_KEY);
+    /** Returns the mode used to process mutation records. */
+    public static ObserverMode mode() {
+        return mode;
     }
 
     /**
-     * Registers the element and calls the callback when the element is detached from the DOM.
+     * Sets the lifetime of observers registered from now on. Observers which are already registered keep their lifetime.
+     * {@link ObserverLifetime#weak} falls back to {@link ObserverLifetime#strong} if {@code WeakRef} or
+     * {@code FinalizationRegistry} are not available. As long as the lifetime is {@link ObserverLifetime#weak}, stale
+     * observers are {@linkplain #sweep() swept} periodically.
      */
-    static void addDetachObserver(HTMLElement element, ObserverCallback callback) {
-        if (!ready) {
-            startObserving();
+    public static void lifetime(ObserverLifetime lifetime) {
+        if (lifetime == ObserverLifetime.weak && !weakReferences()) {
+            logger.warn("WeakRef or FinalizationRegistry not available. Fall back to strong observer lifetime.");
+            lifetime = ObserverLifetime.strong;
         }
-        String id = Id.unique("d");
-        detachObservers.add(createObserver(id, element, DETACH_UID_KEY, callback));
-        if (logger.isEnabled(DEBUG)) {
-            logger.debug("Add detach observer %s for %o %s", id, element, count());
+        if (lifetime != null) {
+            BodyObserver.lifetime = lifetime;
+            if (lifetime == ObserverLifetime.weak && sweepHandle == 0) {
+                sweepHandle = setInterval(__ -> sweep(), SWEEP_INTERVAL);
+            } else if (lifetime == ObserverLifetime.strong && sweepHandle != 0) {
+                clearInterval(sweepHandle);
+                sweepHandle = 0;
+            }
         }
     }
 
-    static void removeDetachObserver(HTMLElement element) {
-        element.removeAttribute(DETACH_UID_KEY);
+    /** Returns the lifetime of newly registered observers. */
+    public static ObserverLifetime lifetime() {
+        return lifetime;
     }
 
-    // ------------------------------------------------------ internal
-
-    private static void startObserving() {
-        MutationObserver mutationObserver = new MutationObserver((mutationRecords, observer) -> {
-            MutationRecord[] records = Js.uncheckedCast(mutationRecords);
-            // noinspection ConstantValue,DataFlowIssue
-            for (MutationRecord record : records) {
-                if (record.removedNodes.length != 0) {
-                    onElementsRemoved(record);
-                }
-                if (record.addedNodes.length != 0) {
-                    onElementsAppended(record);
-                }
-            }
-            return null;
-        });
-
-        MutationObserverInit mutationObserverInit = MutationObserverInit.create();
-        mutationObserverInit.setChildList(true);
-        mutationObserverInit.setSubtree(true);
-        if (document.body == null) {
-            logger.error("Cannot start observing elements. Document is not ready yet!");
-        } else {
-            logger.debug("Start observing elements");
-            mutationObserver.observe(document.body, mutationObserverInit);
-            ready = true;
+    /**
+     * Releases stale observers. An observer is stale if its element has been garbage collected, or if its element no longer
+     * carries the observer ID (e.g. because the attribute has been removed or replaced).
+     */
+    public static void sweep() {
+        int before = collected + purged;
+        for (ObservationRoot observationRoot : roots()) {
+            int[] counts = observationRoot.sweep();
+            collected += counts[0];
+            purged += counts[1];
         }
-    }
-
-    private static void onElementsAppended(MutationRecord record) {
-        List<HTMLElement> elements = stream(record.addedNodes)
-                .filter(htmlElements())
-                .map(asHtmlElement())
-                .collect(toList());
-
-        if (!elements.isEmpty()) {
-            for (Iterator<ElementObserver> iterator = attachObservers.iterator(); iterator.hasNext(); ) {
-                ElementObserver eo = iterator.next();
-                if (eo.element == null) {
-                    iterator.remove();
-                    if (logger.isEnabled(DEBUG)) {
-                        logger.debug("Remove attach observer %s w/o element %s", eo.id, count());
-                    }
-                } else {
-                    if (elements.contains(eo.element)
-                            || isChildOfObservedElement(elements, ATTACH_UID_KEY, eo.id)) {
-                        if (logger.isEnabled(DEBUG)) {
-                            logger.debug("Call attach callback %s for %o", eo.id, eo.element);
-                        }
-                        eo.callback.onObserved(record);
-                        removeId(eo.element, ATTACH_UID_KEY, eo.id);
-                        iterator.remove();
-                        if (logger.isEnabled(DEBUG)) {
-                            logger.debug("Remove attach observer %s for %o %s", eo.id, eo.element, count());
-                        }
-                    }
-                }
-            }
+        if (logger.isEnabled(DEBUG)) {
+            logger.debug("Swept %d stale observers", collected + purged - before);
         }
     }
 
-    private static void onElementsRemoved(MutationRecord record) {
-        List<HTMLElement> elements = stream(record.removedNodes)
-                .filter(htmlElements())
-                .map(asHtmlElement())
-                .collect(toList());
-
-        if (!elements.isEmpty()) {
-            for (Iterator<ElementObserver> iterator = detachObservers.iterator(); iterator.hasNext(); ) {
-                ElementObserver eo = iterator.next();
-                if (eo.element == null) {
-                    iterator.remove();
-                    if (logger.isEnabled(DEBUG)) {
-                        logger.debug("Remove detach observer %s w/o element %s", eo.id, count());
-                    }
-                } else {
-                    if (elements.contains(eo.element)
-                            || isChildOfObservedElement(elements, DETACH_UID_KEY, eo.id)) {
-                        if (logger.isEnabled(DEBUG)) {
-                            logger.debug("Call detach callback %s for %o", eo.id, eo.element);
-                        }
-                        eo.callback.onObserved(record);
-                        removeId(eo.element, DETACH_UID_KEY, eo.id);
-                        iterator.remove();
-                        if (logger.isEnabled(DEBUG)) {
-                            logger.debug("Remove detach observer %s for %o %s", eo.id, eo.element, count());
-                        }
-                    }
-                }
-            }
+    /** Returns a snapshot of the number of live and released observers of the body and all observation roots. */
+    public static ObserverStats stats() {
+        int attachObservers = 0;
+        int detachObservers = 0;
+        for (ObservationRoot observationRoot : roots()) {
+            attachObservers += observationRoot.attachObservers();
+            detachObservers += observationRoot.detachObservers();
         }
+        return new ObserverStats(attachObservers, detachObservers, collected, purged);
     }
 
-    private static boolean isChildOfObservedElement(List<HTMLElement> elements, String attribute, String id) {
-        for (HTMLElement element : elements) {
-            // The use of the right attribute selector is important here!
-            // Multiple attach/detach IDs can be present on an element.
+    // ------------------------------------------------------ api
 
-            // The selector "~=" matches elements whose value is exactly the value
-            // or contains the value in its (space-separated) list of values.
+    /**
+     * Registers the element and calls the callback when the element is attached to the DOM.
+     */
+    static void addAttachObserver(HTMLElement element, ObserverCallback callback) {
+        body().addAttachObserver(element, callback);
+    }
 
-            // The selector "*=" must not be used!
-            // It matches elements whose value contains the value anywhere within the string.
-            if (element.querySelector("[" + attribute + "~='" + id + "']") != null) {
-                return true;
-            }
+    static void removeAttachObserver(HTMLElement element) {
+        JsArray<String> ids = ids(element, ATTACH_UID_KEY);
+        for (ObservationRoot observationRoot : roots()) {
+            observationRoot.removeObservers(element, ids, new JsArray<>());
         }
-        return false;
+        element.removeAttribute(ATTACH_UID_KEY);
     }
 
-    private static ElementObserver createObserver(String id, HTMLElement element, String attribute, ObserverCallback callback) {
-        addId(element, attribute, id);
-        return new ElementObserver(id, element, callback);
+    /**
+     * Registers the element and calls the callback when the element is detached from the DOM.
+     */
+    static void addDetachObserver(HTMLElement element, ObserverCallback callback) {
+        body().addDetachObserver(element, callback);
     }
 
-    private static void addId(HTMLElement element, String attribute, String id) {
-        JsArray<String> ids = ids(element, attribute);
-        ids.push(id);
-        element.setAttribute(attribute, ids.join(" "));
+    static void removeDetachObserver(HTMLElement element) {
+        JsArray<String> ids = ids(element, DETACH_UID_KEY);
+        for (ObservationRoot observationRoot : roots()) {
+            observationRoot.removeObservers(element, new JsArray<>(), ids);
+        }
+        element.removeAttribute(DETACH_UID_KEY);
     }
 
-    private static void removeId(HTMLElement element, String attribute, String id) {
-        JsArray<String> ids = ids(element, attribute);
-        int index = ids.indexOf(id);
-        if (index != -1) {
-            ids.splice(index, 1);
+    // ------------------------------------------------------ observation roots
+
+    static ObservationRoot scope(Node root) {
+        if (root == null) {
+            throw new IllegalArgumentException("Observation root must not be null");
         }
-        if (ids.length == 0) {
-            element.removeAttribute(attribute);
-        } else {
-            element.setAttribute(attribute, ids.join(" "));
+        ObservationRoot observationRoot = scopes.get(root);
+        if (observationRoot == null) {
+            observationRoot = new ObservationRoot(root);
+            scopes.put(root, observationRoot);
         }
+        return observationRoot;
     }
 
-    private static JsArray<String> ids(HTMLElement element, String attribute) {
-        JsArray<String> ids = new JsArray<>();
-        if (element.hasAttribute(attribute)) {
-            String value = element.getAttribute(attribute);
-            if (!value.trim().isEmpty()) {
-                for (String id : value.split(" ")) {
-                    ids.push(id);
-                }
-            }
+    static void disconnected(ObservationRoot observationRoot) {
+        if (observationRoot == body) {
+            body = null;
+        } else {
+            scopes.remove(observationRoot.root());
         }
-        return ids;
     }
 
-    private static String count() {
-        return "(a:" + attachObservers.size() + "|d:" + detachObservers.size() + ")";
+    static FinalizationRegistry<HTMLElement, String, Object> registry() {
+        if (registry == null) {
+            registry = new FinalizationRegistry<>(id -> {
+                for (ObservationRoot observationRoot : roots()) {
+                    if (observationRoot.collected(id)) {
+                        collected++;
+                        break;
+                    }
+                }
+                return null;
+            });
+        }
+        return registry;
     }
 
+    // ------------------------------------------------------ internal
 
-    private static final class ElementObserver {
-
-        private final String id;
-        private final HTMLElement element;
-        private final ObserverCallback callback;
+    private static ObservationRoot body() {
+        if (body == null) {
+            body = new ObservationRoot();
+        }
+        if (!body.connected()) {
+            if (document.body == null) {
+                logger.error("Cannot start observing elements. Document is not ready yet!");
+            } else {
+                body.connect(document.body);
+            }
+        }
+        return body;
+    }
 
-        private ElementObserver(String id, HTMLElement element, ObserverCallback callback) {
-            this.id = id;
-            this.element = element;
-            this.callback = callback;
+    private static List<ObservationRoot> roots() {
+        List<ObservationRoot> roots = new ArrayList<>(scopes.values());
+        if (body != null) {
+            roots.add(0, body);
         }
+        return roots;
+    }
+
+    private static boolean weakReferences() {
+        return !isTripleEqual(Js.global().getAsAny("WeakRef"), undefined())
+                && !isTripleEqual(Js.global().getAsAny("FinalizationRegistry"), undefined());
     }
 }
@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import elemental2.dom.DocumentFragment;
+import elemental2.dom.Element;
+import elemental2.dom.Node;
+
+/**
+ * Keeps track of the document fragments used by {@link ElementContainerMethods#batch(java.util.function.Consumer)}. While a
+ * batch is active for a container, all nodes added to the container are collected in a document fragment.
+ */
+final class ContainerBatch {
+
+    private static final Map<Element, DocumentFragment> fragments = new HashMap<>();
+
+    /** Returns the node to append to: the fragment of an active batch for the container or the given parent otherwise. */
+    static Node parent(Element container, Node parent) {
+        if (!fragments.isEmpty()) {
+            DocumentFragment fragment = fragments.get(container);
+            if (fragment != null) {
+                return fragment;
+            }
+        }
+        return parent;
+    }
+
+    static boolean active(Element container) {
+        return !fragments.isEmpty() && fragments.containsKey(container);
+    }
+
+    static DocumentFragment start(Element container) {
+        DocumentFragment fragment = container.ownerDocument.createDocumentFragment();
+        fragments.put(container, fragment);
+        return fragment;
+    }
+
+    static void stop(Element container) {
+        fragments.remove(container);
+    }
+
+    private ContainerBatch() {
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import elemental2.dom.Event;
+import elemental2.dom.HTMLElement;
+
+/** Callback for delegated event handlers. */
+@FunctionalInterface
+public interface DelegatedCallbackFn<E extends Event> {
+
+    /**
+     * Called for an event of a descendant of the container.
+     *
+     * @param event   the event
+     * @param matched the closest element of the event target matching the selector of the handler
+     */
+    void onEvent(E event, HTMLElement matched);
+}
@@ -20,6 +20,8 @@ import java.util.function.Supplier;
 import elemental2.dom.Element;
 import elemental2.dom.Node;
 
+import static org.jboss.elemento.ContainerBatch.parent;
+
 /**
  * Delegates all methods from {@link ElementContainerMethods} to the element returned by {@link #containerDelegate()}.
  */
@@ -31,19 +33,19 @@ public interface ElementContainerDelegate<E extends Element, B extends TypedBuil
 
     @Override
     default B add(String text) {
-        containerDelegate().appendChild(element().ownerDocument.createTextNode(text));
+        parent(element(), containerDelegate()).appendChild(element().ownerDocument.createTextNode(text));
         return that();
     }
 
     @Override
     default B add(Node node) {
-        containerDelegate().appendChild(node);
+        parent(element(), containerDelegate()).appendChild(node);
         return that();
     }
 
     @Override
     default B add(Supplier<Node> supplier) {
-        containerDelegate().appendChild(supplier.get());
+        parent(element(), containerDelegate()).appendChild(supplier.get());
         return that();
     }
 }
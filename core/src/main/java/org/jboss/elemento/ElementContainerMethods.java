@@ -15,15 +15,26 @@
  */
 package org.jboss.elemento;
 
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import elemental2.dom.DocumentFragment;
 import elemental2.dom.Element;
 import elemental2.dom.HTMLElement;
 import elemental2.dom.Node;
 
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.elemento.ContainerBatch.parent;
+
 /**
  * Provides methods and default implementations for adding elements.
  * <p>
+ * If the container is connected to the document, the {@code addAll(...)} methods collect the nodes in a
+ * {@link DocumentFragment} and insert them in one operation. This results in one mutation record and one style invalidation
+ * instead of one per node. Use {@link #batch(Consumer)} to collect arbitrary {@code add(...)} calls into one fragment.
+ * <p>
  * {@snippet class = ElementContainerDemo region = addAll}
  */
 public interface ElementContainerMethods<E extends Element, B extends TypedBuilder<E, B>>
@@ -32,13 +43,13 @@ public interface ElementContainerMethods<E extends Element, B extends TypedBuild
 
     /** Adds the given text as a text node. */
     default B add(String text) {
-        element().appendChild(element().ownerDocument.createTextNode(text));
+        parent(element(), element()).appendChild(element().ownerDocument.createTextNode(text));
         return that();
     }
 
     /** Adds the given node. */
     default B add(Node node) {
-        element().appendChild(node);
+        parent(element(), element()).appendChild(node);
         return that();
     }
 
@@ -52,55 +63,38 @@ public interface ElementContainerMethods<E extends Element, B extends TypedBuild
 
     /** Add the element returned by the supplier. */
     default B add(Supplier<Node> supplier) {
-        element().appendChild(supplier.get());
+        parent(element(), element()).appendChild(supplier.get());
         return that();
     }
 
     /** Adds all nodes. */
     default B addAll(Node... nodes) {
-        for (Node node : nodes) {
-            add(node);
-        }
-        return that();
+        return addNodes(asList(nodes));
     }
 
     /** Adds all elements. */
     default B addAll(Element... elements) {
-        for (Element element : elements) {
-            add(element);
-        }
-        return that();
+        return addNodes(asList(elements));
     }
 
     /** Adds all HTML elements. */
     default B addAll(HTMLElement... elements) {
-        for (HTMLElement element : elements) {
-            add(element);
-        }
-        return that();
+        return addNodes(asList(elements));
     }
 
     /** Adds all elements. */
     default B addAll(IsElement<?>... elements) {
-        for (IsElement<?> element : elements) {
-            if (element != null) {
-                add(element.element());
-            }
-        }
-        return that();
+        return addNodes(asList(elements));
     }
 
     /** Adds all elements. */
     default B addAll(Iterable<?> elements) {
-        for (Object element : elements) {
-            if (element instanceof Node) {
-                add(((Node) element));
-            } else if (element instanceof IsElement) {
-                // noinspection rawtypes
-                add(((IsElement) element).element());
-            }
-        }
-        return that();
+        return addNodes(elements);
+    }
+
+    /** Adds all elements of the stream. */
+    default B addAll(Stream<?> elements) {
+        return addNodes(elements.collect(toList()));
     }
 
     /** Adds all elements returned by the supplier. */
@@ -108,4 +102,62 @@ public interface ElementContainerMethods<E extends Element, B extends TypedBuild
         addAll(supplier.get());
         return that();
     }
+
+    /**
+     * Collects all nodes added inside the consumer into one {@link DocumentFragment} and adds the fragment when the consumer
+     * returns. Use this method to add many nodes to a connected container with one mutation record and one reflow.
+     * <p>
+     * {@snippet class = ElementContainerDemo region = batch}
+     */
+    default B batch(Consumer<B> consumer) {
+        Element element = element();
+        if (ContainerBatch.active(element)) {
+            consumer.accept(that());
+        } else {
+            DocumentFragment fragment = ContainerBatch.start(element);
+            try {
+                consumer.accept(that());
+            } finally {
+                ContainerBatch.stop(element);
+            }
+            // the nodes have already been passed to add(), so append the fragment directly
+            if (fragment.hasChildNodes()) {
+                element.appendChild(fragment);
+            }
+        }
+        return that();
+    }
+
+    /**
+     * Adds nodes and elements. Other objects are ignored. If the container is connected, the nodes are collected in a document
+     * fragment first. Each node is passed to {@link #add(Node)}, so that implementations overriding this method see the
+     * individual nodes.
+     */
+    private B addNodes(Iterable<?> elements) {
+        if (element().isConnected) {
+            return batch(__ -> addEach(elements));
+        } else {
+            addEach(elements);
+            return that();
+        }
+    }
+
+    private void addEach(Iterable<?> elements) {
+        for (Object element : elements) {
+            Node node = node(element);
+            if (node != null) {
+                add(node);
+            }
+        }
+    }
+
+    private static Node node(Object element) {
+        if (element instanceof Node) {
+            return (Node) element;
+        } else if (element instanceof IsElement) {
+            // noinspection rawtypes
+            return ((IsElement) element).element();
+        }
+        return null;
+    }
 }
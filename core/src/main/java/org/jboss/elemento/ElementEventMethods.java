@@ -46,4 +46,17 @@ public interface ElementEventMethods<E extends Element, B extends TypedBuilder<E
         bind(element(), type, options, callback);
         return that();
     }
+
+    /**
+     * Adds a delegated callback to the element. The callback is called for events of descendants matching the given
+     * selector. No matter how many descendants there are, only one event listener per event type is added to the element.
+     * <p>
+     * {@snippet class = EventDemo region = delegate}
+     *
+     * @see EventType#bind(Element, EventType, By, DelegatedCallbackFn)
+     */
+    default <V extends Event> B on(EventType<V, ?> type, By selector, DelegatedCallbackFn<V> callback) {
+        bind(element(), type, selector, callback);
+        return that();
+    }
 }
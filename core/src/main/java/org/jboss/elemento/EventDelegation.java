@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gwtproject.event.shared.HandlerRegistration;
+
+import elemental2.dom.Element;
+import elemental2.dom.Event;
+import elemental2.dom.EventListener;
+import elemental2.dom.Node;
+import jsinterop.base.Js;
+import jsinterop.base.JsPropertyMap;
+
+/**
+ * Installs one event listener per container and event type and dispatches events to the handlers whose selector matches the
+ * event target or one of its ancestors. The handlers are kept in an expando property of the container, so they go away
+ * together with the container.
+ */
+final class EventDelegation {
+
+    private static final String DELEGATES_KEY = "__elementoDelegates";
+
+    static <E extends Event> HandlerRegistration delegate(Element container, EventType<E, ?> type, By selector,
+            DelegatedCallbackFn<E> callback) {
+        JsPropertyMap<Delegate> delegates = Js.uncheckedCast(Js.asPropertyMap(container).get(DELEGATES_KEY));
+        if (delegates == null) {
+            delegates = JsPropertyMap.of();
+            Js.asPropertyMap(container).set(DELEGATES_KEY, delegates);
+        }
+        Delegate delegate = delegates.get(type.name);
+        if (delegate == null) {
+            delegate = new Delegate(container, type.name);
+            delegates.set(type.name, delegate);
+        }
+        Handler handler = new Handler(selector.selector(), (event, matched) -> callback.onEvent(Js.cast(event), matched));
+        delegate.handlers.add(handler);
+
+        JsPropertyMap<Delegate> finalDelegates = delegates;
+        Delegate finalDelegate = delegate;
+        return () -> {
+            // removing a handler twice must not touch the delegate which replaced this delegate in the meantime
+            if (finalDelegate.handlers.remove(handler) && finalDelegate.handlers.isEmpty()) {
+                finalDelegate.uninstall();
+                if (finalDelegates.get(finalDelegate.type) == finalDelegate) {
+                    finalDelegates.delete(finalDelegate.type);
+                }
+            }
+        };
+    }
+
+    private static final class Delegate {
+
+        final Element container;
+        final String type;
+        final boolean capture;
+        final List<Handler> handlers;
+        final EventListener listener;
+
+        Delegate(Element container, String type) {
+            this.container = container;
+            this.type = type;
+            // these events don't bubble, but they go through the capture phase of the container
+            this.capture = "focus".equals(type) || "blur".equals(type) ||
+                    "mouseenter".equals(type) || "mouseleave".equals(type);
+            this.handlers = new ArrayList<>();
+            this.listener = this::dispatch;
+            container.addEventListener(type, listener, capture);
+        }
+
+        void uninstall() {
+            container.removeEventListener(type, listener, capture);
+        }
+
+        private void dispatch(Event event) {
+            Node node = Js.uncheckedCast(event.target);
+            if (node == null) {
+                return;
+            }
+            Element target = node.nodeType == Node.ELEMENT_NODE ? Js.uncheckedCast(node) : node.parentElement;
+            if (target == null) {
+                return;
+            }
+            // copy the handlers, so that handlers can be removed during dispatch
+            for (Handler handler : new ArrayList<>(handlers)) {
+                Element matched = target.closest(handler.selector);
+                if (matched != null && container.contains(matched)) {
+                    handler.callback.onEvent(event, Js.uncheckedCast(matched));
+                }
+            }
+        }
+    }
+
+    private static final class Handler {
+
+        final String selector;
+        final DelegatedCallbackFn<Event> callback;
+
+        Handler(String selector, DelegatedCallbackFn<Event> callback) {
+            this.selector = selector;
+            this.callback = callback;
+        }
+    }
+
+    private EventDelegation() {
+    }
+}
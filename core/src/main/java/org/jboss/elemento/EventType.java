@@ -280,6 +280,38 @@ public class EventType<T extends Event, V extends EventTarget> {
         return bind(target.element(), type, options, listener);
     }
 
+    // ------------------------------------------------------ delegation methods
+
+    /**
+     * Registers a delegated event handler. Installs at most one event listener per container and event type. The callback is
+     * called with the closest element of the event target which matches the selector and which is a descendant of the
+     * container. Elements matching the selector can be added and removed without registering or removing any handlers.
+     * <p>
+     * Events which don't bubble ({@code focus}, {@code blur}, {@code mouseenter}, {@code mouseleave}) are delegated using the
+     * capture phase.
+     * <p>
+     * {@snippet class = EventDemo region = delegate}
+     */
+    public static <T extends Event> HandlerRegistration bind(Element container,
+            EventType<T, ?> type, By selector, DelegatedCallbackFn<T> callback) {
+        return EventDelegation.delegate(container, type, selector, callback);
+    }
+
+    /**
+     * Registers a delegated event handler. Installs at most one event listener per container and event type. The callback is
+     * called with the closest element of the event target which matches the selector and which is a descendant of the
+     * container. Elements matching the selector can be added and removed without registering or removing any handlers.
+     * <p>
+     * Events which don't bubble ({@code focus}, {@code blur}, {@code mouseenter}, {@code mouseleave}) are delegated using the
+     * capture phase.
+     * <p>
+     * {@snippet class = EventDemo region = delegate}
+     */
+    public static <T extends Event, E extends HTMLElement> HandlerRegistration bind(IsElement<E> container,
+            EventType<T, ?> type, By selector, DelegatedCallbackFn<T> callback) {
+        return bind(container.element(), type, selector, callback);
+    }
+
     // ------------------------------------------------------ instance
 
     public final String name;
@@ -0,0 +1,301 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import elemental2.dom.DocumentFragment;
+import elemental2.dom.Element;
+import elemental2.dom.Node;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Renders a list of items into a container and keeps the container in sync when the items change.
+ * <p>
+ * Each item is identified by a key. When the list is updated, the old and new key sequences are compared: elements of removed
+ * keys are removed, elements for new keys are rendered and inserted, and elements of existing keys are reused. To minimize DOM
+ * moves, the elements which are part of the longest increasing subsequence of old positions stay where they are. Only the
+ * remaining elements are moved. For each existing key, the update function is called with the existing element and the new
+ * item. This also covers items which have been modified in place. If items are immutable, pass a change predicate to call
+ * the update function only for items which have changed, e.g. {@code (previous, item) -> !previous.equals(item)}.
+ * <p>
+ * {@snippet class = KeyedListDemo region = list}
+ * <p>
+ * The list manages all children of the container, which come after the elements it has rendered. Static children should be
+ * added to the container before the list is created.
+ */
+public final class KeyedList<T, K, E extends Element> {
+
+    // ------------------------------------------------------ factory methods
+
+    /**
+     * Renders the items into the given container and returns a keyed list to update the container later on.
+     *
+     * @param container the container, e.g. an {@link HTMLContainerBuilder}
+     * @param items     the initial items
+     * @param key       returns the key for an item. Keys must be unique within the items.
+     * @param render    creates the element for an item
+     * @param update    updates the existing element of an item, can be {@code null}
+     */
+    public static <T, K, E extends Element> KeyedList<T, K, E> list(IsElement<?> container, List<T> items,
+            Function<T, K> key, Function<T, E> render, BiConsumer<E, T> update) {
+        return list(requireNonNull(container, "container required").element(), items, key, render, update, null);
+    }
+
+    /**
+     * Renders the items into the given container and returns a keyed list to update the container later on.
+     *
+     * @param container the container, e.g. an {@link HTMLContainerBuilder}
+     * @param items     the initial items
+     * @param key       returns the key for an item. Keys must be unique within the items.
+     * @param render    creates the element for an item
+     * @param update    updates the existing element of an item, can be {@code null}
+     * @param changed   decides whether the update function is called, given the previous and the new item. Use {@code null}
+     *                  to always call the update function.
+     */
+    public static <T, K, E extends Element> KeyedList<T, K, E> list(IsElement<?> container, List<T> items,
+            Function<T, K> key, Function<T, E> render, BiConsumer<E, T> update, BiPredicate<T, T> changed) {
+        return list(requireNonNull(container, "container required").element(), items, key, render, update, changed);
+    }
+
+    /**
+     * Renders the items into the given container and returns a keyed list to update the container later on.
+     *
+     * @param container the container
+     * @param items     the initial items
+     * @param key       returns the key for an item. Keys must be unique within the items.
+     * @param render    creates the element for an item
+     * @param update    updates the existing element of an item, can be {@code null}
+     */
+    public static <T, K, E extends Element> KeyedList<T, K, E> list(Element container, List<T> items,
+            Function<T, K> key, Function<T, E> render, BiConsumer<E, T> update) {
+        return list(container, items, key, render, update, null);
+    }
+
+    /**
+     * Renders the items into the given container and returns a keyed list to update the container later on.
+     *
+     * @param container the container
+     * @param items     the initial items
+     * @param key       returns the key for an item. Keys must be unique within the items.
+     * @param render    creates the element for an item
+     * @param update    updates the existing element of an item, can be {@code null}
+     * @param changed   decides whether the update function is called, given the previous and the new item. Use {@code null}
+     *                  to always call the update function.
+     */
+    public static <T, K, E extends Element> KeyedList<T, K, E> list(Element container, List<T> items,
+            Function<T, K> key, Function<T, E> render, BiConsumer<E, T> update, BiPredicate<T, T> changed) {
+        KeyedList<T, K, E> list = new KeyedList<>(container, key, render, update, changed);
+        list.update(items);
+        return list;
+    }
+
+    // ------------------------------------------------------ instance
+
+    private final Element container;
+    private final Function<T, K> key;
+    private final Function<T, E> render;
+    private final BiConsumer<E, T> update;
+    private final BiPredicate<T, T> changed;
+    private List<Entry<T, K, E>> entries;
+    private Map<K, Entry<T, K, E>> index;
+
+    private KeyedList(Element container, Function<T, K> key, Function<T, E> render, BiConsumer<E, T> update,
+            BiPredicate<T, T> changed) {
+        this.container = requireNonNull(container, "container required");
+        this.key = requireNonNull(key, "key function required");
+        this.render = requireNonNull(render, "render function required");
+        this.update = update;
+        this.changed = changed;
+        this.entries = emptyList();
+        this.index = new HashMap<>();
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Updates the container so that it reflects the given items. */
+    public void update(List<T> items) {
+        requireNonNull(items, "items required");
+        if (entries.isEmpty()) {
+            append(items);
+        } else {
+            reconcile(items);
+        }
+    }
+
+    /** Returns the element for the given key or {@code null} if there's no such element. */
+    public E element(K key) {
+        Entry<T, K, E> entry = index.get(key);
+        return entry != null ? entry.element : null;
+    }
+
+    /** Returns the current items. */
+    public List<T> items() {
+        List<T> items = new ArrayList<>(entries.size());
+        for (Entry<T, K, E> entry : entries) {
+            items.add(entry.item);
+        }
+        return items;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // ------------------------------------------------------ internal
+
+    private void append(List<T> items) {
+        List<Entry<T, K, E>> newEntries = new ArrayList<>(items.size());
+        Map<K, Entry<T, K, E>> newIndex = new HashMap<>();
+        DocumentFragment fragment = container.ownerDocument.createDocumentFragment();
+        for (T item : items) {
+            Entry<T, K, E> entry = new Entry<>(key(item, newIndex), item, render.apply(item));
+            newEntries.add(entry);
+            newIndex.put(entry.key, entry);
+            fragment.appendChild(entry.element);
+        }
+        container.appendChild(fragment);
+        entries = newEntries;
+        index = newIndex;
+    }
+
+    private void reconcile(List<T> items) {
+        // the node after the last element is the anchor for elements at the end of the list
+        Node end = entries.get(entries.size() - 1).element.nextSibling;
+        for (int i = 0; i < entries.size(); i++) {
+            entries.get(i).position = i;
+        }
+
+        // check all keys before touching any element, so that a duplicate key leaves the list as it is
+        int size = items.size();
+        List<K> keys = new ArrayList<>(size);
+        Map<K, Entry<T, K, E>> newIndex = new HashMap<>();
+        for (T item : items) {
+            K k = key(item, newIndex);
+            keys.add(k);
+            newIndex.put(k, null);
+        }
+
+        // reuse or render entries, remember their old positions
+        List<Entry<T, K, E>> newEntries = new ArrayList<>(size);
+        int[] sources = new int[size];
+        for (int i = 0; i < size; i++) {
+            T item = items.get(i);
+            K k = keys.get(i);
+            Entry<T, K, E> entry = index.get(k);
+            if (entry != null) {
+                sources[i] = entry.position;
+                if (update != null && (changed == null || changed.test(entry.item, item))) {
+                    update.accept(entry.element, item);
+                }
+            } else {
+                sources[i] = -1;
+                entry = new Entry<>(k, item, render.apply(item));
+            }
+            newEntries.add(entry);
+            newIndex.put(k, entry);
+        }
+        for (int i = 0; i < size; i++) {
+            newEntries.get(i).item = items.get(i);
+        }
+
+        // entries of the old index which are not part of the new index have been removed
+        for (Entry<T, K, E> entry : index.values()) {
+            if (!newIndex.containsKey(entry.key)) {
+                container.removeChild(entry.element);
+            }
+        }
+
+        // insert and move elements, going backwards so that the next sibling is always in place
+        boolean[] stable = longestIncreasingSubsequence(sources);
+        Node anchor = end;
+        for (int i = size - 1; i >= 0; i--) {
+            Entry<T, K, E> entry = newEntries.get(i);
+            if (!stable[i]) {
+                container.insertBefore(entry.element, anchor);
+            }
+            anchor = entry.element;
+        }
+        entries = newEntries;
+        index = newIndex;
+    }
+
+    private K key(T item, Map<K, Entry<T, K, E>> keys) {
+        K k = key.apply(item);
+        if (keys.containsKey(k)) {
+            throw new IllegalArgumentException("Duplicate key '" + k + "' in keyed list");
+        }
+        return k;
+    }
+
+    /**
+     * Marks the positions which are part of the longest strictly increasing subsequence of the given sources. Negative
+     * sources denote new elements and are never part of the subsequence.
+     */
+    static boolean[] longestIncreasingSubsequence(int[] sources) {
+        int length = 0;
+        int[] tails = new int[sources.length]; // indices into sources
+        int[] predecessors = new int[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            int source = sources[i];
+            if (source < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (sources[tails[middle]] < source) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            predecessors[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] stable = new boolean[sources.length];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = predecessors[i]) {
+            stable[i] = true;
+        }
+        return stable;
+    }
+
+    private static final class Entry<T, K, E extends Element> {
+
+        final K key;
+        final E element;
+        T item;
+        int position;
+
+        Entry(K key, T item, E element) {
+            this.key = key;
+            this.item = item;
+            this.element = element;
+        }
+    }
+}
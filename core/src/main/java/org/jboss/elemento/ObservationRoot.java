@@ -0,0 +1,554 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.elemento.logger.Logger;
+
+import elemental2.core.JsArray;
+import elemental2.core.WeakRef;
+import elemental2.dom.Element;
+import elemental2.dom.HTMLElement;
+import elemental2.dom.MutationObserver;
+import elemental2.dom.MutationObserverInit;
+import elemental2.dom.MutationRecord;
+import elemental2.dom.Node;
+import elemental2.dom.NodeList;
+import jsinterop.base.Js;
+import jsinterop.base.JsPropertyMap;
+
+import static elemental2.dom.DomGlobal.requestAnimationFrame;
+import static java.util.Arrays.asList;
+import static org.jboss.elemento.logger.Level.DEBUG;
+
+/**
+ * Observes a subtree of the DOM and calls the attach / detach callbacks registered for this root. Use an observation root to
+ * limit the scope of attach / detach observers to a part of the page like a router outlet, a shadow root or the host of a
+ * custom element. Each root uses its own {@link MutationObserver}, mutations outside the registered roots don't cost
+ * anything.
+ * <p>
+ * In contrast to the {@link BodyObserver}, observation roots also work inside shadow DOM. Attach callbacks are called when an
+ * element is added to the subtree of the root, detach callbacks when an element is removed from it.
+ * <p>
+ * {@snippet :
+ * ObservationRoot outlet = ObservationRoot.observe(outletElement);
+ * outlet.onAttach(page, mutationRecord -> console.log("Page added to outlet"));
+ * outlet.onDetach(page, mutationRecord -> console.log("Page removed from outlet"));
+ *}
+ * <p>
+ * Observation roots share the {@linkplain BodyObserver#mode(ObserverMode) mode} and
+ * {@linkplain BodyObserver#lifetime(ObserverLifetime) lifetime} of the {@link BodyObserver}.
+ */
+public final class ObservationRoot {
+
+    static final String ATTACH_UID_KEY = "on-attach-uid";
+    static final String DETACH_UID_KEY = "on-detach-uid";
+    private static final String CALLBACKS_KEY = "__elementoObserverCallbacks";
+    private static final Logger logger = Logger.getLogger(ObservationRoot.class.getName());
+
+    // ------------------------------------------------------ factory
+
+    /**
+     * Returns the observation root for the given node. The node is typically an element or a shadow root. Calling this
+     * method for the same node again returns the same observation root as long as it has not been
+     * {@linkplain #disconnect() disconnected}.
+     */
+    public static ObservationRoot observe(Node root) {
+        return BodyObserver.scope(root);
+    }
+
+    /**
+     * Returns the observation root for the given element. Calling this method for the same element again returns the same
+     * observation root as long as it has not been {@linkplain #disconnect() disconnected}.
+     */
+    public static <E extends HTMLElement> ObservationRoot observe(IsElement<E> root) {
+        return BodyObserver.scope(root.element());
+    }
+
+    // ------------------------------------------------------ instance
+
+    private final MutationObserver mutationObserver;
+    private final Map<String, ElementObserver> attachObservers;
+    private final Map<String, ElementObserver> detachObservers;
+    private final List<MutationRecord> pendingRecords;
+    private Node root;
+    private boolean animationFrameRequested;
+
+    ObservationRoot(Node root) {
+        this();
+        connect(root);
+    }
+
+    /** Creates an observation root which is not yet connected to a node. Used for the document body. */
+    ObservationRoot() {
+        this.attachObservers = new HashMap<>();
+        this.detachObservers = new HashMap<>();
+        this.pendingRecords = new ArrayList<>();
+        this.animationFrameRequested = false;
+        this.mutationObserver = new MutationObserver((mutationRecords, observer) -> {
+            MutationRecord[] records = Js.uncheckedCast(mutationRecords);
+            switch (BodyObserver.mode()) {
+                case immediate:
+                    // noinspection ConstantValue,DataFlowIssue
+                    for (MutationRecord record : records) {
+                        process(record);
+                    }
+                    break;
+                case batch:
+                    processBatch(asList(records));
+                    break;
+                case animationFrame:
+                    pendingRecords.addAll(asList(records));
+                    if (!animationFrameRequested) {
+                        animationFrameRequested = true;
+                        requestAnimationFrame(timestamp -> {
+                            animationFrameRequested = false;
+                            List<MutationRecord> pending = new ArrayList<>(pendingRecords);
+                            pendingRecords.clear();
+                            processBatch(pending);
+                        });
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return null;
+        });
+    }
+
+    // ------------------------------------------------------ api
+
+    /**
+     * Registers a callback which is called when the element is added to this root. Note that the callback will be called only
+     * once, if the element is added more than once, a new callback should be registered.
+     */
+    public void onAttach(HTMLElement element, ObserverCallback callback) {
+        if (element != null) {
+            addAttachObserver(element, callback);
+        }
+    }
+
+    /**
+     * Registers a callback which is called when the element is added to this root. Note that the callback will be called only
+     * once, if the element is added more than once, a new callback should be registered.
+     */
+    public <E extends HTMLElement> void onAttach(IsElement<E> element, ObserverCallback callback) {
+        if (element != null) {
+            onAttach(element.element(), callback);
+        }
+    }
+
+    /**
+     * Registers a callback which is called when the element is removed from this root. Note that the callback will be called
+     * only once, if the element is removed and re-added, a new callback should be registered.
+     */
+    public void onDetach(HTMLElement element, ObserverCallback callback) {
+        if (element != null) {
+            addDetachObserver(element, callback);
+        }
+    }
+
+    /**
+     * Registers a callback which is called when the element is removed from this root. Note that the callback will be called
+     * only once, if the element is removed and re-added, a new callback should be registered.
+     */
+    public <E extends HTMLElement> void onDetach(IsElement<E> element, ObserverCallback callback) {
+        if (element != null) {
+            onDetach(element.element(), callback);
+        }
+    }
+
+    /** Registers the specified element for both attach and detach. */
+    public void register(HTMLElement element, Attachable attachable) {
+        if (element != null) {
+            addAttachObserver(element, attachable::attach);
+            addDetachObserver(element, attachable::detach);
+        }
+    }
+
+    /** Registers the specified element for both attach and detach. */
+    public <E extends HTMLElement> void register(IsElement<E> element, Attachable attachable) {
+        if (element != null) {
+            register(element.element(), attachable);
+        }
+    }
+
+    /** Registers the specified element for both attach and detach. */
+    public <E extends HTMLElement> void register(AttachableElement<E> attachableElement) {
+        if (attachableElement != null) {
+            register(attachableElement.element(), attachableElement);
+        }
+    }
+
+    /**
+     * Unregisters the specified element for both attach and detach. This removes the element's observers from all observation
+     * roots.
+     */
+    public void unregister(HTMLElement element) {
+        Attachable.unregister(element);
+    }
+
+    /** Stops observing the root and releases all observers registered for this root. */
+    public void disconnect() {
+        mutationObserver.disconnect();
+        pendingRecords.clear();
+        release(attachObservers, ATTACH_UID_KEY);
+        release(detachObservers, DETACH_UID_KEY);
+        BodyObserver.disconnected(this);
+        if (logger.isEnabled(DEBUG)) {
+            logger.debug("Stop observing elements in %o", root);
+        }
+        root = null;
+    }
+
+    /** The node observed by this root. */
+    public Node root() {
+        return root;
+    }
+
+    // ------------------------------------------------------ internal api
+
+    void connect(Node root) {
+        this.root = root;
+        MutationObserverInit mutationObserverInit = MutationObserverInit.create();
+        mutationObserverInit.setChildList(true);
+        mutationObserverInit.setSubtree(true);
+        mutationObserver.observe(root, mutationObserverInit);
+        if (logger.isEnabled(DEBUG)) {
+            logger.debug("Start observing elements in %o", root);
+        }
+    }
+
+    boolean connected() {
+        return root != null;
+    }
+
+    void addAttachObserver(HTMLElement element, ObserverCallback callback) {
+        String id = Id.unique("a");
+        attachObservers.put(id, createObserver(id, element, ATTACH_UID_KEY, callback));
+        if (logger.isEnabled(DEBUG)) {
+            logger.debug("Add attach observer %s for %o %s", id, element, count());
+        }
+    }
+
+    void addDetachObserver(HTMLElement element, ObserverCallback callback) {
+        String id = Id.unique("d");
+        detachObservers.put(id, createObserver(id, element, DETACH_UID_KEY, callback));
+        if (logger.isEnabled(DEBUG)) {
+            logger.debug("Add detach observer %s for %o %s", id, element, count());
+        }
+    }
+
+    /** Removes the observers for the given IDs without touching the element. */
+    void removeObservers(HTMLElement element, JsArray<String> attachIds, JsArray<String> detachIds) {
+        removeObservers(element, attachIds, attachObservers);
+        removeObservers(element, detachIds, detachObservers);
+    }
+
+    /** Removes the observer of a garbage collected element. Returns {@code true} if this root held the observer. */
+    boolean collected(String id) {
+        return attachObservers.remove(id) != null || detachObservers.remove(id) != null;
+    }
+
+    /** Releases stale observers and returns the number of collected and purged observers. */
+    int[] sweep() {
+        int[] counts = new int[2];
+        sweep(attachObservers, ATTACH_UID_KEY, counts);
+        sweep(detachObservers, DETACH_UID_KEY, counts);
+        return counts;
+    }
+
+    int attachObservers() {
+        return attachObservers.size();
+    }
+
+    int detachObservers() {
+        return detachObservers.size();
+    }
+
+    // ------------------------------------------------------ process mutations
+
+    private void process(MutationRecord record) {
+        if (record.removedNodes.length != 0) {
+            onElementsRemoved(record);
+        }
+        if (record.addedNodes.length != 0) {
+            onElementsAppended(record);
+        }
+    }
+
+    /**
+     * Collapses the records into the net set of added and removed nodes and processes them using one synthesized record. A
+     * node is part of the root before the batch if it first shows up as removed node, and it is part of the root after the
+     * batch if the root still contains it.
+     */
+    private void processBatch(List<MutationRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Map<Node, Boolean> containedBefore = new LinkedHashMap<>();
+        for (MutationRecord record : records) {
+            for (int i = 0; i < record.removedNodes.length; i++) {
+                Node node = record.removedNodes.getAt(i);
+                if (!containedBefore.containsKey(node)) {
+                    containedBefore.put(node, true);
+                }
+            }
+            for (int i = 0; i < record.addedNodes.length; i++) {
+                Node node = record.addedNodes.getAt(i);
+                if (!containedBefore.containsKey(node)) {
+                    containedBefore.put(node, false);
+                }
+            }
+        }
+
+        JsArray<Node> added = new JsArray<>();
+        JsArray<Node> removed = new JsArray<>();
+        for (Map.Entry<Node, Boolean> entry : containedBefore.entrySet()) {
+            Node node = entry.getKey();
+            boolean before = entry.getValue();
+            boolean after = root.contains(node);
+            if (before && !after) {
+                removed.push(node);
+            } else if (!before && after) {
+                added.push(node);
+            }
+        }
+        if (logger.isEnabled(DEBUG)) {
+            logger.debug("Collapsed %d records into %d added and %d removed nodes", records.size(), added.length,
+                    removed.length);
+        }
+        if (added.length != 0 || removed.length != 0) {
+            process(mutationRecord(added, removed));
+        }
+    }
+
+    private MutationRecord mutationRecord(JsArray<Node> added, JsArray<Node> removed) {
+        JsPropertyMap<Object> record = JsPropertyMap.of();
+        record.set("type", "childList");
+        record.set("target", root);
+        record.set("addedNodes", added);
+        record.set("removedNodes", removed);
+        record.set("previousSibling", null);
+        record.set("nextSibling", null);
+        return Js.uncheckedCast(record);
+    }
+
+    private void onElementsAppended(MutationRecord record) {
+        if (!attachObservers.isEmpty()) {
+            for (int i = 0; i < record.addedNodes.length; i++) {
+                Node node = record.addedNodes.getAt(i);
+                if (node instanceof HTMLElement) {
+                    observeSubtree((HTMLElement) node, record, ATTACH_UID_KEY, attachObservers);
+                }
+            }
+        }
+    }
+
+    private void onElementsRemoved(MutationRecord record) {
+        if (!detachObservers.isEmpty()) {
+            for (int i = 0; i < record.removedNodes.length; i++) {
+                Node node = record.removedNodes.getAt(i);
+                if (node instanceof HTMLElement) {
+                    observeSubtree((HTMLElement) node, record, DETACH_UID_KEY, detachObservers);
+                }
+            }
+        }
+    }
+
+    private void observeSubtree(HTMLElement element, MutationRecord record, String attribute,
+            Map<String, ElementObserver> observers) {
+        if (element.hasAttribute(attribute)) {
+            observe(element, record, attribute, observers);
+        }
+        // One query per added / removed node using a combined selector for all observers.
+        NodeList<Element> elements = element.querySelectorAll("[" + attribute + "]");
+        for (int i = 0; i < elements.length && !observers.isEmpty(); i++) {
+            observe(elements.getAt(i), record, attribute, observers);
+        }
+    }
+
+    private void observe(Element element, MutationRecord record, String attribute, Map<String, ElementObserver> observers) {
+        JsArray<String> ids = ids(element, attribute);
+        for (int i = 0; i < ids.length; i++) {
+            String id = ids.getAt(i);
+            ElementObserver eo = observers.get(id);
+            // The element check prevents callbacks for cloned elements which carry a copy of the attribute.
+            if (eo != null && eo.element() == element) {
+                HTMLElement observed = eo.element();
+                if (logger.isEnabled(DEBUG)) {
+                    logger.debug("Call %s callback %s for %o", kind(attribute), eo.id, observed);
+                }
+                observers.remove(id);
+                ObserverCallback callback = release(eo, observed);
+                if (callback != null) {
+                    callback.onObserved(record);
+                }
+                removeId(observed, attribute, eo.id);
+                if (logger.isEnabled(DEBUG)) {
+                    logger.debug("Remove %s observer %s for %o %s", kind(attribute), eo.id, observed, count());
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------ observers
+
+    private void removeObservers(HTMLElement element, JsArray<String> ids, Map<String, ElementObserver> observers) {
+        for (int i = 0; i < ids.length; i++) {
+            ElementObserver eo = observers.remove(ids.getAt(i));
+            if (eo != null) {
+                release(eo, element);
+            }
+        }
+    }
+
+    private void release(Map<String, ElementObserver> observers, String attribute) {
+        for (ElementObserver eo : observers.values()) {
+            HTMLElement element = eo.element();
+            if (element != null) {
+                release(eo, element);
+                removeId(element, attribute, eo.id);
+            }
+        }
+        observers.clear();
+    }
+
+    private void sweep(Map<String, ElementObserver> observers, String attribute, int[] counts) {
+        for (Iterator<ElementObserver> iterator = observers.values().iterator(); iterator.hasNext(); ) {
+            ElementObserver eo = iterator.next();
+            HTMLElement element = eo.element();
+            if (element == null) {
+                iterator.remove();
+                counts[0]++;
+            } else if (ids(element, attribute).indexOf(eo.id) == -1) {
+                iterator.remove();
+                release(eo, element);
+                counts[1]++;
+            }
+        }
+    }
+
+    private ElementObserver createObserver(String id, HTMLElement element, String attribute, ObserverCallback callback) {
+        addId(element, attribute, id);
+        if (BodyObserver.lifetime() == ObserverLifetime.weak) {
+            // The callback is stored on the element, so it doesn't keep the element alive if it references the element.
+            callbacks(element).set(id, callback);
+            ElementObserver eo = ElementObserver.weak(id, element);
+            BodyObserver.registry().register(element, id, eo);
+            return eo;
+        } else {
+            return ElementObserver.strong(id, element, callback);
+        }
+    }
+
+    /** Releases the resources held by the observer and returns its callback. */
+    private ObserverCallback release(ElementObserver eo, HTMLElement element) {
+        if (eo.weak != null) {
+            BodyObserver.registry().unregister(eo);
+            JsPropertyMap<ObserverCallback> callbacks = callbacks(element);
+            ObserverCallback callback = callbacks.get(eo.id);
+            callbacks.delete(eo.id);
+            return callback;
+        }
+        return eo.callback;
+    }
+
+    private String count() {
+        return "(a:" + attachObservers.size() + "|d:" + detachObservers.size() + ")";
+    }
+
+    // ------------------------------------------------------ ids
+
+    static JsArray<String> ids(Element element, String attribute) {
+        JsArray<String> ids = new JsArray<>();
+        if (element.hasAttribute(attribute)) {
+            String value = element.getAttribute(attribute);
+            if (!value.trim().isEmpty()) {
+                for (String id : value.split(" ")) {
+                    ids.push(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void addId(HTMLElement element, String attribute, String id) {
+        JsArray<String> ids = ids(element, attribute);
+        ids.push(id);
+        element.setAttribute(attribute, ids.join(" "));
+    }
+
+    private static void removeId(HTMLElement element, String attribute, String id) {
+        JsArray<String> ids = ids(element, attribute);
+        int index = ids.indexOf(id);
+        if (index != -1) {
+            ids.splice(index, 1);
+        }
+        if (ids.length == 0) {
+            element.removeAttribute(attribute);
+        } else {
+            element.setAttribute(attribute, ids.join(" "));
+        }
+    }
+
+    private static JsPropertyMap<ObserverCallback> callbacks(HTMLElement element) {
+        JsPropertyMap<Object> properties = Js.asPropertyMap(element);
+        if (!properties.has(CALLBACKS_KEY)) {
+            properties.set(CALLBACKS_KEY, JsPropertyMap.of());
+        }
+        return Js.uncheckedCast(properties.get(CALLBACKS_KEY));
+    }
+
+    private static String kind(String attribute) {
+        return ATTACH_UID_KEY.equals(attribute) ? "attach" : "detach";
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static final class ElementObserver {
+
+        private final String id;
+        private final HTMLElement element;
+        private final WeakRef<HTMLElement> weak;
+        private final ObserverCallback callback;
+
+        private static ElementObserver strong(String id, HTMLElement element, ObserverCallback callback) {
+            return new ElementObserver(id, element, null, callback);
+        }
+
+        private static ElementObserver weak(String id, HTMLElement element) {
+            return new ElementObserver(id, null, new WeakRef<>(element), null);
+        }
+
+        private ElementObserver(String id, HTMLElement element, WeakRef<HTMLElement> weak, ObserverCallback callback) {
+            this.id = id;
+            this.element = element;
+            this.weak = weak;
+            this.callback = callback;
+        }
+
+        private HTMLElement element() {
+            return element != null ? element : weak.deref();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+/**
+ * Defines how the {@link BodyObserver} references the elements and callbacks of registered attach / detach observers.
+ *
+ * @see BodyObserver#lifetime(ObserverLifetime)
+ */
+public enum ObserverLifetime {
+
+    /**
+     * Elements and callbacks are referenced strongly. An observer is only released if its callback has been called or the
+     * element has been unregistered. This is the default.
+     */
+    strong,
+
+    /**
+     * Elements are referenced using a {@code WeakRef}, and callbacks are stored on the element itself. Observers of elements
+     * which are garbage collected before they have been attached / detached are released using a
+     * {@code FinalizationRegistry} and a periodic sweep. Falls back to {@link #strong} if {@code WeakRef} or
+     * {@code FinalizationRegistry} are not available.
+     */
+    weak
+}
@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+/**
+ * Defines how the {@link BodyObserver} processes the mutation records reported by the underlying
+ * {@linkplain elemental2.dom.MutationObserver mutation observer}.
+ *
+ * @see BodyObserver#mode(ObserverMode)
+ */
+public enum ObserverMode {
+
+    /**
+     * Processes each mutation record one at a time. Nodes which are added and removed in the same callback trigger both the
+     * attach and the detach callbacks. This is the default.
+     */
+    immediate,
+
+    /**
+     * Collapses all mutation records of a callback into the net set of added and removed nodes. Each attach / detach callback
+     * is called at most once with a synthesized mutation record. Nodes which are added and removed in the same callback don't
+     * trigger any callback at all.
+     */
+    batch,
+
+    /**
+     * Like {@link #batch}, but defers processing to the next animation frame. Mutation records of all callbacks until then
+     * are collapsed together. Use this mode to make sure attach / detach callbacks never interleave with layout.
+     */
+    animationFrame
+}
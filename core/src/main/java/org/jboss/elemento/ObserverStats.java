@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+/**
+ * Snapshot of the attach / detach observers managed by the {@link BodyObserver}.
+ *
+ * @see BodyObserver#stats()
+ */
+public final class ObserverStats {
+
+    private final int attachObservers;
+    private final int detachObservers;
+    private final int collected;
+    private final int purged;
+
+    ObserverStats(int attachObservers, int detachObservers, int collected, int purged) {
+        this.attachObservers = attachObservers;
+        this.detachObservers = detachObservers;
+        this.collected = collected;
+        this.purged = purged;
+    }
+
+    /** The number of attach observers which are waiting for their element to be attached. */
+    public int attachObservers() {
+        return attachObservers;
+    }
+
+    /** The number of detach observers which are waiting for their element to be detached. */
+    public int detachObservers() {
+        return detachObservers;
+    }
+
+    /** The number of live observers, that is the sum of attach and detach observers. */
+    public int live() {
+        return attachObservers + detachObservers;
+    }
+
+    /**
+     * The number of observers which have been released because their element has been garbage collected. Only applies to
+     * {@link ObserverLifetime#weak}.
+     */
+    public int collected() {
+        return collected;
+    }
+
+    /** The number of observers which have been released by a sweep because their element is no longer marked. */
+    public int purged() {
+        return purged;
+    }
+
+    @Override
+    public String toString() {
+        return "ObserverStats(attach=" + attachObservers + ", detach=" + detachObservers + ", collected=" + collected
+                + ", purged=" + purged + ")";
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+/**
+ * Row heights of a {@link VirtualList}. Fixed heights are computed arithmetically. Measured heights are kept in a Fenwick tree,
+ * so that updating a height and looking up offsets take {@code O(log n)} even for hundreds of thousands of rows.
+ */
+final class RowHeights {
+
+    private final int size;
+    private final double estimate;
+    private final boolean fixed;
+    private final double[] heights;
+    private final double[] tree;
+    private int highestBit;
+
+    RowHeights(int size, double estimate, boolean fixed) {
+        this.size = size;
+        this.estimate = estimate;
+        this.fixed = fixed;
+        if (fixed) {
+            heights = null;
+            tree = null;
+        } else {
+            heights = new double[size];
+            tree = new double[size + 1];
+            for (int i = 0; i < size; i++) {
+                heights[i] = estimate;
+                tree[i + 1] += estimate;
+                int parent = (i + 1) + ((i + 1) & -(i + 1));
+                if (parent <= size) {
+                    tree[parent] += tree[i + 1];
+                }
+            }
+            highestBit = 1;
+            while (highestBit <= size) {
+                highestBit <<= 1;
+            }
+            highestBit >>= 1;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    double height(int index) {
+        return fixed ? estimate : heights[index];
+    }
+
+    /** Sets the height of the given row and returns {@code true} if the height has changed. */
+    boolean height(int index, double height) {
+        if (fixed || index < 0 || index >= size || heights[index] == height) {
+            return false;
+        }
+        double delta = height - heights[index];
+        heights[index] = height;
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+        return true;
+    }
+
+    /** Returns the sum of the heights of all rows before the given index. */
+    double offset(int index) {
+        if (fixed) {
+            return index * estimate;
+        }
+        double sum = 0;
+        for (int i = Math.min(index, size); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    double total() {
+        return offset(size);
+    }
+
+    /** Returns the index of the row at the given offset. The result is clamped to {@code [0, size - 1]}. */
+    int indexAt(double offset) {
+        if (size == 0 || offset <= 0) {
+            return 0;
+        }
+        int index;
+        if (fixed) {
+            index = estimate > 0 ? (int) (offset / estimate) : 0;
+        } else {
+            // binary lifting: find the largest position whose prefix sum is <= offset
+            index = 0;
+            double remaining = offset;
+            for (int bit = highestBit; bit > 0; bit >>= 1) {
+                int next = index + bit;
+                if (next <= size && tree[next] <= remaining) {
+                    index = next;
+                    remaining -= tree[next];
+                }
+            }
+        }
+        return Math.min(index, size - 1);
+    }
+}
@@ -15,11 +15,45 @@
  */
 package org.jboss.elemento;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.elemento.logger.Logger;
+
+import elemental2.dom.IdleCallbackOptions;
+import elemental2.promise.Promise;
+import jsinterop.base.Js;
+
+import static elemental2.dom.DomGlobal.cancelIdleCallback;
 import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.performance;
+import static elemental2.dom.DomGlobal.queueMicrotask;
+import static elemental2.dom.DomGlobal.requestAnimationFrame;
+import static elemental2.dom.DomGlobal.requestIdleCallback;
 import static elemental2.dom.DomGlobal.setTimeout;
+import static jsinterop.base.Js.isTripleEqual;
+import static jsinterop.base.Js.undefined;
 
+/**
+ * Helper methods to schedule callbacks.
+ * <p>
+ * Use {@link #measure(Callback)} and {@link #mutate(Callback)} to separate DOM reads from DOM writes. All reads and writes are
+ * collected and executed once per animation frame: first all reads, then all writes. This avoids forced synchronous layouts
+ * caused by interleaved reads and writes, also known as layout thrashing.
+ * <p>
+ * {@snippet class = SchedulerDemo region = measureMutate}
+ * <p>
+ * All methods except {@link #debounce(int, Callback)} return a handle to cancel the callback.
+ */
 public final class Scheduler {
 
+    private static final Logger logger = Logger.getLogger(Scheduler.class.getName());
+    private static List<Task> reads = new ArrayList<>();
+    private static List<Task> writes = new ArrayList<>();
+    private static int frame = 0;
+
+    // ------------------------------------------------------ timeout
+
     /**
      * Executes the given callback after a specified timeout. If this method is called multiple times within the specified
      * timeout period, the original callback will only be executed once at the end of the timeout.
@@ -35,4 +69,176 @@ public final class Scheduler {
             handle[0] = setTimeout(__ -> callback.call(), timeout);
         };
     }
+
+    /**
+     * Executes the given callback at most once per timeout. The first call is executed immediately. Calls within the timeout
+     * period are collapsed into one call at the end of the timeout.
+     *
+     * @param timeout  The timeout value in milliseconds.
+     * @param callback The callback function to execute.
+     * @return A new callback function that throttles the original callback. Cancelling it drops a pending call.
+     */
+    public static CancellableCallback throttle(int timeout, Callback callback) {
+        return new CancellableCallback() {
+            private double last = Double.NEGATIVE_INFINITY;
+            private double handle = 0;
+            private boolean pending = false;
+
+            @Override
+            public void call() {
+                double now = performance.now();
+                double remaining = last + timeout - now;
+                if (remaining <= 0) {
+                    last = now;
+                    callback.call();
+                } else if (!pending) {
+                    pending = true;
+                    handle = setTimeout(__ -> {
+                        pending = false;
+                        last = performance.now();
+                        callback.call();
+                    }, remaining);
+                }
+            }
+
+            @Override
+            public void cancel() {
+                if (pending) {
+                    clearTimeout(handle);
+                    pending = false;
+                }
+            }
+        };
+    }
+
+    // ------------------------------------------------------ animation frame
+
+    /**
+     * Schedules a callback which reads from the DOM, e.g. using {@code getBoundingClientRect()} or
+     * {@code getComputedStyle()}. The callback is executed in the next animation frame, before all callbacks scheduled using
+     * {@link #mutate(Callback)}.
+     */
+    public static Cancellable measure(Callback callback) {
+        return schedule(reads, callback);
+    }
+
+    /**
+     * Schedules a callback which writes to the DOM, e.g. by changing styles, classes, or the element tree. The callback is
+     * executed in the next animation frame, after all callbacks scheduled using {@link #measure(Callback)}. Writes scheduled
+     * from a read callback are executed in the same frame.
+     */
+    public static Cancellable mutate(Callback callback) {
+        return schedule(writes, callback);
+    }
+
+    // ------------------------------------------------------ idle & microtask
+
+    /**
+     * Executes the given callback when the browser is idle. Falls back to {@code setTimeout()} if
+     * {@code requestIdleCallback()} is not available.
+     */
+    public static Cancellable idle(Callback callback) {
+        return idle(0, callback);
+    }
+
+    /**
+     * Executes the given callback when the browser is idle, but at the latest after the given timeout. Falls back to
+     * {@code setTimeout()} if {@code requestIdleCallback()} is not available.
+     *
+     * @param timeout The maximum time in milliseconds to wait for an idle period. Use {@code 0} to wait indefinitely.
+     */
+    public static Cancellable idle(int timeout, Callback callback) {
+        if (isTripleEqual(Js.global().getAsAny("requestIdleCallback"), undefined())) {
+            double handle = setTimeout(__ -> callback.call(), 1);
+            return () -> clearTimeout(handle);
+        } else {
+            int handle;
+            if (timeout > 0) {
+                IdleCallbackOptions options = IdleCallbackOptions.create();
+                options.setTimeout(timeout);
+                handle = requestIdleCallback(deadline -> callback.call(), options);
+            } else {
+                handle = requestIdleCallback(deadline -> callback.call());
+            }
+            return () -> cancelIdleCallback(handle);
+        }
+    }
+
+    /**
+     * Executes the given callback as a microtask, i.e. after the current task, but before control returns to the event loop.
+     * Falls back to a resolved promise if {@code queueMicrotask()} is not available.
+     */
+    public static Cancellable microtask(Callback callback) {
+        Task task = new Task(callback);
+        if (isTripleEqual(Js.global().getAsAny("queueMicrotask"), undefined())) {
+            Promise.resolve((Object) null).then(__ -> {
+                task.run();
+                return null;
+            });
+        } else {
+            queueMicrotask(task::run);
+        }
+        return task;
+    }
+
+    // ------------------------------------------------------ internal
+
+    private static Cancellable schedule(List<Task> queue, Callback callback) {
+        Task task = new Task(callback);
+        queue.add(task);
+        if (frame == 0) {
+            frame = requestAnimationFrame(timestamp -> flush());
+        }
+        return task;
+    }
+
+    private static void flush() {
+        // the frame stays set while the queues run, so that tasks scheduled by reads or writes don't request another frame.
+        // It's reset afterwards, even if a task throws.
+        try {
+            List<Task> currentReads = reads;
+            reads = new ArrayList<>();
+            for (Task task : currentReads) {
+                task.run();
+            }
+            // includes writes scheduled by the reads above
+            List<Task> currentWrites = writes;
+            writes = new ArrayList<>();
+            for (Task task : currentWrites) {
+                task.run();
+            }
+        } finally {
+            frame = 0;
+            // reads and writes scheduled by the writes above go to the next frame
+            if (!reads.isEmpty() || !writes.isEmpty()) {
+                frame = requestAnimationFrame(timestamp -> flush());
+            }
+        }
+    }
+
+    private static final class Task implements Cancellable {
+
+        private Callback callback;
+
+        Task(Callback callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void cancel() {
+            callback = null;
+        }
+
+        void run() {
+            if (callback != null) {
+                Callback c = callback;
+                callback = null;
+                try {
+                    c.call();
+                } catch (Throwable t) {
+                    logger.error("Error in scheduled callback: %s", t.getMessage());
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,283 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import elemental2.dom.Element;
+import elemental2.dom.Event;
+import elemental2.dom.HTMLElement;
+import elemental2.dom.HTMLTemplateElement;
+import elemental2.dom.NodeList;
+import jsinterop.base.Js;
+
+import static elemental2.dom.DomGlobal.document;
+import static java.util.Objects.requireNonNull;
+import static org.jboss.elemento.EventType.bind;
+import static org.jboss.elemento.ObservationRoot.ATTACH_UID_KEY;
+import static org.jboss.elemento.ObservationRoot.DETACH_UID_KEY;
+
+/**
+ * A template for repeated element structures.
+ * <p>
+ * A template takes an element built once using the builder API and stores a copy in an {@link HTMLTemplateElement}. Each call
+ * to {@link #stamp()} deep-clones this copy, which is considerably cheaper than running the builder chain again. Dynamic parts
+ * of the structure are declared as typed holes. Holes are resolved to child paths when they are defined, so filling a hole in a
+ * stamp doesn't need to run a selector query.
+ * <p>
+ * {@snippet class = TemplateDemo region = template}
+ * <p>
+ * Please note that only the DOM structure is cloned. Event listeners and attach/detach observers registered on the original
+ * element are <em>not</em> part of the stamps. Register them on the stamps using {@link EventHole event holes} instead. Also
+ * make sure the template doesn't contain {@code id} attributes, since they would be duplicated by each stamp.
+ */
+public final class Template<E extends HTMLElement> {
+
+    // ------------------------------------------------------ factory methods
+
+    /** Creates a template from the given element, e.g. an {@link HTMLContainerBuilder} or an {@link HTMLElementBuilder}. */
+    public static <E extends HTMLElement> Template<E> template(IsElement<E> element) {
+        return template(requireNonNull(element, "element required").element());
+    }
+
+    /** Creates a template from the given element. The element itself is not modified. */
+    public static <E extends HTMLElement> Template<E> template(E element) {
+        return new Template<>(requireNonNull(element, "element required"));
+    }
+
+    // ------------------------------------------------------ instance
+
+    private final HTMLTemplateElement template;
+    private final Element root;
+    private final List<Hole> holes;
+
+    private Template(E element) {
+        this.template = Js.uncheckedCast(document.createElement("template"));
+        this.root = Js.uncheckedCast(element.cloneNode(true));
+        this.holes = new ArrayList<>();
+        clearObserverIds(root);
+        template.content.appendChild(root);
+    }
+
+    // ------------------------------------------------------ holes
+
+    /** Defines a text hole for the root element. */
+    public TextHole text() {
+        return add(new TextHole(holes.size(), new int[0]));
+    }
+
+    /** Defines a text hole for the first element matching the given selector. */
+    public TextHole text(By selector) {
+        return add(new TextHole(holes.size(), path(selector)));
+    }
+
+    /** Defines an attribute hole for the root element. */
+    public AttributeHole attribute(String name) {
+        return add(new AttributeHole(holes.size(), new int[0], name));
+    }
+
+    /** Defines an attribute hole for the first element matching the given selector. */
+    public AttributeHole attribute(By selector, String name) {
+        return add(new AttributeHole(holes.size(), path(selector), name));
+    }
+
+    /** Defines an event hole for the root element. */
+    public <V extends Event> EventHole<V> on(EventType<V, ?> type) {
+        return add(new EventHole<>(holes.size(), new int[0], type));
+    }
+
+    /** Defines an event hole for the first element matching the given selector. */
+    public <V extends Event> EventHole<V> on(By selector, EventType<V, ?> type) {
+        return add(new EventHole<>(holes.size(), path(selector), type));
+    }
+
+    /** Defines an element hole for the first element matching the given selector. */
+    public <H extends HTMLElement> ElementHole<H> element(By selector) {
+        return add(new ElementHole<>(holes.size(), path(selector)));
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Returns a new copy of the template's element. */
+    public Stamp<E> stamp() {
+        E element = Js.uncheckedCast(document.importNode(root, true));
+        return new Stamp<>(element, holes);
+    }
+
+    /** Returns the template element holding the original copy. */
+    public HTMLTemplateElement templateElement() {
+        return template;
+    }
+
+    // ------------------------------------------------------ internal
+
+    private <H extends Hole> H add(H hole) {
+        holes.add(hole);
+        return hole;
+    }
+
+    private int[] path(By selector) {
+        Element element = root.querySelector(requireNonNull(selector, "selector required").selector());
+        if (element == null) {
+            throw new IllegalArgumentException("No element found in template for selector '" + selector + "'");
+        }
+        int depth = 0;
+        for (Element e = element; e != root; e = e.parentElement) {
+            depth++;
+        }
+        int[] path = new int[depth];
+        for (Element e = element; e != root; e = e.parentElement) {
+            int index = 0;
+            for (Element sibling = e.previousElementSibling; sibling != null; sibling = sibling.previousElementSibling) {
+                index++;
+            }
+            path[--depth] = index;
+        }
+        return path;
+    }
+
+    private static void clearObserverIds(Element element) {
+        element.removeAttribute(ATTACH_UID_KEY);
+        element.removeAttribute(DETACH_UID_KEY);
+        NodeList<Element> elements = element.querySelectorAll("[" + ATTACH_UID_KEY + "],[" + DETACH_UID_KEY + "]");
+        for (int i = 0; i < elements.length; i++) {
+            elements.getAt(i).removeAttribute(ATTACH_UID_KEY);
+            elements.getAt(i).removeAttribute(DETACH_UID_KEY);
+        }
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /**
+     * Base class of all holes. A hole is identified by its index and stores the element path relative to the root. Holes can
+     * only be used with stamps of the template which defined them.
+     */
+    public abstract static class Hole {
+
+        final int index;
+        final int[] path;
+
+        Hole(int index, int[] path) {
+            this.index = index;
+            this.path = path;
+        }
+    }
+
+    /** A hole for the text content of an element. */
+    public static final class TextHole extends Hole {
+
+        TextHole(int index, int[] path) {
+            super(index, path);
+        }
+    }
+
+    /** A hole for an attribute of an element. */
+    public static final class AttributeHole extends Hole {
+
+        final String name;
+
+        AttributeHole(int index, int[] path, String name) {
+            super(index, path);
+            this.name = requireNonNull(name, "name required");
+        }
+    }
+
+    /** A hole for an event handler of an element. */
+    public static final class EventHole<V extends Event> extends Hole {
+
+        final EventType<V, ?> type;
+
+        EventHole(int index, int[] path, EventType<V, ?> type) {
+            super(index, path);
+            this.type = requireNonNull(type, "type required");
+        }
+    }
+
+    /** A hole giving access to an element of a stamp. */
+    public static final class ElementHole<H extends HTMLElement> extends Hole {
+
+        ElementHole(int index, int[] path) {
+            super(index, path);
+        }
+    }
+
+    /**
+     * A copy of a template. Holes are resolved lazily and cached for the lifetime of the stamp. Using a hole of another
+     * template throws an {@link IllegalArgumentException}.
+     */
+    public static final class Stamp<E extends HTMLElement> implements IsElement<E> {
+
+        private final E element;
+        private final List<Hole> holes; // of the template, including holes defined after this stamp has been created
+        private final Element[] resolved;
+
+        Stamp(E element, List<Hole> holes) {
+            this.element = element;
+            this.holes = holes;
+            this.resolved = new Element[holes.size()];
+        }
+
+        @Override
+        public E element() {
+            return element;
+        }
+
+        /** Sets the text content of the element behind the given hole. */
+        public Stamp<E> text(TextHole hole, String text) {
+            resolve(hole).textContent = text;
+            return this;
+        }
+
+        /** Sets the attribute behind the given hole. */
+        public Stamp<E> attr(AttributeHole hole, String value) {
+            resolve(hole).setAttribute(hole.name, value);
+            return this;
+        }
+
+        /** Adds the given callback to the element behind the given hole. */
+        public <V extends Event> Stamp<E> on(EventHole<V> hole, EventCallbackFn<V> callback) {
+            bind(resolve(hole), hole.type, callback);
+            return this;
+        }
+
+        /** Returns the element behind the given hole. */
+        public <H extends HTMLElement> H element(ElementHole<H> hole) {
+            return Js.uncheckedCast(resolve(hole));
+        }
+
+        private Element resolve(Hole hole) {
+            requireNonNull(hole, "hole required");
+            if (hole.index >= holes.size() || holes.get(hole.index) != hole) {
+                throw new IllegalArgumentException("Hole #" + hole.index + " has been defined by another template");
+            }
+            if (hole.index < resolved.length && resolved[hole.index] != null) {
+                return resolved[hole.index];
+            }
+            Element current = element;
+            for (int index : hole.path) {
+                current = current.firstElementChild;
+                for (int i = 0; i < index; i++) {
+                    current = current.nextElementSibling;
+                }
+            }
+            if (hole.index < resolved.length) {
+                resolved[hole.index] = current;
+            }
+            return current;
+        }
+    }
+}
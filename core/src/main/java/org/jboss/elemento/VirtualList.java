@@ -0,0 +1,390 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.gwtproject.event.shared.HandlerRegistration;
+
+import elemental2.dom.AddEventListenerOptions;
+import elemental2.dom.HTMLElement;
+import jsinterop.base.Js;
+
+import static elemental2.dom.DomGlobal.cancelAnimationFrame;
+import static elemental2.dom.DomGlobal.document;
+import static elemental2.dom.DomGlobal.requestAnimationFrame;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static jsinterop.base.Js.isTripleEqual;
+import static jsinterop.base.Js.undefined;
+import static org.jboss.elemento.Elements.resizeObserver;
+import static org.jboss.elemento.EventType.bind;
+import static org.jboss.elemento.EventType.scroll;
+
+/**
+ * A container which renders only the rows in the visible part of a scrollable viewport, plus a number of rows above and below
+ * (the overscan).
+ * <p>
+ * The rows are created by a render function and bound to items by an update function. When the user scrolls, rows which leave
+ * the visible window are recycled for the rows entering the window. The number of rows in the DOM depends only on the height
+ * of the viewport and the overscan, no matter how many items there are. Two spacer rows above and below the rendered rows keep
+ * the scroll height in line with the number of items.
+ * <p>
+ * {@snippet class = VirtualListDemo region = virtualList}
+ * <p>
+ * Rows have either a fixed height (see {@link #rowHeight(double)}), or their height is measured once they are rendered (see
+ * {@link #estimatedRowHeight(double)}). Measuring uses a {@link ResizeObserver}. If the browser doesn't support resize
+ * observers, the estimated height is used as fixed height.
+ * <p>
+ * The viewport must have a constrained height and scroll its content, e.g. using {@code overflow: auto}.
+ */
+public final class VirtualList<T, E extends HTMLElement> {
+
+    // ------------------------------------------------------ factory methods
+
+    /**
+     * Creates a virtual list.
+     *
+     * @param viewport  the scrollable element
+     * @param container the element holding the rows, e.g. a {@code tbody}. Can be the same as the viewport.
+     * @param render    creates an empty row
+     * @param update    binds an item to a (possibly recycled) row
+     */
+    public static <T, E extends HTMLElement> VirtualList<T, E> virtualList(IsElement<? extends HTMLElement> viewport,
+            IsElement<? extends HTMLElement> container, Supplier<E> render, BiConsumer<E, T> update) {
+        return virtualList(requireNonNull(viewport, "viewport required").element(),
+                requireNonNull(container, "container required").element(), render, update);
+    }
+
+    /**
+     * Creates a virtual list.
+     *
+     * @param viewport  the scrollable element
+     * @param container the element holding the rows, e.g. a {@code tbody}. Can be the same as the viewport.
+     * @param render    creates an empty row
+     * @param update    binds an item to a (possibly recycled) row
+     */
+    public static <T, E extends HTMLElement> VirtualList<T, E> virtualList(HTMLElement viewport, HTMLElement container,
+            Supplier<E> render, BiConsumer<E, T> update) {
+        return new VirtualList<>(viewport, container, render, update);
+    }
+
+    // ------------------------------------------------------ instance
+
+    private static final double DEFAULT_ROW_HEIGHT = 24;
+    private static final int DEFAULT_OVERSCAN = 5;
+
+    private final HTMLElement viewport;
+    private final HTMLElement container;
+    private final Supplier<E> render;
+    private final BiConsumer<E, T> update;
+    private final List<E> rows;
+    private final List<E> pool;
+    private final HandlerRegistration scrollHandler;
+    private final ResizeObserverCleanup viewportObserver;
+    private ResizeObserver rowObserver;
+    private HTMLElement topSpacer;
+    private HTMLElement bottomSpacer;
+    private List<T> items;
+    private RowHeights heights;
+    private double rowHeight;
+    private boolean measured;
+    private int overscan;
+    private int start;
+    private int end;
+    private int frame;
+
+    private VirtualList(HTMLElement viewport, HTMLElement container, Supplier<E> render, BiConsumer<E, T> update) {
+        this.viewport = requireNonNull(viewport, "viewport required");
+        this.container = requireNonNull(container, "container required");
+        this.render = requireNonNull(render, "render function required");
+        this.update = requireNonNull(update, "update function required");
+        this.rows = new ArrayList<>();
+        this.pool = new ArrayList<>();
+        this.items = emptyList();
+        this.rowHeight = DEFAULT_ROW_HEIGHT;
+        this.measured = false;
+        this.overscan = DEFAULT_OVERSCAN;
+        this.heights = new RowHeights(0, rowHeight, true);
+
+        AddEventListenerOptions options = AddEventListenerOptions.create();
+        options.setPassive(true);
+        this.scrollHandler = bind(viewport, scroll, options, event -> schedule());
+        this.viewportObserver = resizeObserver(viewport, this::schedule);
+    }
+
+    // ------------------------------------------------------ configuration
+
+    /** Uses the given fixed height for all rows. This is the default with a height of 24 pixels. */
+    public VirtualList<T, E> rowHeight(double rowHeight) {
+        this.rowHeight = rowHeight;
+        this.measured = false;
+        if (rowObserver != null) {
+            rowObserver.disconnect();
+            rowObserver = null;
+        }
+        return reset();
+    }
+
+    /**
+     * Measures the height of the rows once they are rendered. Until then, the given estimated height is used for rows which
+     * haven't been rendered yet.
+     */
+    public VirtualList<T, E> estimatedRowHeight(double rowHeight) {
+        this.rowHeight = rowHeight;
+        if (isTripleEqual(Js.global().getAsAny("ResizeObserver"), undefined())) {
+            this.measured = false;
+        } else {
+            this.measured = true;
+            if (rowObserver == null) {
+                rowObserver = new ResizeObserver((entries, observer) -> {
+                    boolean changed = false;
+                    for (int i = 0; i < entries.length; i++) {
+                        ResizeObserverEntry entry = entries.getAt(i);
+                        int position = rows.indexOf(entry.target);
+                        if (position >= 0) {
+                            changed |= heights.height(start + position, height(entry));
+                        }
+                    }
+                    if (changed) {
+                        schedule();
+                    }
+                });
+                for (E row : rows) {
+                    rowObserver.observe(row, BoxModel.borderBox);
+                }
+            }
+        }
+        return reset();
+    }
+
+    /** Sets the number of rows rendered above and below the visible rows. Defaults to 5. */
+    public VirtualList<T, E> overscan(int overscan) {
+        this.overscan = Math.max(0, overscan);
+        return refresh();
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Sets the items of this list. Heights measured so far are discarded. */
+    public VirtualList<T, E> items(List<T> items) {
+        this.items = requireNonNull(items, "items required");
+        return reset();
+    }
+
+    /** Scrolls the viewport so that the row of the given index is the first visible row. */
+    public void scrollToIndex(int index) {
+        if (!items.isEmpty()) {
+            index = Math.max(0, Math.min(index, items.size() - 1));
+            viewport.scrollTop = heights.offset(index);
+            render(false);
+        }
+    }
+
+    /** Re-renders the visible rows. Call this method if the current items have been changed in-place. */
+    public VirtualList<T, E> refresh() {
+        render(true);
+        return this;
+    }
+
+    /** Returns the number of rows in the DOM, not counting the spacers. */
+    public int renderedRows() {
+        return rows.size();
+    }
+
+    /** Returns the index of the first rendered row (including the overscan). */
+    public int start() {
+        return start;
+    }
+
+    /** Returns the index after the last rendered row (including the overscan). */
+    public int end() {
+        return end;
+    }
+
+    /** Removes all rows and listeners. The list must not be used afterward. */
+    public void destroy() {
+        cancelAnimationFrame(frame);
+        scrollHandler.removeHandler();
+        viewportObserver.cleanup();
+        if (rowObserver != null) {
+            rowObserver.disconnect();
+        }
+        for (E row : rows) {
+            container.removeChild(row);
+        }
+        if (topSpacer != null) {
+            container.removeChild(topSpacer);
+            container.removeChild(bottomSpacer);
+        }
+        rows.clear();
+        pool.clear();
+    }
+
+    // ------------------------------------------------------ internal
+
+    private VirtualList<T, E> reset() {
+        heights = new RowHeights(items.size(), rowHeight, !measured);
+        render(true);
+        return this;
+    }
+
+    private void schedule() {
+        if (frame == 0) {
+            frame = requestAnimationFrame(timestamp -> {
+                frame = 0;
+                render(false);
+            });
+        }
+    }
+
+    private void render(boolean force) {
+        int count = items.size();
+        int newStart = 0;
+        int newEnd = 0;
+        if (count > 0) {
+            double top = viewport.scrollTop;
+            double visible = viewport.clientHeight;
+            if (visible <= 0) {
+                // not attached yet or not laid out: render the overscan only
+                visible = 0;
+            }
+            newStart = Math.max(0, heights.indexAt(top) - overscan);
+            newEnd = Math.min(count, heights.indexAt(top + visible) + 1 + overscan);
+        }
+        if (force || newStart != start || newEnd != end) {
+            window(newStart, newEnd, force);
+        }
+        spacers();
+    }
+
+    private void window(int newStart, int newEnd, boolean force) {
+        int overlapStart = Math.max(newStart, start);
+        int overlapEnd = Math.min(newEnd, end);
+        if (overlapStart >= overlapEnd) {
+            overlapStart = newStart;
+            overlapEnd = newStart;
+        }
+
+        // keep the rows of the overlap, everything else is free for reuse
+        List<E> released = new ArrayList<>();
+        List<E> newRows = new ArrayList<>(newEnd - newStart);
+        for (int i = newStart; i < newEnd; i++) {
+            newRows.add(null);
+        }
+        for (int i = start; i < end; i++) {
+            E row = rows.get(i - start);
+            if (i >= overlapStart && i < overlapEnd) {
+                newRows.set(i - newStart, row);
+                if (force) {
+                    update.accept(row, items.get(i));
+                }
+            } else {
+                released.add(row);
+            }
+        }
+
+        // rows above the overlap, going backwards so that the next row is always in place
+        for (int i = overlapStart - 1; i >= newStart; i--) {
+            E row = take(released, i);
+            container.insertBefore(row, newRows.get(i + 1 - newStart));
+            newRows.set(i - newStart, row);
+        }
+        // rows below the overlap
+        ensureSpacers();
+        for (int i = overlapEnd; i < newEnd; i++) {
+            E row = take(released, i);
+            container.insertBefore(row, bottomSpacer);
+            newRows.set(i - newStart, row);
+        }
+        for (E row : released) {
+            container.removeChild(row);
+            if (rowObserver != null) {
+                rowObserver.unobserve(row);
+            }
+            pool.add(row);
+        }
+
+        rows.clear();
+        rows.addAll(newRows);
+        start = newStart;
+        end = newEnd;
+    }
+
+    private E take(List<E> released, int index) {
+        E row;
+        if (!released.isEmpty()) {
+            row = released.remove(released.size() - 1);
+        } else if (!pool.isEmpty()) {
+            row = pool.remove(pool.size() - 1);
+        } else {
+            row = render.get();
+        }
+        update.accept(row, items.get(index));
+        if (rowObserver != null) {
+            // (re-)observing reports the current size, even if the recycled row has the same size as before
+            rowObserver.unobserve(row);
+            rowObserver.observe(row, BoxModel.borderBox);
+        }
+        return row;
+    }
+
+    private void ensureSpacers() {
+        if (topSpacer == null) {
+            String tag = spacerTag();
+            topSpacer = spacer(tag);
+            bottomSpacer = spacer(tag);
+            container.insertBefore(topSpacer, container.firstChild);
+            container.appendChild(bottomSpacer);
+        }
+    }
+
+    private String spacerTag() {
+        String tag = container.tagName.toLowerCase();
+        if ("tbody".equals(tag) || "thead".equals(tag) || "tfoot".equals(tag) || "table".equals(tag)) {
+            return "tr";
+        } else if ("ul".equals(tag) || "ol".equals(tag)) {
+            return "li";
+        }
+        return "div";
+    }
+
+    private HTMLElement spacer(String tag) {
+        HTMLElement spacer = Js.uncheckedCast(document.createElement(tag));
+        spacer.setAttribute("aria-hidden", "true");
+        spacer.style.setProperty("height", "0");
+        spacer.style.setProperty("padding", "0");
+        spacer.style.setProperty("border", "0");
+        spacer.style.setProperty("margin", "0");
+        return spacer;
+    }
+
+    private void spacers() {
+        ensureSpacers();
+        topSpacer.style.setProperty("height", heights.offset(start) + "px");
+        bottomSpacer.style.setProperty("height", (heights.total() - heights.offset(end)) + "px");
+    }
+
+    private static double height(ResizeObserverEntry entry) {
+        if (entry.borderBoxSize != null && entry.borderBoxSize.length > 0) {
+            return entry.borderBoxSize.getAt(0).blockSize;
+        }
+        return entry.target.getBoundingClientRect().height;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.elemento.TestDom.TestDocument;
+import org.jboss.elemento.TestDom.TestElement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import elemental2.dom.Node;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ElementContainerMethodsTest {
+
+    private TestElement container;
+    private List<Node> added;
+    private HTMLContainerBuilder<TestElement> builder;
+
+    @BeforeEach
+    void setUp() {
+        container = new TestElement("container", new TestDocument());
+        added = new ArrayList<>();
+        // overrides add(Node) like custom builders do
+        builder = new HTMLContainerBuilder<TestElement>(container) {
+            @Override
+            public HTMLContainerBuilder<TestElement> add(Node node) {
+                added.add(node);
+                return super.add(node);
+            }
+        };
+    }
+
+    @Test
+    void addAllDisconnected() {
+        TestElement a = new TestElement("a");
+        TestElement b = new TestElement("b");
+        builder.addAll(a, b);
+
+        assertEquals(asList("a", "b"), container.texts());
+        assertEquals(asList(a, b), added);
+        assertEquals(2, container.mutations);
+    }
+
+    @Test
+    void addAllConnected() {
+        container.isConnected = true;
+        TestElement a = new TestElement("a");
+        TestElement b = new TestElement("b");
+        TestElement c = new TestElement("c");
+        builder.addAll(asList(a, "ignored", b, c));
+
+        assertEquals(asList("a", "b", "c"), container.texts());
+        // add() sees the individual nodes, the container gets one fragment
+        assertEquals(asList(a, b, c), added);
+        assertEquals(1, container.mutations);
+    }
+
+    @Test
+    void addAllConnectedEmpty() {
+        container.isConnected = true;
+        builder.addAll(emptyList());
+
+        assertEquals(emptyList(), container.texts());
+        assertEquals(0, container.mutations);
+    }
+
+    @Test
+    void batch() {
+        builder.batch(b -> {
+            b.add(new TestElement("a"));
+            b.addAll(new TestElement("b"), new TestElement("c"));
+            assertEquals(emptyList(), container.texts());
+        });
+
+        assertEquals(asList("a", "b", "c"), container.texts());
+        assertEquals(3, added.size());
+        assertEquals(1, container.mutations);
+    }
+
+    @Test
+    void nestedBatch() {
+        container.isConnected = true;
+        builder.batch(outer -> {
+            outer.add(new TestElement("a"));
+            outer.batch(inner -> inner.add(new TestElement("b")));
+            // the nested batch doesn't add its nodes on its own
+            assertEquals(emptyList(), container.texts());
+            outer.addAll(new TestElement("c"), new TestElement("d"));
+            assertEquals(emptyList(), container.texts());
+        });
+
+        assertEquals(asList("a", "b", "c", "d"), container.texts());
+        assertEquals(1, container.mutations);
+    }
+
+    @Test
+    void batchFailed() {
+        assertThrows(IllegalStateException.class, () -> builder.batch(b -> {
+            b.add(new TestElement("a"));
+            throw new IllegalStateException();
+        }));
+        assertEquals(emptyList(), container.texts());
+        assertFalse(ContainerBatch.active(container));
+
+        // the batch has been stopped: nodes are added directly again
+        builder.add(new TestElement("b"));
+        assertEquals(asList("b"), container.texts());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.elemento.TestDom.TestDocument;
+import org.jboss.elemento.TestDom.TestElement;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static org.jboss.elemento.KeyedList.list;
+import static org.jboss.elemento.KeyedList.longestIncreasingSubsequence;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyedListTest {
+
+    @Test
+    void empty() {
+        assertArrayEquals(new boolean[0], longestIncreasingSubsequence(new int[0]));
+    }
+
+    @Test
+    void unchanged() {
+        assertArrayEquals(new boolean[]{true, true, true, true},
+                longestIncreasingSubsequence(new int[]{0, 1, 2, 3}));
+    }
+
+    @Test
+    void reversed() {
+        assertArrayEquals(new boolean[]{false, false, false, true},
+                longestIncreasingSubsequence(new int[]{3, 2, 1, 0}));
+    }
+
+    @Test
+    void moveOne() {
+        // last element moved to the front
+        assertArrayEquals(new boolean[]{false, true, true, true},
+                longestIncreasingSubsequence(new int[]{3, 0, 1, 2}));
+        // first element moved to the end
+        assertArrayEquals(new boolean[]{true, true, true, false},
+                longestIncreasingSubsequence(new int[]{1, 2, 3, 0}));
+    }
+
+    @Test
+    void swap() {
+        // any of 0-1-4, 0-2-4, 0-3-4 is a valid subsequence, two elements have to move
+        int[] sources = {0, 3, 2, 1, 4};
+        boolean[] stable = longestIncreasingSubsequence(sources);
+        int count = 0;
+        int previous = -1;
+        for (int i = 0; i < sources.length; i++) {
+            if (stable[i]) {
+                assertTrue(sources[i] > previous);
+                previous = sources[i];
+                count++;
+            }
+        }
+        assertEquals(3, count);
+    }
+
+    @Test
+    void newElements() {
+        assertArrayEquals(new boolean[]{false, true, false, true, false},
+                longestIncreasingSubsequence(new int[]{-1, 0, -1, 1, -1}));
+        assertArrayEquals(new boolean[]{false, false},
+                longestIncreasingSubsequence(new int[]{-1, -1}));
+    }
+
+    @Test
+    void reconcile() {
+        TestElement container = new TestElement("container", new TestDocument());
+        KeyedList<Item, String, TestElement> list = list(container, items("a", "b", "c", "d"),
+                item -> item.key, item -> new TestElement(item.key), null);
+        TestElement c = list.element("c");
+
+        list.update(items("d", "c", "e", "a"));
+        assertEquals(asList("d", "c", "e", "a"), container.texts());
+        assertSame(c, list.element("c"));
+        assertNull(list.element("b"));
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    void updateModifiedInPlace() {
+        TestElement container = new TestElement("container", new TestDocument());
+        List<Item> items = items("a", "b", "c");
+        List<String> updated = new ArrayList<>();
+        KeyedList<Item, String, TestElement> list = list(container, items,
+                item -> item.key, item -> new TestElement(item.key), (element, item) -> updated.add(item.key));
+
+        items.get(1).value = 42;
+        list.update(items);
+        assertEquals(asList("a", "b", "c"), updated);
+    }
+
+    @Test
+    void updateChanged() {
+        TestElement container = new TestElement("container", new TestDocument());
+        List<String> updated = new ArrayList<>();
+        KeyedList<Item, String, TestElement> list = list(container, items("a", "b", "c"),
+                item -> item.key, item -> new TestElement(item.key), (element, item) -> updated.add(item.key),
+                (previous, item) -> previous.value != item.value);
+
+        List<Item> items = items("a", "b", "c");
+        items.get(1).value = 42;
+        list.update(items);
+        assertEquals(asList("b"), updated);
+        assertEquals(asList("a", "b", "c"), container.texts());
+    }
+
+    @Test
+    void duplicateKey() {
+        TestElement container = new TestElement("container", new TestDocument());
+        List<String> updated = new ArrayList<>();
+        KeyedList<Item, String, TestElement> list = list(container, items("a", "b", "c"),
+                item -> item.key, item -> new TestElement(item.key), (element, item) -> updated.add(item.key));
+        TestElement a = list.element("a");
+
+        assertThrows(IllegalArgumentException.class, () -> list.update(items("c", "a", "x", "a")));
+        assertEquals(asList("a", "b", "c"), container.texts());
+        assertEquals(3, list.size());
+        assertTrue(updated.isEmpty());
+
+        // the list is still intact
+        list.update(items("c", "a", "d"));
+        assertEquals(asList("c", "a", "d"), container.texts());
+        assertSame(a, list.element("a"));
+        assertNull(list.element("b"));
+        assertEquals(asList("c", "a"), updated);
+    }
+
+    private static List<Item> items(String... keys) {
+        List<Item> items = new ArrayList<>();
+        for (String key : keys) {
+            items.add(new Item(key));
+        }
+        return items;
+    }
+
+    private static class Item {
+
+        final String key;
+        int value;
+
+        Item(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowHeightsTest {
+
+    @Test
+    void fixed() {
+        RowHeights heights = new RowHeights(100, 20, true);
+        assertEquals(0, heights.offset(0));
+        assertEquals(200, heights.offset(10));
+        assertEquals(2000, heights.total());
+        assertEquals(0, heights.indexAt(19));
+        assertEquals(1, heights.indexAt(20));
+        assertEquals(99, heights.indexAt(10_000));
+        assertFalse(heights.height(5, 40));
+    }
+
+    @Test
+    void estimated() {
+        RowHeights heights = new RowHeights(7, 10, false);
+        for (int i = 0; i <= 7; i++) {
+            assertEquals(i * 10, heights.offset(i));
+        }
+        assertEquals(0, heights.indexAt(0));
+        assertEquals(0, heights.indexAt(9.9));
+        assertEquals(1, heights.indexAt(10));
+        assertEquals(6, heights.indexAt(65));
+        assertEquals(6, heights.indexAt(1_000));
+    }
+
+    @Test
+    void measured() {
+        RowHeights heights = new RowHeights(10, 10, false);
+        assertTrue(heights.height(2, 50));
+        assertFalse(heights.height(2, 50));
+        assertEquals(20, heights.offset(2));
+        assertEquals(70, heights.offset(3));
+        assertEquals(140, heights.total());
+        assertEquals(2, heights.indexAt(20));
+        assertEquals(2, heights.indexAt(69));
+        assertEquals(3, heights.indexAt(70));
+        assertEquals(50, heights.height(2));
+    }
+
+    @Test
+    void empty() {
+        RowHeights heights = new RowHeights(0, 10, false);
+        assertEquals(0, heights.total());
+        assertEquals(0, heights.indexAt(100));
+    }
+}
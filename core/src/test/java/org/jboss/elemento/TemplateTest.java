@@ -0,0 +1,133 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.elemento.Template.ElementHole;
+import org.jboss.elemento.Template.Hole;
+import org.jboss.elemento.Template.Stamp;
+import org.jboss.elemento.Template.TextHole;
+import org.jboss.elemento.TestDom.TestElement;
+import org.junit.jupiter.api.Test;
+
+import elemental2.dom.HTMLElement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TemplateTest {
+
+    @Test
+    void ownHole() {
+        List<Hole> holes = new ArrayList<>();
+        ElementHole<HTMLElement> hole = new ElementHole<>(0, new int[0]);
+        holes.add(hole);
+        HTMLElement element = new HTMLElement();
+
+        assertSame(element, new Stamp<>(element, holes).element(hole));
+    }
+
+    @Test
+    void holeDefinedAfterStamp() {
+        List<Hole> holes = new ArrayList<>();
+        HTMLElement element = new HTMLElement();
+        Stamp<HTMLElement> stamp = new Stamp<>(element, holes);
+        ElementHole<HTMLElement> hole = new ElementHole<>(0, new int[0]);
+        holes.add(hole);
+
+        assertSame(element, stamp.element(hole));
+    }
+
+    @Test
+    void foreignHole() {
+        List<Hole> holes = new ArrayList<>();
+        holes.add(new TextHole(0, new int[0]));
+        Stamp<HTMLElement> stamp = new Stamp<>(new HTMLElement(), holes);
+
+        // same index, but defined by another template
+        assertThrows(IllegalArgumentException.class, () -> stamp.text(new TextHole(0, new int[0]), "text"));
+        assertThrows(IllegalArgumentException.class, () -> stamp.element(new ElementHole<>(1, new int[0])));
+    }
+
+    @Test
+    void paths() {
+        // <root><header/><main><p/><p><span/></p></main></root>
+        TestElement span = new TestElement("span");
+        TestElement paragraph = new TestElement("p").add(span);
+        TestElement main = new TestElement("main").add(new TestElement("p"), paragraph);
+        TestElement root = new TestElement("root").add(new TestElement("header"), main);
+        List<Hole> holes = new ArrayList<>();
+        ElementHole<HTMLElement> rootHole = add(holes, new ElementHole<>(holes.size(), new int[0]));
+        ElementHole<HTMLElement> mainHole = add(holes, new ElementHole<>(holes.size(), new int[]{1}));
+        ElementHole<HTMLElement> paragraphHole = add(holes, new ElementHole<>(holes.size(), new int[]{1, 1}));
+        ElementHole<HTMLElement> spanHole = add(holes, new ElementHole<>(holes.size(), new int[]{1, 1, 0}));
+        Stamp<TestElement> stamp = new Stamp<>(root, holes);
+
+        assertSame(root, stamp.element(rootHole));
+        assertSame(main, stamp.element(mainHole));
+        assertSame(paragraph, stamp.element(paragraphHole));
+        assertSame(span, stamp.element(spanHole));
+    }
+
+    @Test
+    void fillHoles() {
+        TestElement link = new TestElement("a");
+        TestElement label = new TestElement("span");
+        TestElement root = new TestElement("li").add(label, link);
+        List<Hole> holes = new ArrayList<>();
+        TextHole rootText = add(holes, new TextHole(holes.size(), new int[0]));
+        TextHole labelText = add(holes, new TextHole(holes.size(), new int[]{0}));
+        ElementHole<HTMLElement> element = add(holes, new ElementHole<>(holes.size(), new int[]{1}));
+
+        Stamp<TestElement> stamp = new Stamp<>(root, holes).text(labelText, "Label");
+        assertEquals("Label", label.textContent);
+        assertNull(link.textContent);
+        assertNull(root.textContent);
+        assertSame(link, stamp.element(element));
+
+        stamp.text(rootText, "Root");
+        assertEquals("Root", root.textContent);
+    }
+
+    @Test
+    void cachePerStamp() {
+        TestElement first = new TestElement("first");
+        TestElement second = new TestElement("second");
+        TestElement root1 = new TestElement("root").add(first);
+        TestElement root2 = new TestElement("root").add(second);
+        List<Hole> holes = new ArrayList<>();
+        ElementHole<HTMLElement> hole = add(holes, new ElementHole<>(holes.size(), new int[]{0}));
+        Stamp<TestElement> stamp1 = new Stamp<>(root1, holes);
+        Stamp<TestElement> stamp2 = new Stamp<>(root2, holes);
+
+        assertSame(first, stamp1.element(hole));
+        assertSame(second, stamp2.element(hole));
+
+        // resolved elements are cached: the path is not walked again
+        root1.insertBefore(new TestElement("inserted"), first);
+        assertSame(first, stamp1.element(hole));
+        assertSame(second, stamp2.element(hole));
+    }
+
+    private static <H extends Hole> H add(List<Hole> holes, H hole) {
+        holes.add(hole);
+        return hole;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import elemental2.dom.Document;
+import elemental2.dom.DocumentFragment;
+import elemental2.dom.Element;
+import elemental2.dom.HTMLElement;
+import elemental2.dom.Node;
+
+/**
+ * Minimal DOM for JVM-based JUnit tests, where the browser's DOM is not available. Supports appending, inserting and removing
+ * child nodes, including document fragments, and the navigation between elements.
+ */
+final class TestDom {
+
+    static final class TestDocument extends Document {
+
+        @Override
+        public DocumentFragment createDocumentFragment() {
+            return new TestFragment();
+        }
+    }
+
+    static final class TestFragment extends DocumentFragment {
+
+        final List<Node> children = new ArrayList<>();
+
+        @Override
+        public Node appendChild(Node node) {
+            children.add(node);
+            return node;
+        }
+
+        @Override
+        public boolean hasChildNodes() {
+            return !children.isEmpty();
+        }
+    }
+
+    static final class TestElement extends HTMLElement {
+
+        final String text;
+        final List<Node> children;
+        int mutations; // number of calls to appendChild(), insertBefore() and removeChild()
+
+        TestElement(String text) {
+            this(text, null);
+        }
+
+        TestElement(String text, Document document) {
+            this.text = text;
+            this.children = new ArrayList<>();
+            this.ownerDocument = document;
+        }
+
+        /** Appends the given elements and returns this element. */
+        TestElement add(TestElement... elements) {
+            for (TestElement element : elements) {
+                appendChild(element);
+            }
+            return this;
+        }
+
+        @Override
+        public Node appendChild(Node node) {
+            return insertBefore(node, null);
+        }
+
+        @Override
+        public Node insertBefore(Node node, Node reference) {
+            mutations++;
+            return insert(node, reference);
+        }
+
+        @Override
+        public Node removeChild(Node node) {
+            mutations++;
+            children.remove(node);
+            node.parentNode = null;
+            node.nextSibling = null;
+            if (node instanceof Element) {
+                ((Element) node).nextElementSibling = null;
+            }
+            link();
+            return node;
+        }
+
+        List<String> texts() {
+            List<String> texts = new ArrayList<>();
+            for (Node child : children) {
+                texts.add(((TestElement) child).text);
+            }
+            return texts;
+        }
+
+        private Node insert(Node node, Node reference) {
+            if (node instanceof TestFragment) {
+                List<Node> nodes = ((TestFragment) node).children;
+                for (Node child : nodes) {
+                    insert(child, reference);
+                }
+                nodes.clear();
+            } else {
+                if (node.parentNode instanceof TestElement) {
+                    TestElement parent = (TestElement) node.parentNode;
+                    parent.children.remove(node);
+                    parent.link();
+                }
+                int index = reference != null ? children.indexOf(reference) : children.size();
+                children.add(index, node);
+                node.parentNode = this;
+                link();
+            }
+            return node;
+        }
+
+        private void link() {
+            firstChild = children.isEmpty() ? null : children.get(0);
+            firstElementChild = null;
+            Element previous = null;
+            for (int i = 0; i < children.size(); i++) {
+                Node child = children.get(i);
+                child.nextSibling = i + 1 < children.size() ? children.get(i + 1) : null;
+                if (child instanceof Element) {
+                    Element element = (Element) child;
+                    element.nextElementSibling = null;
+                    if (previous == null) {
+                        firstElementChild = element;
+                    } else {
+                        previous.nextElementSibling = element;
+                    }
+                    previous = element;
+                }
+            }
+        }
+    }
+
+    private TestDom() {
+    }
+}
@@ -14,13 +14,20 @@
  *  limitations under the License.
  */
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
 import org.jboss.elemento.flow.Flow;
 import org.jboss.elemento.flow.FlowContext;
+import org.jboss.elemento.flow.FlowKey;
+import org.jboss.elemento.flow.FlowListener;
+import org.jboss.elemento.flow.MemoizedTask;
+import org.jboss.elemento.flow.PerformanceRecorder;
+import org.jboss.elemento.flow.Repeat;
 import org.jboss.elemento.flow.Task;
 
+import elemental2.dom.RequestInit;
 import elemental2.dom.Response;
 import elemental2.promise.Promise;
 import jsinterop.base.Js;
@@ -48,6 +55,21 @@ public class FlowDemo {
         // @end region = parallel
     }
 
+    public void concurrencyDemo() {
+        // @start region = concurrency
+        List<Task<FlowContext>> tasks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String url = "/api/items/" + i;
+            tasks.add(context -> fetch(url).then(__ -> Promise.resolve(context)));
+        }
+
+        // execute the tasks in parallel, but never more than 6 at the same time
+        Flow.parallel(new FlowContext(), tasks)
+                .concurrency(6)
+                .subscribe(context -> console.log("All items fetched"));
+        // @end region = concurrency
+    }
+
     public void sequentialDemo() {
         // @start region = sequential
         // datetime format is "2022-03-31T11:03:39.348365+02:00"
@@ -65,6 +87,96 @@ public class FlowDemo {
         // @end region = sequential
     }
 
+    public void retryDemo() {
+        // @start region = retry
+        Task<FlowContext> currentTime = context -> fetch("https://worldtimeapi.org/api/timezone/Europe/Berlin")
+                .then(Response::json)
+                .then(json -> Promise.resolve(Js.<JsPropertyMap<String>>cast(json).get("datetime").substring(11, 23)))
+                .then(context::resolve);
+
+        // try at most 5 times, wait 500 ms, 1 s, 2 s, 4 s (randomized) between the attempts
+        Flow.retry(new FlowContext(), currentTime)
+                .attempts(5)
+                .delay(500)
+                .attemptTimeout(2_000)
+                .subscribe(context -> console.log("Current time: " + context.pop("n/a")));
+        // @end region = retry
+    }
+
+    public void cancelDemo() {
+        // @start region = signal
+        // pass the signal of the flow to fetch(), so that the request is aborted when the flow is canceled
+        Task<FlowContext> currentTime = context -> {
+            RequestInit init = RequestInit.create();
+            init.setSignal(context.signal());
+            return fetch("https://worldtimeapi.org/api/timezone/Europe/Berlin", init)
+                    .then(Response::json)
+                    .then(json -> Promise.resolve(Js.<JsPropertyMap<String>>cast(json).get("datetime").substring(11, 23)))
+                    .then(context::resolve);
+        };
+        // @end region = signal
+
+        // @start region = cancel
+        // poll the current time every second
+        Repeat<FlowContext> polling = Flow.repeat(new FlowContext(), currentTime)
+                .interval(1_000)
+                .timeout(60_000);
+        polling.subscribe(context -> {
+            if (context.isCanceled()) {
+                console.log("Polling canceled");
+            }
+        });
+
+        // stop polling and abort the running request
+        setTimeout(__ -> polling.cancel(), 5_000);
+        // @end region = cancel
+    }
+
+    public void keyDemo() {
+        // @start region = key
+        // typed keys don't need casts and can't clash with keys of other tasks
+        FlowKey<String> user = FlowKey.of("user");
+        FlowKey<Integer> length = FlowKey.of("length");
+
+        List<Task<FlowContext>> tasks = List.of(
+                context -> context.resolve(user, "john"),
+                context -> context.resolve(length, context.get(user).length()));
+        Flow.sequential(new FlowContext(), tasks)
+                .subscribe(context -> console.log(context.get(user) + " has " + context.get(length, 0) + " characters"));
+        // @end region = key
+    }
+
+    public void memoizeDemo() {
+        // @start region = memoize
+        // read the capabilities only once, no matter how many flows need them
+        FlowKey<String> capabilities = FlowKey.of("capabilities");
+        Task<FlowContext> readCapabilities = Task.<FlowContext, String>memoize(capabilities,
+                        context -> fetch("/api/capabilities").then(Response::text))
+                .ttl(60_000);
+
+        Flow.sequential(new FlowContext(), List.of(readCapabilities))
+                .subscribe(context -> console.log("Header: " + context.get(capabilities)));
+        Flow.parallel(new FlowContext(), List.of(readCapabilities))
+                .subscribe(context -> console.log("Sidebar: " + context.get(capabilities)));
+
+        // read the capabilities again, the next time they're needed
+        MemoizedTask.invalidate(capabilities);
+        // @end region = memoize
+    }
+
+    public void listenerDemo() {
+        // @start region = listener
+        // record flows and tasks in the performance panel of the developer tools
+        FlowListener.register(new PerformanceRecorder());
+
+        List<Task<FlowContext>> tasks = List.of(
+                Task.named("load user", context -> context.resolve("user", "john")),
+                Task.named("load settings", context -> context.resolve("settings", "dark")));
+        Flow.parallel(new FlowContext(), tasks)
+                .subscribe(context -> console.log("Loaded user and settings"));
+        // @end region = listener
+    }
+
     public void repeatDemo() {
         // @start region = repeat
         Task<FlowContext> currentTime = context -> fetch("https://worldtimeapi.org/api/timezone/Europe/Berlin")
@@ -0,0 +1,32 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+/**
+ * An interface to cancel the execution of {@linkplain Task asynchronous tasks}.
+ * <p>
+ * Canceling a flow stops scheduling new tasks, clears pending timers and aborts the {@linkplain FlowContext#signal() signal}
+ * passed to the running tasks. Tasks which pass the signal to {@code fetch()} abort their requests.
+ */
+public interface Cancelable {
+
+    /**
+     * Cancels the execution. If the execution has already been finished, this method does nothing. Otherwise, the promise is
+     * rejected with an error for which {@link FlowContext#isCanceled(Object)} returns {@code true} and the status of the
+     * context is set to {@link FlowStatus#CANCELED}.
+     */
+    void cancel();
+}
@@ -22,7 +22,8 @@ import static org.jboss.elemento.flow.SequenceImpl.Mode.SEQUENTIAL;
 
 /**
  * An interface to execute a list of {@linkplain Task asynchronous tasks} in parallel or sequentially, or to execute a single
- * {@linkplain Task task} {@linkplain #repeat(FlowContext, Task) repeatedly} as long as certain conditions are met.
+ * {@linkplain Task task} {@linkplain #repeat(FlowContext, Task) repeatedly} as long as certain conditions are met or
+ * {@linkplain #retry(FlowContext, Task) until it succeeds}.
  * <p>
  * The {@linkplain Task tasks} share a {@linkplain FlowContext context} that can be used to store data in a map or on a stack.
  * <p>
@@ -71,4 +72,19 @@ public interface Flow {
     static <C extends FlowContext> Repeat<C> repeat(C context, Task<C> task) {
         return new RepeatImpl<>(context, task);
     }
+
+    /**
+     * Executes the given {@linkplain Task task} and retries it with exponential backoff if it fails, as defined by
+     * {@link Retry}.
+     * <p>
+     * {@snippet class = FlowDemo region = retry}
+     *
+     * @param context the context shared between the attempts
+     * @param task    the task to execute until it succeeds or the attempts are exhausted
+     * @param <C>     the type of the shared context
+     * @return an interface to control the attempts, the backoff, and which errors are retried
+     */
+    static <C extends FlowContext> Retry<C> retry(C context, Task<C> task) {
+        return new RetryImpl<>(context, task);
+    }
 }
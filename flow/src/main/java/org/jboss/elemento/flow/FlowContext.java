@@ -15,14 +15,16 @@
  */
 package org.jboss.elemento.flow;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EmptyStackException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
 import java.util.function.Predicate;
 
+import elemental2.dom.AbortSignal;
 import elemental2.promise.Promise;
 
 /**
@@ -32,7 +34,8 @@ import elemental2.promise.Promise;
  * evaluates to {@code true}.
  * <p>
  * The context provides a {@linkplain Progress progress indicator} to signal the progress of the task execution and a stack and
- * a map for sharing data between {@linkplain Task asynchronous tasks}.
+ * a map for sharing data between {@linkplain Task asynchronous tasks}. Values in the map are stored either under string keys
+ * or under {@linkplain FlowKey typed keys}.
  * <p>
  * Finally, the context provides methods to resolve the context as promise.
  */
@@ -45,11 +48,26 @@ public class FlowContext {
         return error.equals(FlowRunner.TIMEOUT_ERROR);
     }
 
-    private final Stack<Object> stack;
-    private final Map<String, Object> data;
+    /**
+     * Method to check if the error in a {@linkplain Promise.CatchOnRejectedCallbackFn catch} callback is due to a
+     * {@linkplain Cancelable#cancel() cancellation}.
+     */
+    public static boolean isCanceled(Object error) {
+        return error.equals(FlowRunner.CANCEL_ERROR);
+    }
+
+    private static final Object[] EMPTY_STACK = new Object[0];
+    private static final int INITIAL_CAPACITY = 8;
+
+    // the stack and the maps are created lazily, most contexts use either the stack or one of the maps
+    Object[] stack; // package-private for tests
+    private int size;
+    private Map<String, Object> data;
+    private Map<FlowKey<?>, Object> typedData;
     final Progress progress;
     FlowStatus status;
     String failure;
+    FlowRunner<?> runner;
 
     /**
      * Creates a new instance with a {@linkplain Progress#NOOP noop progress implementation}.
@@ -65,8 +83,8 @@ public class FlowContext {
      */
     public FlowContext(Progress progress) {
         this.progress = progress;
-        this.stack = new Stack<>();
-        this.data = new HashMap<>();
+        this.stack = EMPTY_STACK;
+        this.size = 0;
         this.status = FlowStatus.NOT_STARTED;
     }
 
@@ -95,6 +113,14 @@ public class FlowContext {
         return resolveInternal();
     }
 
+    /**
+     * Stores the value under the given typed key in the map and resolves this context successfully as a promise.
+     */
+    public <C extends FlowContext, T> Promise<C> resolve(FlowKey<T> key, T value) {
+        set(key, value);
+        return resolveInternal();
+    }
+
     public <C extends FlowContext> Promise<C> reject(Object error) {
         return rejectInternal(error);
     }
@@ -114,7 +140,10 @@ public class FlowContext {
      * Pushes the value om top of the stack.
      */
     public <T> void push(T value) {
-        stack.push(value);
+        if (size == stack.length) {
+            stack = Arrays.copyOf(stack, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        stack[size++] = value;
     }
 
     /**
@@ -126,7 +155,10 @@ public class FlowContext {
      */
     @SuppressWarnings("unchecked")
     public <T> T peek() {
-        return (T) stack.peek();
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return (T) stack[size - 1];
     }
 
     /**
@@ -137,7 +169,12 @@ public class FlowContext {
      */
     @SuppressWarnings("unchecked")
     public <T> T pop() {
-        return (T) stack.pop();
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        T value = (T) stack[--size];
+        stack[size] = null;
+        return value;
     }
 
     /**
@@ -145,22 +182,24 @@ public class FlowContext {
      *
      * @return The object at the top of the stack or the default value if the stack is empty.
      */
-    @SuppressWarnings("unchecked")
     public <T> T pop(T defaultValue) {
-        return isStackEmpty() ? defaultValue : (T) stack.pop();
+        return isStackEmpty() ? defaultValue : pop();
     }
 
     /**
      * @return {@code true} if the stack is empty, {@code false} otherwise.
      */
     public boolean isStackEmpty() {
-        return stack.empty();
+        return size == 0;
     }
 
     /**
      * Stores the value under the given key in the map.
      */
     public <T> void set(String key, T value) {
+        if (data == null) {
+            data = new HashMap<>();
+        }
         data.put(key, value);
     }
 
@@ -176,23 +215,48 @@ public class FlowContext {
      */
     @SuppressWarnings("unchecked")
     public <T> T get(String key, T defaultValue) {
-        return (T) data.getOrDefault(key, defaultValue);
+        return data != null ? (T) data.getOrDefault(key, defaultValue) : defaultValue;
     }
 
     /**
-     * @return the set of keys stored in the map.
+     * Stores the value under the given typed key in the map.
+     */
+    public <T> void set(FlowKey<T> key, T value) {
+        if (typedData == null) {
+            typedData = new HashMap<>();
+        }
+        typedData.put(key, value);
+    }
+
+    /**
+     * @return the value for the given typed key from the map or {@code null} if no such key was found.
+     */
+    public <T> T get(FlowKey<T> key) {
+        return get(key, null);
+    }
+
+    /**
+     * @return the value for the given typed key from the map or {@code defaultValue} if no such key was found.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(FlowKey<T> key, T defaultValue) {
+        return typedData != null ? (T) typedData.getOrDefault(key, defaultValue) : defaultValue;
+    }
+
+    /**
+     * @return the set of string keys stored in the map.
      */
     public Set<String> keys() {
-        return data.keySet();
+        return data != null ? data.keySet() : Collections.emptySet();
     }
 
     /**
      * Checks if the data is empty.
      *
-     * @return {@code true} if the data is empty, {@code false} otherwise.
+     * @return {@code true} if the data stored under string and typed keys is empty, {@code false} otherwise.
      */
     public boolean isEmpty() {
-        return data.isEmpty();
+        return (data == null || data.isEmpty()) && (typedData == null || typedData.isEmpty());
     }
 
     // ------------------------------------------------------ info
@@ -204,6 +268,25 @@ public class FlowContext {
         return progress;
     }
 
+    /**
+     * Returns the abort signal of the flow which executes the current task. The signal is aborted when the flow is
+     * {@linkplain Cancelable#cancel() canceled} or runs into a timeout. Tasks of a {@linkplain Retry retry} get the signal of
+     * the current attempt, which is also aborted when the attempt runs into a timeout. Pass the signal to {@code fetch()} or
+     * check it in long-running tasks to stop work that is no longer needed:
+     * <p>
+     * {@snippet class = FlowDemo region = signal}
+     * <p>
+     * The context is shared by all tasks of a flow, including the tasks of nested and parallel flows. Which flow executes the
+     * current task is only known while {@link Task#apply(FlowContext)} runs. Read the signal synchronously in
+     * {@code apply()} and keep it in a local variable, if you need it later. In a {@code then()} callback, this method
+     * returns {@code null} or, if another task is being applied at that moment, the signal of that task.
+     *
+     * @return the abort signal or {@code null} if no task is being applied
+     */
+    public AbortSignal signal() {
+        return runner != null ? runner.signal() : null;
+    }
+
     /**
      * @return the execution status of this context
      */
@@ -225,6 +308,13 @@ public class FlowContext {
         return status == FlowStatus.TIMEOUT;
     }
 
+    /**
+     * @return whether the execution has been canceled
+     */
+    public boolean isCanceled() {
+        return status == FlowStatus.CANCELED;
+    }
+
     /**
      * @return whether the execution failed
      */
@@ -233,7 +323,7 @@ public class FlowContext {
     }
 
     /**
-     * @return the failure or {@code null} if the execution was successful or ran into a timeout
+     * @return the failure or {@code null} if the execution was successful, ran into a timeout or has been canceled
      */
     public String failureReason() {
         return failure;
@@ -242,12 +332,36 @@ public class FlowContext {
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder().append("FlowContext {");
-        builder.append("stack: ").append(stack)
-                .append(", map: ").append(data)
-                .append(", status: ").append(status);
+        builder.append("stack: [");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(stack[i]);
+        }
+        builder.append("], map: {");
+        appendMap(builder, data);
+        if (data != null && !data.isEmpty() && typedData != null && !typedData.isEmpty()) {
+            builder.append(", ");
+        }
+        appendMap(builder, typedData);
+        builder.append("}, status: ").append(status);
         if (status == FlowStatus.FAILURE && failure != null) {
             builder.append('(').append(failure).append(')');
         }
         return builder.append('}').toString();
     }
+
+    private void appendMap(StringBuilder builder, Map<?, Object> map) {
+        if (map != null) {
+            boolean first = true;
+            for (Map.Entry<?, Object> entry : map.entrySet()) {
+                if (!first) {
+                    builder.append(", ");
+                }
+                builder.append(entry.getKey()).append('=').append(entry.getValue());
+                first = false;
+            }
+        }
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+/**
+ * Typed key to store and retrieve data in a {@linkplain FlowContext flow context} without casts.
+ * <p>
+ * Keys are compared by identity, not by name: Two keys with the same name refer to different values. Create keys once and
+ * share them as constants between the tasks of a flow:
+ * <p>
+ * {@snippet class = FlowDemo region = key}
+ *
+ * @param <T> the type of the value stored under this key
+ */
+public final class FlowKey<T> {
+
+    /**
+     * Creates a new key.
+     *
+     * @param name the name of the key, used for debugging only
+     * @param <T>  the type of the value stored under this key
+     */
+    public static <T> FlowKey<T> of(String name) {
+        return new FlowKey<>(name);
+    }
+
+    private final String name;
+
+    private FlowKey(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of this key
+     */
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
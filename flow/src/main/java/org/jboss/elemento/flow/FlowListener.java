@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+/**
+ * Listener for the execution of {@linkplain Flow flows} and their {@linkplain Task tasks}. Use this interface to find out
+ * which tasks are slow or fail.
+ * <p>
+ * Listeners are registered globally and get notified about all flows. A flow reports to the listeners which were registered
+ * when the flow has been started, listeners which are registered or removed later on only affect flows started afterwards.
+ * If no listener is registered, flows don't measure any timings. All times are in milliseconds as returned by {@code performance.now()}. Tasks are identified by their
+ * {@linkplain Task#name() name}, or by the kind of flow and the index of the task, if the task has no name.
+ * <p>
+ * {@snippet class = FlowDemo region = listener}
+ *
+ * @see PerformanceRecorder
+ */
+public interface FlowListener {
+
+    /**
+     * Registers a flow listener.
+     */
+    static void register(FlowListener listener) {
+        FlowListeners.add(listener);
+    }
+
+    /**
+     * Removes a flow listener.
+     */
+    static void unregister(FlowListener listener) {
+        FlowListeners.remove(listener);
+    }
+
+    /**
+     * Called when a flow has been started.
+     *
+     * @param flow  the kind of flow: {@code parallel}, {@code sequential}, {@code repeat} or {@code retry}
+     * @param depth the nesting depth of the flow, {@code 0} for top-level flows
+     */
+    default void flowStarted(String flow, int depth) {
+    }
+
+    /**
+     * Called when a flow has been finished.
+     *
+     * @param flow     the kind of flow: {@code parallel}, {@code sequential}, {@code repeat} or {@code retry}
+     * @param depth    the nesting depth of the flow, {@code 0} for top-level flows
+     * @param start    the start time of the flow
+     * @param duration the duration of the flow
+     * @param status   the outcome of the flow
+     */
+    default void flowFinished(String flow, int depth, double start, double duration, FlowStatus status) {
+    }
+
+    /**
+     * Called before a task is executed.
+     *
+     * @param task  the name of the task
+     * @param depth the nesting depth of the flow which executes the task
+     */
+    default void taskStarted(String task, int depth) {
+    }
+
+    /**
+     * Called when a task has been finished. Tasks of {@linkplain Cancelable#cancel() canceled} flows, which don't settle, are
+     * not reported.
+     *
+     * @param task     the name of the task
+     * @param depth    the nesting depth of the flow which executed the task
+     * @param start    the start time of the task
+     * @param duration the duration of the task
+     * @param status   the outcome of the task: {@link FlowStatus#SUCCESS}, {@link FlowStatus#FAILURE},
+     *                 {@link FlowStatus#TIMEOUT} or {@link FlowStatus#CANCELED}
+     */
+    void taskFinished(String task, int depth, double start, double duration, FlowStatus status);
+}
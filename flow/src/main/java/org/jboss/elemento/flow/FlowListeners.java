@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+// registered flow listeners, see FlowListener.register()
+// copy-on-write: flows keep the array of the listeners which were registered when they have been started
+final class FlowListeners {
+
+    private static FlowListener[] listeners = new FlowListener[0];
+
+    static FlowListener[] listeners() {
+        return listeners;
+    }
+
+    static void add(FlowListener listener) {
+        List<FlowListener> copy = new ArrayList<>(asList(listeners));
+        copy.add(listener);
+        listeners = copy.toArray(new FlowListener[0]);
+    }
+
+    static void remove(FlowListener listener) {
+        List<FlowListener> copy = new ArrayList<>(asList(listeners));
+        if (copy.remove(listener)) {
+            listeners = copy.toArray(new FlowListener[0]);
+        }
+    }
+
+    private FlowListeners() {
+    }
+}
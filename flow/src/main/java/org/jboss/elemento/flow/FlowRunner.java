@@ -15,14 +15,32 @@
  */
 package org.jboss.elemento.flow;
 
+import elemental2.dom.AbortController;
+import elemental2.dom.AbortSignal;
+import elemental2.dom.EventListener;
 import elemental2.promise.IThenable;
 import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
+
+import static elemental2.dom.DomGlobal.performance;
 
 abstract class FlowRunner<C extends FlowContext> implements Promisable<C>, Subscription<C> {
 
     static final String TIMEOUT_ERROR = "flow.timeout";
+    static final String CANCEL_ERROR = "flow.canceled";
 
     final C context;
+    boolean stopped;
+    private boolean running;
+    private int depth;
+    private double start;
+    private FlowListener[] listeners; // the listeners which were registered when the flow has been started
+    private AbortController controller;
+    private FlowRunner<?> parent;
+    private AbortSignal parentSignal;
+    private EventListener parentListener;
+    private RejectCallbackFn reject;
 
     protected FlowRunner(C context, int tasks) {
         this.context = context;
@@ -71,29 +89,198 @@ abstract class FlowRunner<C extends FlowContext> implements Promisable<C>, Subsc
         });
     }
 
+    // ------------------------------------------------------ cancelable API
+
+    @Override
+    public void cancel() {
+        stop(CANCEL_ERROR);
+    }
+
     // ------------------------------------------------------ run
 
     Promise<C> runAndCatch(boolean rejectOnError) {
         context.status = FlowStatus.IN_PROGRESS;
-        return run()
+        return promise((resolve, reject) -> {
+            begin(reject);
+            if (!stopped) {
+                run().then(c -> {
+                    resolve.onInvoke(c);
+                    return null;
+                }, error -> {
+                    reject.onInvoke(error);
+                    return null;
+                });
+            }
+        })
                 .then(c -> {
                     c.status = FlowStatus.SUCCESS;
-                    return Promise.resolve(c);
+                    end(FlowStatus.SUCCESS);
+                    return resolved(c);
                 })
                 .catch_(error -> {
-                    if (TIMEOUT_ERROR.equals(error)) {
-                        context.status = FlowStatus.TIMEOUT;
-                    } else {
-                        context.status = FlowStatus.FAILURE;
+                    FlowStatus status = status(error);
+                    context.status = status;
+                    if (status == FlowStatus.FAILURE) {
                         context.failure = String.valueOf(error);
                     }
+                    end(status);
                     if (rejectOnError) {
-                        return Promise.reject(error);
+                        return rejected(error);
                     } else {
-                        return Promise.resolve(context);
+                        return resolved(context);
                     }
                 });
     }
 
     abstract Promise<C> run();
+
+    /** Clears all pending timers. Called when the execution has been finished, has been stopped or has been canceled. */
+    abstract void cleanup();
+
+    /** The kind of flow, used to identify flows and tasks in {@linkplain FlowListener flow listeners}. */
+    abstract String kind();
+
+    /**
+     * Applies the task, so that it uses the signal of this flow and is reported to the {@linkplain FlowListener flow
+     * listeners}. Use this method to apply all tasks of a flow.
+     * <p>
+     * This flow is the runner of the context only while the task is applied. Flows which are started by the task become
+     * nested flows of this flow. Flows which are started later on, or which share the context without being started by the
+     * task, are independent of this flow.
+     *
+     * @param task  the task to apply
+     * @param index the index of the task in the flow, the iteration or the attempt
+     */
+    Promise<C> apply(Task<C> task, int index) {
+        FlowListener[] listeners = this.listeners;
+        if (listeners.length == 0) {
+            return applyAsRunner(task);
+        } else {
+            String name = task.name() != null ? task.name() : kind() + "#" + index;
+            double taskStart = now();
+            for (FlowListener listener : listeners) {
+                listener.taskStarted(name, depth);
+            }
+            return applyAsRunner(task).then(c -> {
+                taskFinished(listeners, name, taskStart, FlowStatus.SUCCESS);
+                return resolved(c);
+            }, error -> {
+                taskFinished(listeners, name, taskStart, status(error));
+                return rejected(error);
+            });
+        }
+    }
+
+    private Promise<C> applyAsRunner(Task<C> task) {
+        FlowRunner<?> runner = context.runner;
+        context.runner = this;
+        try {
+            return task.apply(context);
+        } catch (Throwable error) {
+            // a task which throws instead of returning a rejected promise must not break the flow
+            return rejected(error);
+        } finally {
+            context.runner = runner;
+        }
+    }
+
+    AbortSignal signal() {
+        return controller != null ? controller.signal : null;
+    }
+
+    /**
+     * Stops the execution: No further tasks are scheduled, timers are cleared, running tasks are aborted, and the promise is
+     * rejected with the given reason.
+     */
+    void stop(String reason) {
+        if (running && !stopped) {
+            stopped = true;
+            cleanup();
+            controller.abort(reason);
+            reject.onInvoke(reason);
+        }
+    }
+
+    private void begin(RejectCallbackFn reject) {
+        this.stopped = false;
+        this.running = true;
+        this.reject = reject;
+        this.controller = abortController();
+        // flows started while a task is applied are nested flows, which are canceled together with the enclosing flow
+        this.parent = context.runner;
+        this.depth = parent != null ? parent.depth + 1 : 0;
+        this.parentSignal = parent != null ? parent.signal() : null;
+        this.listeners = FlowListeners.listeners();
+        if (listeners.length != 0) {
+            start = now();
+            for (FlowListener listener : listeners) {
+                listener.flowStarted(kind(), depth);
+            }
+        }
+        if (parentSignal != null) {
+            if (parentSignal.aborted) {
+                stop(CANCEL_ERROR);
+            } else {
+                parentListener = __ -> stop(CANCEL_ERROR);
+                parentSignal.addEventListener("abort", parentListener);
+            }
+        }
+    }
+
+    private void end(FlowStatus status) {
+        if (running) {
+            running = false;
+            cleanup();
+            if (parentSignal != null && parentListener != null) {
+                parentSignal.removeEventListener("abort", parentListener);
+            }
+            parent = null;
+            parentSignal = null;
+            parentListener = null;
+            if (listeners.length != 0) {
+                double duration = now() - start;
+                for (FlowListener listener : listeners) {
+                    listener.flowFinished(kind(), depth, start, duration, status);
+                }
+            }
+        }
+    }
+
+    // overridden in JVM tests, where promises and abort controllers are not available
+    Promise<C> promise(PromiseExecutorCallbackFn<C> executor) {
+        return new Promise<>(executor);
+    }
+
+    Promise<C> resolved(C context) {
+        return Promise.resolve(context);
+    }
+
+    Promise<C> rejected(Object error) {
+        return Promise.reject(error);
+    }
+
+    AbortController abortController() {
+        return new AbortController();
+    }
+
+    double now() {
+        return performance.now();
+    }
+
+    private void taskFinished(FlowListener[] listeners, String name, double taskStart, FlowStatus status) {
+        double duration = now() - taskStart;
+        for (FlowListener listener : listeners) {
+            listener.taskFinished(name, depth, taskStart, duration, status);
+        }
+    }
+
+    private FlowStatus status(Object error) {
+        if (TIMEOUT_ERROR.equals(error)) {
+            return FlowStatus.TIMEOUT;
+        } else if (CANCEL_ERROR.equals(error)) {
+            return FlowStatus.CANCELED;
+        } else {
+            return FlowStatus.FAILURE;
+        }
+    }
 }
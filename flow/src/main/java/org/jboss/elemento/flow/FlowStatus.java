@@ -43,5 +43,10 @@ public enum FlowStatus {
     /**
      * The execution failed.
      */
-    FAILURE
+    FAILURE,
+
+    /**
+     * The execution has been canceled.
+     */
+    CANCELED
 }
@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import elemental2.dom.AbortController;
+import elemental2.dom.AbortSignal;
+import elemental2.dom.EventListener;
+
+/**
+ * Abort controller which is aborted together with a parent signal. Used to give each attempt of a {@linkplain Retry retry} its
+ * own signal: The signal of an attempt is aborted if the attempt runs into a timeout or if the flow is aborted.
+ */
+class LinkedAbortController {
+
+    private final AbortController controller;
+    private final AbortSignal parent;
+    private EventListener listener;
+
+    LinkedAbortController(AbortController controller, AbortSignal parent) {
+        this.controller = controller;
+        this.parent = parent;
+        if (parent != null) {
+            if (parent.aborted) {
+                controller.abort(parent.reason);
+            } else {
+                listener = __ -> {
+                    listener = null;
+                    controller.abort(parent.reason);
+                };
+                parent.addEventListener("abort", listener);
+            }
+        }
+    }
+
+    AbortSignal signal() {
+        return controller.signal;
+    }
+
+    /** Aborts the signal with the given reason and removes the link to the parent signal. */
+    void abort(Object reason) {
+        unlink();
+        if (!controller.signal.aborted) {
+            controller.abort(reason);
+        }
+    }
+
+    /** Removes the link to the parent signal. Aborting the parent signal no longer aborts this signal. */
+    void unlink() {
+        if (listener != null) {
+            parent.removeEventListener("abort", listener);
+            listener = null;
+        }
+    }
+}
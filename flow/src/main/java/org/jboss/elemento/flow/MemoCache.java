@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import elemental2.promise.Promise;
+
+/**
+ * Cache for the values of {@linkplain MemoizedTask memoized tasks}. Values are keyed by {@linkplain FlowKey typed keys}. The
+ * cache
+ * <ul>
+ * <li>shares the promise of a running operation between all callers,</li>
+ * <li>keeps resolved values for the time-to-live of the task, and</li>
+ * <li>removes failed operations, so that the next caller starts the operation again.</li>
+ * </ul>
+ */
+class MemoCache {
+
+    static final MemoCache INSTANCE = new MemoCache();
+
+    private final LongSupplier clock;
+    private final Map<FlowKey<?>, Entry<?>> entries;
+
+    MemoCache() {
+        this(System::currentTimeMillis);
+    }
+
+    MemoCache(LongSupplier clock) {
+        this.clock = clock;
+        this.entries = new HashMap<>();
+    }
+
+    /**
+     * Returns the promise of the cached value or the running operation for the given key. If there's neither, the operation is
+     * started. If the operation throws an exception, nothing is cached and the exception is passed to the caller.
+     *
+     * @param ttl the time-to-live of the value in milliseconds, a negative value caches the value until it is invalidated
+     */
+    @SuppressWarnings("unchecked")
+    <T> Promise<T> get(FlowKey<T> key, long ttl, Supplier<Promise<T>> operation) {
+        Entry<T> entry = (Entry<T>) entries.get(key);
+        if (entry != null && entry.expires >= 0 && clock.getAsLong() >= entry.expires) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            Entry<T> created = new Entry<>(operation.get());
+            entries.put(key, created);
+            created.promise.then(value -> {
+                if (entries.get(key) == created) {
+                    created.expires = ttl < 0 ? -1 : clock.getAsLong() + ttl;
+                }
+                return null;
+            }, error -> {
+                if (entries.get(key) == created) {
+                    entries.remove(key);
+                }
+                return null;
+            });
+            entry = created;
+        }
+        return entry.promise;
+    }
+
+    void invalidate(FlowKey<?> key) {
+        entries.remove(key);
+    }
+
+    void invalidateAll() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<T> {
+
+        final Promise<T> promise;
+        // -1 while the operation is running or if the value never expires
+        long expires;
+
+        Entry(Promise<T> promise) {
+            this.promise = promise;
+            this.expires = -1;
+        }
+    }
+}
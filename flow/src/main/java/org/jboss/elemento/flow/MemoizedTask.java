@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.function.Function;
+
+import elemental2.promise.Promise;
+
+/**
+ * Task which memoizes the value of an expensive operation, e.g. reading data from the server which rarely changes.
+ * <p>
+ * The value is cached under a {@linkplain FlowKey typed key} and shared between all flows which use a memoized task with the
+ * same key. If the value is requested while the operation is still running, all flows wait for the same promise. Once
+ * resolved, the value is cached for the {@linkplain #ttl(long) time-to-live} and stored in the context under the key, so that
+ * subsequent tasks can read it using {@link FlowContext#get(FlowKey)}. Failed operations are not cached. If the operation
+ * throws an exception instead of returning a rejected promise, nothing is cached either.
+ * <p>
+ * Since the operation is shared, it should not use the {@linkplain FlowContext#signal() signal} of the context: Canceling the
+ * flow which started the operation would abort the operation for all other flows as well.
+ * <p>
+ * {@snippet class = FlowDemo region = memoize}
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ * @param <T> the type of the memoized value
+ * @see Task#memoize(FlowKey, Function)
+ */
+public class MemoizedTask<C extends FlowContext, T> implements Task<C> {
+
+    /**
+     * Default time-to-live in milliseconds. {@value MemoizedTask#DEFAULT_TTL} means the value is cached until it is
+     * {@linkplain #invalidate(FlowKey) invalidated}.
+     */
+    public static final long DEFAULT_TTL = -1;
+
+    /**
+     * Removes the cached value for the given key. The next memoized task using this key executes the operation again. Flows
+     * which already wait for a running operation still get its value.
+     */
+    public static void invalidate(FlowKey<?> key) {
+        MemoCache.INSTANCE.invalidate(key);
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public static void invalidateAll() {
+        MemoCache.INSTANCE.invalidateAll();
+    }
+
+    private final FlowKey<T> key;
+    private final Function<C, Promise<T>> operation;
+    private final MemoCache cache;
+    private long ttl;
+
+    MemoizedTask(FlowKey<T> key, Function<C, Promise<T>> operation) {
+        this(key, operation, MemoCache.INSTANCE);
+    }
+
+    MemoizedTask(FlowKey<T> key, Function<C, Promise<T>> operation, MemoCache cache) {
+        this.key = key;
+        this.operation = operation;
+        this.cache = cache;
+        this.ttl = DEFAULT_TTL;
+    }
+
+    // ------------------------------------------------------ api
+
+    /**
+     * The time-to-live in milliseconds of the cached value. Defaults to {@value MemoizedTask#DEFAULT_TTL}, which caches the
+     * value until it is {@linkplain #invalidate(FlowKey) invalidated}.
+     */
+    public MemoizedTask<C, T> ttl(long ttl) {
+        this.ttl = ttl;
+        return this;
+    }
+
+    @Override
+    public Promise<C> apply(C context) {
+        return cache.get(key, ttl, () -> operation.apply(context)).then(value -> context.resolve(key, value));
+    }
+
+    @Override
+    public String name() {
+        return key.name();
+    }
+}
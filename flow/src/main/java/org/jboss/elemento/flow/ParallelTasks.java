@@ -136,9 +136,18 @@ public class ParallelTasks<C extends FlowContext> implements Task<C> {
     @Override
     public Promise<C> apply(C context) {
         C contextToUse = this.context != null ? this.context : context;
-        return parallel(contextToUse, tasks)
-                .failFast(failFast)
-                .timeout(timeout)
-                .promise();
+        FlowRunner<?> runner = contextToUse.runner;
+        if (contextToUse != context) {
+            // cancel the nested flow together with the enclosing flow
+            contextToUse.runner = context.runner;
+        }
+        try {
+            return parallel(contextToUse, tasks)
+                    .failFast(failFast)
+                    .timeout(timeout)
+                    .promise();
+        } finally {
+            contextToUse.runner = runner;
+        }
     }
 }
@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import elemental2.dom.PerformanceMeasureOptions;
+import jsinterop.base.JsPropertyMap;
+
+import static elemental2.dom.DomGlobal.performance;
+
+/**
+ * Flow listener which records flows and tasks as entries of the
+ * <a href="https://developer.mozilla.org/docs/Web/API/Performance_API/User_timing">User Timing API</a>. The entries show up
+ * in the performance panel of the browser's developer tools.
+ * <p>
+ * The recorder adds a measure when a flow or a task has been finished. The names of the measures start with a prefix which
+ * defaults to {@value #DEFAULT_PREFIX}. The nesting depth and the outcome are stored in the {@code detail} property of the
+ * measures. The browser keeps the measures until they're removed using {@code performance.clearMeasures()}.
+ * <p>
+ * {@snippet class = FlowDemo region = listener}
+ */
+public class PerformanceRecorder implements FlowListener {
+
+    /**
+     * The default prefix for the names of the performance entries.
+     */
+    public static final String DEFAULT_PREFIX = "flow:";
+
+    private final String prefix;
+
+    /**
+     * Creates a new recorder using the {@linkplain #DEFAULT_PREFIX default prefix}.
+     */
+    public PerformanceRecorder() {
+        this(DEFAULT_PREFIX);
+    }
+
+    /**
+     * Creates a new recorder using the given prefix for the names of the performance entries.
+     */
+    public PerformanceRecorder(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public void flowFinished(String flow, int depth, double start, double duration, FlowStatus status) {
+        measure(flow, depth, start, duration, status);
+    }
+
+    @Override
+    public void taskFinished(String task, int depth, double start, double duration, FlowStatus status) {
+        measure(task, depth, start, duration, status);
+    }
+
+    private void measure(String name, int depth, double start, double duration, FlowStatus status) {
+        PerformanceMeasureOptions options = PerformanceMeasureOptions.create();
+        options.setStart(start);
+        options.setDuration(duration);
+        options.setDetail(JsPropertyMap.of("depth", depth, "status", status.name()));
+        performance.measure(prefix + name, options);
+    }
+}
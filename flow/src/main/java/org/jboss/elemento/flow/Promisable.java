@@ -30,7 +30,7 @@ import elemental2.promise.Promise.FinallyOnFinallyCallbackFn;
  *
  * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
  */
-public interface Promisable<C extends FlowContext> {
+public interface Promisable<C extends FlowContext> extends Cancelable {
 
     <V> Promise<V> then(ThenOnFulfilledCallbackFn<? super C, ? extends V> onFulfilled);
 
@@ -90,7 +90,7 @@ class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<
     @Override
     Promise<C> run() {
         return new Promise<>((resolve, reject) -> {
-            timeoutHandle = setTimeout(__ -> cancel(reject, TIMEOUT_ERROR), timeout);
+            timeoutHandle = setTimeout(__ -> stop(TIMEOUT_ERROR), timeout);
             if (!predicate.test(context)) {
                 finish(resolve, context);
             }
@@ -99,18 +99,20 @@ class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<
     }
 
     private void until(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
-        if (!finished) {
+        if (!finished && !stopped) {
             if (failFast && lastFailure != null) {
-                cancel(reject, lastFailure);
+                fail(reject, lastFailure);
             } else {
-                task.apply(context)
+                apply(task, index + 1)
                         .then(c -> {
+                            if (finished || stopped) {
+                                return null;
+                            }
                             index++;
                             c.progress.tick();
                             if (areWeDone(c)) {
                                 finish(resolve, c);
-                            }
-                            if (interval != 0) {
+                            } else if (interval != 0) {
                                 intervalHandle = setTimeout(__ -> until(resolve, reject), interval);
                             } else {
                                 until(resolve, reject);
@@ -118,9 +120,12 @@ class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<
                             return null;
                         })
                         .catch_(error -> {
+                            if (finished || stopped) {
+                                return null;
+                            }
                             lastFailure = String.valueOf(error);
                             if (failFast) {
-                                cancel(reject, lastFailure);
+                                fail(reject, lastFailure);
                             }
                             return null;
                         });
@@ -145,12 +150,19 @@ class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<
         resolve.onInvoke(context);
     }
 
-    private void cancel(RejectCallbackFn reject, String reason) {
+    private void fail(RejectCallbackFn reject, String reason) {
+        finished = true;
         cleanup();
         reject.onInvoke(reason);
     }
 
-    private void cleanup() {
+    @Override
+    String kind() {
+        return "repeat";
+    }
+
+    @Override
+    void cleanup() {
         clearTimeout(intervalHandle);
         clearTimeout(timeoutHandle);
     }
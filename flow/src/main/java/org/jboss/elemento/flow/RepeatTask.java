@@ -124,12 +124,21 @@ public class RepeatTask<C extends FlowContext> implements Task<C> {
     @Override
     public Promise<C> apply(C context) {
         C contextToUse = this.context != null ? this.context : context;
-        return repeat(contextToUse, task)
-                .while_(predicate)
-                .failFast(failFast)
-                .interval(interval)
-                .timeout(timeout)
-                .iterations(iterations)
-                .promise();
+        FlowRunner<?> runner = contextToUse.runner;
+        if (contextToUse != context) {
+            // cancel the nested flow together with the enclosing flow
+            contextToUse.runner = context.runner;
+        }
+        try {
+            return repeat(contextToUse, task)
+                    .while_(predicate)
+                    .failFast(failFast)
+                    .interval(interval)
+                    .timeout(timeout)
+                    .iterations(iterations)
+                    .promise();
+        } finally {
+            contextToUse.runner = runner;
+        }
     }
 }
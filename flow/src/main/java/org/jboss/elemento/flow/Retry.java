@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.function.Predicate;
+
+/**
+ * An interface to control the {@linkplain Flow#retry(FlowContext, Task) retried} execution of an
+ * {@linkplain Task asynchronous task}.
+ * <p>
+ * If the task fails, it is executed again after a delay, which grows exponentially with each attempt:
+ * {@code delay * 2^(attempt - 1)}, but not more than {@code maxDelay}. By default, the delay is randomized between zero and the
+ * computed value ("full jitter"). This spreads the retries of many clients over time, e.g., when they all reconnect after a
+ * backend restart.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between the attempts
+ */
+public interface Retry<C extends FlowContext> extends Promisable<C>, Subscription<C> {
+
+    /**
+     * By default, the task is executed at most three times.
+     */
+    int DEFAULT_ATTEMPTS = 3;
+
+    /**
+     * By default, the delay before the first retry is 200 milliseconds.
+     */
+    long DEFAULT_DELAY = 200;
+
+    /**
+     * By default, the delay between two attempts is at most 10 seconds.
+     */
+    long DEFAULT_MAX_DELAY = 10_000;
+
+    /**
+     * By default, the delays are randomized.
+     */
+    boolean DEFAULT_JITTER = true;
+
+    /**
+     * By default, no timeout is used for an attempt.
+     */
+    long DEFAULT_ATTEMPT_TIMEOUT = -1;
+
+    /**
+     * The maximal number of attempts including the first one. Defaults to {@value Retry#DEFAULT_ATTEMPTS}.
+     */
+    Retry<C> attempts(int attempts);
+
+    /**
+     * The delay in milliseconds before the first retry. The delay is doubled for each further retry. Defaults to
+     * {@value Retry#DEFAULT_DELAY} milliseconds.
+     */
+    Retry<C> delay(long delay);
+
+    /**
+     * The maximal delay in milliseconds between two attempts. Defaults to {@value Retry#DEFAULT_MAX_DELAY} milliseconds.
+     */
+    Retry<C> maxDelay(long maxDelay);
+
+    /**
+     * Whether to randomize the delay between zero and the computed delay. Defaults to {@value Retry#DEFAULT_JITTER}.
+     */
+    Retry<C> jitter(boolean jitter);
+
+    /**
+     * The task is retried only if the given predicate evaluates to {@code true} for the error of the failed attempt. Errors of
+     * attempts which ran into a timeout can be detected using {@link FlowContext#isTimeout(Object)}. Defaults to a predicate
+     * which always returns {@code true}.
+     */
+    Retry<C> retryIf(Predicate<Object> predicate);
+
+    /**
+     * The timeout in milliseconds for a single attempt. An attempt which runs into a timeout counts as failed attempt, and its
+     * result is ignored if it arrives later. Each attempt has its own {@linkplain FlowContext#signal() signal}, which is
+     * aborted when the attempt runs into a timeout. Defaults to no timeout ({@value Retry#DEFAULT_ATTEMPT_TIMEOUT}).
+     */
+    Retry<C> attemptTimeout(long timeout);
+}
@@ -0,0 +1,193 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.Predicate;
+
+import elemental2.dom.AbortSignal;
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+class RetryImpl<C extends FlowContext> extends FlowRunner<C> implements Retry<C> {
+
+    private final Task<C> task;
+    private final Timers timers;
+    private final DoubleSupplier random;
+    private int attempts;
+    private long delay;
+    private long maxDelay;
+    private boolean jitter;
+    private Predicate<Object> predicate;
+    private long attemptTimeout;
+    private int attempt;
+    private LinkedAbortController attemptController; // of the pending attempt, null if there's no pending attempt
+    private double delayHandle;
+    private double attemptTimeoutHandle;
+
+    RetryImpl(C context, Task<C> task) {
+        this(context, task, Timers.BROWSER, Math::random);
+    }
+
+    RetryImpl(C context, Task<C> task, Timers timers, DoubleSupplier random) {
+        super(context, 1);
+        this.task = task;
+        this.timers = timers;
+        this.random = random;
+        this.attempts = DEFAULT_ATTEMPTS;
+        this.delay = DEFAULT_DELAY;
+        this.maxDelay = DEFAULT_MAX_DELAY;
+        this.jitter = DEFAULT_JITTER;
+        this.predicate = __ -> true;
+        this.attemptTimeout = DEFAULT_ATTEMPT_TIMEOUT;
+        this.attempt = 0;
+        this.attemptController = null;
+        this.delayHandle = 0;
+        this.attemptTimeoutHandle = 0;
+    }
+
+    // ------------------------------------------------------ retry API
+
+    @Override
+    public Retry<C> attempts(int attempts) {
+        this.attempts = attempts;
+        return this;
+    }
+
+    @Override
+    public Retry<C> delay(long delay) {
+        this.delay = delay;
+        return this;
+    }
+
+    @Override
+    public Retry<C> maxDelay(long maxDelay) {
+        this.maxDelay = maxDelay;
+        return this;
+    }
+
+    @Override
+    public Retry<C> jitter(boolean jitter) {
+        this.jitter = jitter;
+        return this;
+    }
+
+    @Override
+    public Retry<C> retryIf(Predicate<Object> predicate) {
+        this.predicate = predicate;
+        return this;
+    }
+
+    @Override
+    public Retry<C> attemptTimeout(long timeout) {
+        this.attemptTimeout = timeout;
+        return this;
+    }
+
+    // ------------------------------------------------------ run
+
+    @Override
+    Promise<C> run() {
+        attempt = 0;
+        return promise((resolve, reject) -> next(resolve, reject));
+    }
+
+    private void next(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        if (!stopped) {
+            int current = ++attempt;
+            // each attempt gets its own signal, which is aborted on attempt timeout and together with the signal of the flow
+            attemptController = new LinkedAbortController(abortController(), super.signal());
+            if (attemptTimeout > 0) {
+                attemptTimeoutHandle = timers.setTimeout(() -> {
+                    if (pending(current)) {
+                        attemptController.abort(TIMEOUT_ERROR);
+                        failed(resolve, reject, current, TIMEOUT_ERROR);
+                    }
+                }, attemptTimeout);
+            }
+            apply(task, current).then(c -> {
+                if (pending(current)) {
+                    settle();
+                    c.progress.finish();
+                    resolve.onInvoke(c);
+                }
+                return null;
+            }, error -> {
+                failed(resolve, reject, current, error);
+                return null;
+            });
+        }
+    }
+
+    private void failed(ResolveCallbackFn<C> resolve, RejectCallbackFn reject, int failedAttempt, Object error) {
+        // ignore results of attempts which already ran into a timeout
+        if (pending(failedAttempt)) {
+            settle();
+            if (attempt < attempts && predicate.test(error)) {
+                context.progress.tick();
+                delayHandle = timers.setTimeout(() -> next(resolve, reject), backoff(attempt));
+            } else {
+                reject.onInvoke(error);
+            }
+        }
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    /** Whether the given attempt is the current attempt and has neither succeeded, failed nor run into a timeout. */
+    private boolean pending(int attempt) {
+        return !stopped && attempt == this.attempt && attemptController != null;
+    }
+
+    private void settle() {
+        clearTimeout(attemptTimeoutHandle);
+        attemptTimeoutHandle = 0;
+        attemptController.unlink();
+        attemptController = null;
+    }
+
+    /** Returns the signal of the pending attempt, so that tasks and nested flows are aborted if the attempt times out. */
+    @Override
+    AbortSignal signal() {
+        return attemptController != null ? attemptController.signal() : super.signal();
+    }
+
+    /** Returns the delay after the given attempt using exponential backoff and optional full jitter. */
+    double backoff(int attempt) {
+        double computed = Math.min(maxDelay, delay * Math.pow(2, attempt - 1));
+        return jitter ? random.getAsDouble() * computed : computed;
+    }
+
+    @Override
+    String kind() {
+        return "retry";
+    }
+
+    @Override
+    void cleanup() {
+        clearTimeout(delayHandle);
+        clearTimeout(attemptTimeoutHandle);
+        delayHandle = 0;
+        attemptTimeoutHandle = 0;
+    }
+
+    private void clearTimeout(double handle) {
+        if (handle != 0) {
+            timers.clearTimeout(handle);
+        }
+    }
+}
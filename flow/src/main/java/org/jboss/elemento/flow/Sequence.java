@@ -35,6 +35,11 @@ public interface Sequence<C extends FlowContext> extends Promisable<C>, Subscrip
      */
     long DEFAULT_TIMEOUT = -1;
 
+    /**
+     * By default, parallel flows execute all {@linkplain Task tasks} at once.
+     */
+    int DEFAULT_CONCURRENCY = -1;
+
     /**
      * Whether the execution of {@linkplain Task tasks} should fail fast or fail last. Defaults to {@value DEFAULT_FAIL_FAST}.
      */
@@ -47,4 +52,15 @@ public interface Sequence<C extends FlowContext> extends Promisable<C>, Subscrip
      * does not provide a method to cancel running promises.
      */
     Sequence<C> timeout(long timeout);
+
+    /**
+     * The maximal number of {@linkplain Task tasks} executed at the same time. A new task is started as soon as a running task
+     * has finished. Values less than or equal to zero mean no limit. Defaults to no limit ({@value #DEFAULT_CONCURRENCY}).
+     * <p>
+     * Please note that this only applies to parallel flows. Use this to start many tasks like REST calls without exceeding the
+     * connection limit of the browser.
+     * <p>
+     * {@snippet class = FlowDemo region = concurrency}
+     */
+    Sequence<C> concurrency(int concurrency);
 }
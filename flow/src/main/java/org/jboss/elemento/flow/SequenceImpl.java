@@ -36,8 +36,11 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
     private final Iterator<Task<C>> iterator;
     private boolean failFast;
     private long timeout;
+    private int concurrency;
+    private int started;
+    private int settled;
+    private boolean failed;
     private double timeoutHandle;
-    private boolean timedOut;
 
     SequenceImpl(Mode mode, C context, List<Task<C>> tasks) {
         super(context, tasks.size());
@@ -46,8 +49,8 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
         this.iterator = tasks.iterator();
         this.failFast = DEFAULT_FAIL_FAST;
         this.timeout = DEFAULT_TIMEOUT;
+        this.concurrency = DEFAULT_CONCURRENCY;
         this.timeoutHandle = 0;
-        this.timedOut = false;
     }
 
     // ------------------------------------------------------ sequence API
@@ -64,16 +67,22 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
         return this;
     }
 
+    @Override
+    public Sequence<C> concurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
     // ------------------------------------------------------ run
 
     @Override
     Promise<C> run() {
         if (tasks.isEmpty()) {
-            return Promise.resolve(context);
+            return resolved(context);
         } else {
             switch (mode) {
                 case PARALLEL:
-                    return parallel();
+                    return concurrency > 0 && concurrency < tasks.size() ? bounded() : parallel();
                 case SEQUENTIAL:
                     return sequential();
                 default:
@@ -86,78 +95,133 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
 
     @SuppressWarnings("unchecked")
     private Promise<C> parallel() {
-        Promise<C>[] promises = tasks.stream()
-                .map(task -> task.apply(context).then(c -> {
+        Promise<C>[] promises = new Promise[tasks.size()];
+        for (int i = 0; i < promises.length; i++) {
+            promises[i] = apply(tasks.get(i), i + 1).then(c -> {
+                if (!stopped) {
                     context.progress.tick();
-                    return Promise.resolve(c);
-                }))
-                .toArray(Promise[]::new);
+                }
+                return resolved(c);
+            });
+        }
         if (failFast) {
             return FlowPromise.all(promises).then(__ -> {
                 context.progress.finish();
-                return Promise.resolve(context);
+                return resolved(context);
             });
         } else {
             return FlowPromise.allSettled(promises).then(__ -> {
                 context.progress.finish();
-                return Promise.resolve(context);
+                return resolved(context);
             });
         }
     }
 
+    // ------------------------------------------------------ run parallel with bounded concurrency
+
+    private Promise<C> bounded() {
+        return promise((resolve, reject) -> {
+            for (int i = 0; i < concurrency && !failed && !stopped; i++) {
+                startNext(resolve, reject);
+            }
+        }).then(c -> {
+            context.progress.finish();
+            return resolved(context);
+        });
+    }
+
+    private void startNext(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        // each task settles exactly once, no matter what happens in the callbacks of the other tasks
+        boolean[] done = new boolean[1];
+        apply(iterator.next(), ++started).then(c -> {
+            if (!done[0] && !stopped) {
+                done[0] = true;
+                context.progress.tick();
+                settle(resolve, reject);
+            }
+            return null;
+        }, error -> {
+            if (!done[0] && !stopped) {
+                done[0] = true;
+                if (failFast) {
+                    // like Promise.all(): reject once and don't start any further tasks
+                    if (!failed) {
+                        failed = true;
+                        reject.onInvoke(error);
+                    }
+                } else {
+                    settle(resolve, reject);
+                }
+            }
+            return null;
+        });
+    }
+
+    private void settle(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        if (!failed) {
+            settled++;
+            if (iterator.hasNext()) {
+                startNext(resolve, reject);
+            } else if (settled == tasks.size()) {
+                resolve.onInvoke(context);
+            }
+        }
+    }
+
     // ------------------------------------------------------ run sequential
 
     private Promise<C> sequential() {
-        return new Promise<C>((resolve, reject) -> {
+        return promise((resolve, reject) -> {
             if (timeout > 0) {
-                timeoutHandle = setTimeout(__ -> rejectWithTimeout(reject), timeout);
+                timeoutHandle = setTimeout(__ -> stop(TIMEOUT_ERROR), timeout);
             }
             next(resolve, reject);
         }).then(c -> {
             context.progress.finish();
-            return Promise.resolve(context);
-        }).catch_(Promise::reject);
+            return resolved(context);
+        });
     }
 
     private void next(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
-        if (timedOut) {
-            reject.onInvoke(TIMEOUT_ERROR);
-        } else {
-            iterator.next().apply(context)
-                    .then(c -> {
-                        if (timedOut) {
-                            reject.onInvoke(TIMEOUT_ERROR);
-                        } else {
-                            if (iterator.hasNext()) {
-                                c.progress.tick();
-                                next(resolve, reject);
-                            } else {
-                                resolve.onInvoke(c);
-                            }
-                        }
-                        return null;
-                    })
-                    .catch_(error -> {
-                        if (failFast) {
-                            reject.onInvoke(error);
-                        } else {
-                            if (iterator.hasNext()) {
-                                context.progress.tick();
-                                next(resolve, reject);
-                            } else {
-                                resolve.onInvoke(context);
-                            }
-                        }
-                        return null;
-                    });
+        if (!stopped) {
+            apply(iterator.next(), ++started).then(c -> {
+                if (!stopped) {
+                    if (iterator.hasNext()) {
+                        c.progress.tick();
+                        next(resolve, reject);
+                    } else {
+                        resolve.onInvoke(c);
+                    }
+                }
+                return null;
+            }, error -> {
+                if (!stopped) {
+                    if (failFast) {
+                        reject.onInvoke(error);
+                    } else if (iterator.hasNext()) {
+                        context.progress.tick();
+                        next(resolve, reject);
+                    } else {
+                        resolve.onInvoke(context);
+                    }
+                }
+                return null;
+            });
         }
     }
 
     // ------------------------------------------------------ helper methods
 
-    private void rejectWithTimeout(RejectCallbackFn reject) {
-        clearTimeout(timeoutHandle);
-        timedOut = true;
-        reject.onInvoke(TIMEOUT_ERROR);
+    @Override
+    String kind() {
+        return mode == Mode.PARALLEL ? "parallel" : "sequential";
+    }
+
+    @Override
+    void cleanup() {
+        if (timeoutHandle != 0) {
+            clearTimeout(timeoutHandle);
+            timeoutHandle = 0;
+        }
     }
 }
@@ -137,9 +137,18 @@ public class SequentialTasks<C extends FlowContext> implements Task<C> {
     @Override
     public Promise<C> apply(C context) {
         C contextToUse = this.context != null ? this.context : context;
-        return sequential(contextToUse, tasks)
-                .failFast(failFast)
-                .timeout(timeout)
-                .promise();
+        FlowRunner<?> runner = contextToUse.runner;
+        if (contextToUse != context) {
+            // cancel the nested flow together with the enclosing flow
+            contextToUse.runner = context.runner;
+        }
+        try {
+            return sequential(contextToUse, tasks)
+                    .failFast(failFast)
+                    .timeout(timeout)
+                    .promise();
+        } finally {
+            contextToUse.runner = runner;
+        }
     }
 }
@@ -27,7 +27,7 @@ package org.jboss.elemento.flow;
  *
  * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
  */
-public interface Subscription<C extends FlowContext> {
+public interface Subscription<C extends FlowContext> extends Cancelable {
 
     /**
      * Subscribes to the outcome of the execution of {@linkplain Task asynchronous tasks}.
@@ -15,6 +15,8 @@
  */
 package org.jboss.elemento.flow;
 
+import java.util.function.Function;
+
 import elemental2.promise.Promise;
 
 /**
@@ -39,4 +41,47 @@ public interface Task<C extends FlowContext> {
      * @return a promise containing the shared context
      */
     Promise<C> apply(C context);
+
+    /**
+     * Returns the name of the task used by {@linkplain FlowListener flow listeners}. Defaults to {@code null}, in which case the
+     * listeners get the kind of the flow and the index of the task, e.g. {@code sequential#3}.
+     */
+    default String name() {
+        return null;
+    }
+
+    /**
+     * Returns a task with the given name, which delegates to the given task. Use this method to identify tasks in
+     * {@linkplain FlowListener flow listeners}.
+     *
+     * @param name the name of the task
+     * @param task the task to delegate to
+     * @param <C>  the type of the context shared between tasks
+     */
+    static <C extends FlowContext> Task<C> named(String name, Task<C> task) {
+        return new Task<C>() {
+            @Override
+            public Promise<C> apply(C context) {
+                return task.apply(context);
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+
+    /**
+     * Returns a task which memoizes the value of the given operation under the given key. The value is shared between all flows
+     * using a memoized task with the same key and stored in the context under that key. See {@link MemoizedTask} for details.
+     *
+     * @param key       the key used to cache the value and to store it in the context
+     * @param operation the operation which computes the value
+     * @param <C>       the type of the context shared between tasks
+     * @param <T>       the type of the memoized value
+     */
+    static <C extends FlowContext, T> MemoizedTask<C, T> memoize(FlowKey<T> key, Function<C, Promise<T>> operation) {
+        return new MemoizedTask<>(key, operation);
+    }
 }
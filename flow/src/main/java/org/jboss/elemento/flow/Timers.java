@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import elemental2.dom.DomGlobal;
+
+/** Timers used by flows. Replaced in JVM tests, where JavaScript's timers are not available. */
+interface Timers {
+
+    Timers BROWSER = new Timers() {
+        @Override
+        public double setTimeout(Runnable callback, double delay) {
+            return DomGlobal.setTimeout(__ -> callback.run(), delay);
+        }
+
+        @Override
+        public void clearTimeout(double handle) {
+            DomGlobal.clearTimeout(handle);
+        }
+    };
+
+    /** Runs the callback after the given delay in milliseconds and returns a handle, which is never zero. */
+    double setTimeout(Runnable callback, double delay);
+
+    void clearTimeout(double handle);
+}
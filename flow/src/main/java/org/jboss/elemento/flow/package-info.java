@@ -83,6 +83,26 @@
  *         .subscribe(context -> console.log("Current time: " + context.pop("n/a")));
  * }
  *
+ * <h2>Retried Execution</h2>
+ * <p>
+ * Retry a failed task with exponential backoff and jitter using {@link org.jboss.elemento.flow.Flow#retry(FlowContext, Task)}:
+ *
+ * {@snippet :
+ * import static org.jboss.elemento.flow.Flow.retry;
+ *
+ * Task<FlowContext> currentTime = context -> fetch("https://worldtimeapi.org/api/timezone/Europe/Berlin")
+ *         .then(Response::json)
+ *         .then(json -> Promise.resolve(Js.<JsPropertyMap<String>>cast(json).get("datetime").substring(11, 23)))
+ *         .then(context::resolve);
+ *
+ * // try at most 5 times, wait 500 ms, 1 s, 2 s, 4 s (randomized) between the attempts
+ * retry(new FlowContext(), currentTime)
+ *         .attempts(5)
+ *         .delay(500)
+ *         .attemptTimeout(2_000)
+ *         .subscribe(context -> console.log("Current time: " + context.pop("n/a")));
+ * }
+ *
  * <h2>Flow Context</h2>
  * <p>
  * The {@link org.jboss.elemento.flow.FlowContext} serves as a shared data structure between tasks, providing:
@@ -91,6 +111,8 @@
  * {@link org.jboss.elemento.flow.FlowContext#pop()}
  * <li>A <strong>map</strong> for named data storage using {@link org.jboss.elemento.flow.FlowContext#set(String, Object)} and
  * {@link org.jboss.elemento.flow.FlowContext#get(String)}
+ * <li>A <strong>map</strong> for typed data storage using {@link org.jboss.elemento.flow.FlowKey} and
+ * {@link org.jboss.elemento.flow.FlowContext#set(FlowKey, Object)} and {@link org.jboss.elemento.flow.FlowContext#get(FlowKey)}
  * <li><strong>Progress tracking</strong> via {@link org.jboss.elemento.flow.Progress}
  * <li><strong>Status information</strong> about execution success, failure, or timeout
  * </ul>
@@ -110,16 +132,21 @@
  * };
  * }
  *
+ * <p>
+ * Use {@link org.jboss.elemento.flow.Task#memoize(FlowKey, java.util.function.Function)} to share the value of an expensive
+ * task between flows. See {@link org.jboss.elemento.flow.MemoizedTask} for details.
+ *
  * <h2>Control Options</h2>
  * <p>
- * Both {@link org.jboss.elemento.flow.Sequence} (for parallel/sequential) and {@link org.jboss.elemento.flow.Repeat} provide
- * control options:
+ * {@link org.jboss.elemento.flow.Sequence} (for parallel/sequential), {@link org.jboss.elemento.flow.Repeat} and
+ * {@link org.jboss.elemento.flow.Retry} provide control options:
  * <ul>
  * <li><strong>Fail fast vs. fail last</strong> - Control whether execution stops on first failure or continues
  * <li><strong>Timeout</strong> - Set maximum execution time (sequential and repeat only)
  * <li><strong>Interval</strong> - Set delay between iterations (repeat only)
  * <li><strong>Iterations</strong> - Set maximum number of iterations (repeat only)
  * <li><strong>While predicate</strong> - Continue while condition is true (repeat only)
+ * <li><strong>Attempts, backoff and retry predicate</strong> - Control how often and when a failed task is retried (retry only)
  * </ul>
  *
  * <h2>Subscription</h2>
@@ -139,10 +166,21 @@
  *         });
  * }
  *
+ * <h2>Tracing</h2>
+ * <p>
+ * Register a {@link org.jboss.elemento.flow.FlowListener} to get notified when flows and tasks start and finish.
+ * {@link org.jboss.elemento.flow.PerformanceRecorder} records flows and tasks using the User Timing API:
+ *
+ * {@snippet :
+ * FlowListener.register(new PerformanceRecorder());
+ * }
+ *
  * @see org.jboss.elemento.flow.Flow
  * @see org.jboss.elemento.flow.Task
  * @see org.jboss.elemento.flow.FlowContext
  * @see org.jboss.elemento.flow.Sequence
  * @see org.jboss.elemento.flow.Repeat
+ * @see org.jboss.elemento.flow.Retry
+ * @see org.jboss.elemento.flow.FlowListener
  */
 package org.jboss.elemento.flow;
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.EmptyStackException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlowContextTest {
+
+    @Test
+    void stackGrowth() {
+        FlowContext context = new FlowContext();
+        assertEquals(0, context.stack.length);
+        for (int i = 0; i < 8; i++) {
+            context.push(i);
+        }
+        assertEquals(8, context.stack.length);
+        for (int i = 8; i < 20; i++) {
+            context.push(i);
+        }
+        assertEquals(32, context.stack.length);
+        for (int i = 19; i >= 0; i--) {
+            assertEquals(i, (int) context.peek());
+            assertEquals(i, (int) context.pop());
+        }
+        assertTrue(context.isStackEmpty());
+    }
+
+    @Test
+    void popClearsSlot() {
+        FlowContext context = new FlowContext();
+        context.push("a");
+        context.push("b");
+
+        assertEquals("b", context.pop());
+        assertNull(context.stack[1]);
+        assertEquals("a", context.stack[0]);
+    }
+
+    @Test
+    void emptyStack() {
+        FlowContext context = new FlowContext();
+        assertThrows(EmptyStackException.class, context::peek);
+        assertThrows(EmptyStackException.class, context::pop);
+        assertEquals("default", context.pop("default"));
+
+        context.push("a");
+        context.pop();
+        assertThrows(EmptyStackException.class, context::pop);
+    }
+
+    @Test
+    void flowKeys() {
+        FlowContext context = new FlowContext();
+        FlowKey<String> key = FlowKey.of("name");
+        FlowKey<String> sameName = FlowKey.of("name");
+        context.set(key, "value");
+
+        // keys are compared by identity, not by name
+        assertEquals("value", context.get(key));
+        assertNull(context.get(sameName));
+        assertEquals("default", context.get(sameName, "default"));
+        // typed keys and string keys don't interfere
+        assertNull(context.get("name"));
+        assertTrue(context.keys().isEmpty());
+    }
+}
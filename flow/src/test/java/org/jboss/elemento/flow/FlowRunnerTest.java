@@ -0,0 +1,319 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import elemental2.dom.AbortSignal;
+
+import static java.util.Arrays.asList;
+import static org.jboss.elemento.flow.FlowRunner.CANCEL_ERROR;
+import static org.jboss.elemento.flow.FlowRunner.TIMEOUT_ERROR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlowRunnerTest {
+
+    private TestContext context;
+    private List<AbortSignal> signals;
+    private List<TestPromise<TestContext>> tasks;
+    private List<FlowListener> registered;
+
+    @BeforeEach
+    void setUp() {
+        context = new TestContext();
+        signals = new ArrayList<>();
+        tasks = new ArrayList<>();
+        registered = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (FlowListener listener : registered) {
+            FlowListener.unregister(listener);
+        }
+    }
+
+    @Test
+    void success() {
+        TestFlow flow = new TestFlow(context, this::pending);
+        TestPromise<TestContext> result = (TestPromise<TestContext>) flow.promise();
+        assertEquals(FlowStatus.IN_PROGRESS, context.status());
+
+        tasks.get(0).fulfill(context);
+        assertTrue(result.fulfilled());
+        assertTrue(context.isSuccessful());
+        assertFalse(signals.get(0).aborted);
+        assertTrue(flow.cleanedUp);
+        assertNull(context.signal());
+    }
+
+    @Test
+    void cancel() {
+        TestFlow flow = new TestFlow(context, this::pending);
+        TestPromise<TestContext> result = (TestPromise<TestContext>) flow.promise();
+
+        flow.cancel();
+        assertTrue(result.rejected());
+        assertEquals(CANCEL_ERROR, result.result());
+        assertTrue(context.isCanceled());
+        assertTrue(signals.get(0).aborted);
+        assertEquals(CANCEL_ERROR, signals.get(0).reason);
+        assertTrue(flow.cleanedUp);
+
+        // the result of the aborted task is ignored
+        tasks.get(0).fulfill(context);
+        assertTrue(result.rejected());
+        assertTrue(context.isCanceled());
+    }
+
+    @Test
+    void cancelSubscription() {
+        TestFlow flow = new TestFlow(context, this::pending);
+        List<TestContext> finished = new ArrayList<>();
+        flow.subscribe(finished::add);
+
+        flow.cancel();
+        assertEquals(1, finished.size());
+        assertTrue(finished.get(0).isCanceled());
+    }
+
+    @Test
+    void timeout() {
+        TestFlow flow = new TestFlow(context, this::pending);
+        TestPromise<TestContext> result = (TestPromise<TestContext>) flow.promise();
+
+        flow.stop(TIMEOUT_ERROR);
+        assertTrue(result.rejected());
+        assertTrue(FlowContext.isTimeout(result.result()));
+        assertTrue(context.isTimeout());
+        assertTrue(signals.get(0).aborted);
+        assertEquals(TIMEOUT_ERROR, signals.get(0).reason);
+    }
+
+    @Test
+    void cancelFinished() {
+        TestFlow flow = new TestFlow(context, this::pending);
+        flow.promise();
+        tasks.get(0).fulfill(context);
+
+        flow.cancel();
+        assertTrue(context.isSuccessful());
+        assertFalse(signals.get(0).aborted);
+    }
+
+    @Test
+    void failure() {
+        TestFlow flow = new TestFlow(context, this::pending);
+        TestPromise<TestContext> result = (TestPromise<TestContext>) flow.promise();
+
+        tasks.get(0).fail("error");
+        assertTrue(result.rejected());
+        assertTrue(context.failure());
+        assertEquals("error", context.failureReason());
+        assertFalse(signals.get(0).aborted);
+    }
+
+    @Test
+    void cancelNested() {
+        List<TestFlow> nested = new ArrayList<>();
+        TestFlow outer = new TestFlow(context, c -> {
+            signals.add(c.signal());
+            TestFlow inner = new TestFlow(c, this::pending);
+            nested.add(inner);
+            return inner.promise();
+        });
+        outer.promise();
+        AbortSignal outerSignal = signals.get(0);
+        AbortSignal innerSignal = signals.get(1);
+        assertNotSame(outerSignal, innerSignal);
+
+        outer.cancel();
+        assertTrue(outerSignal.aborted);
+        assertTrue(innerSignal.aborted);
+        assertTrue(nested.get(0).cleanedUp);
+        assertTrue(context.isCanceled());
+    }
+
+    @Test
+    void cancelInner() {
+        List<TestFlow> nested = new ArrayList<>();
+        TestFlow outer = new TestFlow(context, c -> {
+            signals.add(c.signal());
+            TestFlow inner = new TestFlow(c, this::pending);
+            nested.add(inner);
+            return inner.promise();
+        });
+        TestPromise<TestContext> result = (TestPromise<TestContext>) outer.promise();
+
+        nested.get(0).cancel();
+        assertTrue(signals.get(1).aborted);
+        assertFalse(signals.get(0).aborted);
+        // the rejection of the inner flow fails the task of the outer flow
+        assertTrue(result.rejected());
+        assertEquals(CANCEL_ERROR, result.result());
+    }
+
+    @Test
+    void signalOutsideApply() {
+        List<AbortSignal> later = new ArrayList<>();
+        TestFlow outer = new TestFlow(context, c -> {
+            signals.add(c.signal());
+            TestFlow inner = new TestFlow(c, this::pending);
+            return inner.promise().then(__ -> {
+                // the task is no longer applied: there's no signal
+                later.add(c.signal());
+                return TestPromise.resolved(c);
+            });
+        });
+        TestPromise<TestContext> result = (TestPromise<TestContext>) outer.promise();
+        assertNull(context.signal());
+
+        tasks.get(0).fulfill(context);
+        assertTrue(result.fulfilled());
+        assertNull(later.get(0));
+        assertNull(context.signal());
+    }
+
+    @Test
+    void sharedContext() {
+        // two independent flows sharing one context
+        TestFlow first = new TestFlow(context, this::pending);
+        TestFlow second = new TestFlow(context, this::pending);
+        TestPromise<TestContext> firstResult = (TestPromise<TestContext>) first.promise();
+        TestPromise<TestContext> secondResult = (TestPromise<TestContext>) second.promise();
+        assertNotSame(signals.get(0), signals.get(1));
+        assertNull(context.signal());
+
+        first.cancel();
+        assertTrue(firstResult.rejected());
+        assertTrue(signals.get(0).aborted);
+        assertFalse(signals.get(1).aborted);
+        assertFalse(second.cleanedUp);
+
+        tasks.get(1).fulfill(context);
+        assertTrue(secondResult.fulfilled());
+    }
+
+    @Test
+    void listenerOrder() {
+        RecordingListener listener = register(new RecordingListener());
+        TestFlow outer = new TestFlow(context, c -> new TestFlow(c, this::pending).promise());
+        outer.promise();
+        assertEquals(asList("flow test 0", "task test#0 0", "flow test 1", "task test#0 1"), listener.events);
+
+        tasks.get(0).fulfill(context);
+        assertEquals(asList("flow test 0", "task test#0 0", "flow test 1", "task test#0 1",
+                "task test#0 1 SUCCESS", "flow test 1 SUCCESS", "task test#0 0 SUCCESS", "flow test 0 SUCCESS"),
+                listener.events);
+    }
+
+    @Test
+    void listenerStatus() {
+        RecordingListener listener = register(new RecordingListener());
+        new TestFlow(context, c -> TestPromise.rejected("error")).promise();
+        new TestFlow(context, c -> TestPromise.rejected(TIMEOUT_ERROR)).promise();
+        new TestFlow(context, c -> TestPromise.rejected(CANCEL_ERROR)).promise();
+        new TestFlow(context, c -> {
+            throw new IllegalStateException("sync");
+        }).promise();
+        TestFlow canceled = new TestFlow(context, this::pending);
+        canceled.promise();
+        canceled.cancel();
+
+        assertEquals(asList(
+                "flow test 0", "task test#0 0", "task test#0 0 FAILURE", "flow test 0 FAILURE",
+                "flow test 0", "task test#0 0", "task test#0 0 TIMEOUT", "flow test 0 TIMEOUT",
+                "flow test 0", "task test#0 0", "task test#0 0 CANCELED", "flow test 0 CANCELED",
+                "flow test 0", "task test#0 0", "task test#0 0 FAILURE", "flow test 0 FAILURE",
+                // the task of a canceled flow doesn't settle
+                "flow test 0", "task test#0 0", "flow test 0 CANCELED"), listener.events);
+    }
+
+    @Test
+    void listenerSnapshot() {
+        RecordingListener late = new RecordingListener();
+        RecordingListener listener = register(new RecordingListener() {
+            @Override
+            public void flowStarted(String flow, int depth) {
+                super.flowStarted(flow, depth);
+                // no concurrent modification, the flow keeps reporting to the listeners registered at its start
+                FlowListener.unregister(this);
+                FlowListener.register(late);
+            }
+        });
+        registered.add(late);
+        TestFlow flow = new TestFlow(context, this::pending);
+        flow.promise();
+        tasks.get(0).fulfill(context);
+
+        assertEquals(asList("flow test 0", "task test#0 0", "task test#0 0 SUCCESS", "flow test 0 SUCCESS"),
+                listener.events);
+        assertEquals(0, listener.start);
+        assertEquals(3, listener.duration);
+        assertTrue(late.events.isEmpty());
+    }
+
+    private TestPromise<TestContext> pending(TestContext context) {
+        signals.add(context.signal());
+        TestPromise<TestContext> task = new TestPromise<>();
+        tasks.add(task);
+        return task;
+    }
+
+    private <L extends FlowListener> L register(L listener) {
+        FlowListener.register(listener);
+        registered.add(listener);
+        return listener;
+    }
+
+    private static class RecordingListener implements FlowListener {
+
+        final List<String> events = new ArrayList<>();
+        double start = -1;
+        double duration = -1;
+
+        @Override
+        public void flowStarted(String flow, int depth) {
+            events.add("flow " + flow + " " + depth);
+        }
+
+        @Override
+        public void flowFinished(String flow, int depth, double start, double duration, FlowStatus status) {
+            events.add("flow " + flow + " " + depth + " " + status);
+            this.start = start;
+            this.duration = duration;
+        }
+
+        @Override
+        public void taskStarted(String task, int depth) {
+            events.add("task " + task + " " + depth);
+        }
+
+        @Override
+        public void taskFinished(String task, int depth, double start, double duration, FlowStatus status) {
+            events.add("task " + task + " " + depth + " " + status);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.List;
+
+import org.jboss.elemento.flow.TestAbortController.TestSignal;
+import org.junit.jupiter.api.Test;
+
+import elemental2.dom.EventListener;
+
+import static org.jboss.elemento.flow.FlowRunner.CANCEL_ERROR;
+import static org.jboss.elemento.flow.FlowRunner.TIMEOUT_ERROR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LinkedAbortControllerTest {
+
+    @Test
+    void abort() {
+        TestAbortController parent = new TestAbortController();
+        LinkedAbortController attempt = new LinkedAbortController(new TestAbortController(), parent.signal);
+
+        attempt.abort(TIMEOUT_ERROR);
+        assertTrue(attempt.signal().aborted);
+        assertEquals(TIMEOUT_ERROR, attempt.signal().reason);
+        assertFalse(parent.signal.aborted);
+        assertTrue(listeners(parent).isEmpty());
+    }
+
+    @Test
+    void abortParent() {
+        TestAbortController parent = new TestAbortController();
+        LinkedAbortController first = new LinkedAbortController(new TestAbortController(), parent.signal);
+        LinkedAbortController second = new LinkedAbortController(new TestAbortController(), parent.signal);
+
+        parent.abort(CANCEL_ERROR);
+        assertTrue(first.signal().aborted);
+        assertTrue(second.signal().aborted);
+        assertEquals(CANCEL_ERROR, first.signal().reason);
+        assertEquals(CANCEL_ERROR, second.signal().reason);
+    }
+
+    @Test
+    void abortedParent() {
+        TestAbortController parent = new TestAbortController();
+        parent.abort(CANCEL_ERROR);
+        LinkedAbortController attempt = new LinkedAbortController(new TestAbortController(), parent.signal);
+
+        assertTrue(attempt.signal().aborted);
+        assertEquals(CANCEL_ERROR, attempt.signal().reason);
+        assertTrue(listeners(parent).isEmpty());
+    }
+
+    @Test
+    void unlink() {
+        TestAbortController parent = new TestAbortController();
+        LinkedAbortController attempt = new LinkedAbortController(new TestAbortController(), parent.signal);
+
+        attempt.unlink();
+        assertTrue(listeners(parent).isEmpty());
+        parent.abort(CANCEL_ERROR);
+        assertFalse(attempt.signal().aborted);
+    }
+
+    @Test
+    void abortOnce() {
+        TestAbortController parent = new TestAbortController();
+        LinkedAbortController attempt = new LinkedAbortController(new TestAbortController(), parent.signal);
+
+        attempt.abort(TIMEOUT_ERROR);
+        attempt.abort(CANCEL_ERROR);
+        assertEquals(TIMEOUT_ERROR, attempt.signal().reason);
+    }
+
+    @Test
+    void noParent() {
+        LinkedAbortController attempt = new LinkedAbortController(new TestAbortController(), null);
+
+        assertFalse(attempt.signal().aborted);
+        attempt.unlink();
+        attempt.abort(TIMEOUT_ERROR);
+        assertTrue(attempt.signal().aborted);
+    }
+
+    private static List<EventListener> listeners(TestAbortController controller) {
+        return ((TestSignal) controller.signal).listeners;
+    }
+}
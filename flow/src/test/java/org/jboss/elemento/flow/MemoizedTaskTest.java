@@ -0,0 +1,178 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import elemental2.promise.Promise;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoizedTaskTest {
+
+    private static final FlowKey<String> KEY = FlowKey.of("key");
+
+    private long now;
+    private MemoCache cache;
+    private List<TestPromise<String>> operations;
+
+    @BeforeEach
+    void setUp() {
+        now = 1000;
+        cache = new MemoCache(() -> now);
+        operations = new ArrayList<>();
+    }
+
+    @Test
+    void inFlight() {
+        MemoizedTask<TestContext, String> task = memoize();
+        TestContext first = new TestContext();
+        TestContext second = new TestContext();
+        TestPromise<TestContext> firstResult = (TestPromise<TestContext>) task.apply(first);
+        TestPromise<TestContext> secondResult = (TestPromise<TestContext>) task.apply(second);
+        assertEquals(1, operations.size());
+
+        operations.get(0).fulfill("value");
+        assertTrue(firstResult.fulfilled());
+        assertTrue(secondResult.fulfilled());
+        assertEquals("value", first.get(KEY));
+        assertEquals("value", second.get(KEY));
+    }
+
+    @Test
+    void cached() {
+        MemoizedTask<TestContext, String> task = memoize();
+        task.apply(new TestContext());
+        operations.get(0).fulfill("value");
+
+        TestContext context = new TestContext();
+        task.apply(context);
+        assertEquals(1, operations.size());
+        assertEquals("value", context.get(KEY));
+    }
+
+    @Test
+    void ttl() {
+        MemoizedTask<TestContext, String> task = memoize().ttl(100);
+        task.apply(new TestContext());
+        operations.get(0).fulfill("value");
+
+        now += 99;
+        task.apply(new TestContext());
+        assertEquals(1, operations.size());
+        now += 1;
+        task.apply(new TestContext());
+        assertEquals(2, operations.size());
+    }
+
+    @Test
+    void ttlStartsWhenResolved() {
+        MemoizedTask<TestContext, String> task = memoize().ttl(100);
+        task.apply(new TestContext());
+        now += 500; // a running operation never expires
+        task.apply(new TestContext());
+        assertEquals(1, operations.size());
+
+        operations.get(0).fulfill("value");
+        now += 99;
+        task.apply(new TestContext());
+        assertEquals(1, operations.size());
+    }
+
+    @Test
+    void rejected() {
+        MemoizedTask<TestContext, String> task = memoize();
+        TestPromise<TestContext> result = (TestPromise<TestContext>) task.apply(new TestContext());
+        operations.get(0).fail("error");
+        assertTrue(result.rejected());
+        assertEquals("error", result.result());
+        assertEquals(0, cache.size());
+
+        TestContext context = new TestContext();
+        task.apply(context);
+        assertEquals(2, operations.size());
+        operations.get(1).fulfill("value");
+        assertEquals("value", context.get(KEY));
+    }
+
+    @Test
+    void thrown() {
+        MemoizedTask<TestContext, String> failing = new MemoizedTask<>(KEY, context -> {
+            throw new IllegalStateException("error");
+        }, cache);
+        assertThrows(IllegalStateException.class, () -> failing.apply(new TestContext()));
+        assertEquals(0, cache.size());
+
+        TestContext context = new TestContext();
+        memoize().apply(context);
+        operations.get(0).fulfill("value");
+        assertEquals("value", context.get(KEY));
+    }
+
+    @Test
+    void invalidate() {
+        MemoizedTask<TestContext, String> task = memoize();
+        task.apply(new TestContext());
+        operations.get(0).fulfill("value");
+
+        cache.invalidate(KEY);
+        assertEquals(0, cache.size());
+        task.apply(new TestContext());
+        assertEquals(2, operations.size());
+    }
+
+    @Test
+    void invalidateInFlight() {
+        MemoizedTask<TestContext, String> task = memoize();
+        TestContext first = new TestContext();
+        task.apply(first);
+        cache.invalidate(KEY);
+        TestContext second = new TestContext();
+        task.apply(second);
+        assertEquals(2, operations.size());
+
+        // the invalidated operation must not replace the value of the new one
+        operations.get(1).fulfill("new");
+        operations.get(0).fulfill("old");
+        assertEquals("old", first.get(KEY));
+        assertEquals("new", second.get(KEY));
+        TestContext third = new TestContext();
+        task.apply(third);
+        assertEquals("new", third.get(KEY));
+        assertEquals(2, operations.size());
+    }
+
+    @Test
+    void name() {
+        assertEquals("key", memoize().name());
+    }
+
+    private MemoizedTask<TestContext, String> memoize() {
+        return new MemoizedTask<>(KEY, this::operation, cache);
+    }
+
+    private Promise<String> operation(TestContext context) {
+        TestPromise<String> promise = new TestPromise<>();
+        operations.add(promise);
+        return promise;
+    }
+}
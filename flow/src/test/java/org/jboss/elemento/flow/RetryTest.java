@@ -0,0 +1,191 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import elemental2.dom.AbortController;
+import elemental2.dom.AbortSignal;
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn;
+
+import static java.util.Arrays.asList;
+import static org.jboss.elemento.flow.FlowRunner.TIMEOUT_ERROR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryTest {
+
+    private TestContext context;
+    private TestTimers timers;
+    private List<AbortSignal> signals;
+    private List<TestPromise<TestContext>> attempts;
+
+    @BeforeEach
+    void setUp() {
+        context = new TestContext();
+        timers = new TestTimers();
+        signals = new ArrayList<>();
+        attempts = new ArrayList<>();
+    }
+
+    @Test
+    void backoff() {
+        RetryImpl<TestContext> retry = retry();
+        retry.delay(100).maxDelay(500).jitter(false);
+        assertEquals(100, retry.backoff(1));
+        assertEquals(200, retry.backoff(2));
+        assertEquals(400, retry.backoff(3));
+        assertEquals(500, retry.backoff(4));
+        assertEquals(500, retry.backoff(10));
+    }
+
+    @Test
+    void backoffWithJitter() {
+        RetryImpl<TestContext> retry = retry();
+        retry.delay(100).maxDelay(500).jitter(true);
+        assertEquals(50, retry.backoff(1));
+        assertEquals(250, retry.backoff(4));
+    }
+
+    @Test
+    void success() {
+        RetryImpl<TestContext> retry = retry();
+        retry.attempts(3).delay(100).jitter(false);
+        TestPromise<TestContext> result = (TestPromise<TestContext>) retry.promise();
+
+        attempts.get(0).fail("error");
+        assertEquals(1, attempts.size());
+        assertEquals(100, timers.fire());
+        attempts.get(1).fail("error");
+        assertEquals(200, timers.fire());
+        attempts.get(2).fulfill(context);
+
+        assertEquals(3, attempts.size());
+        assertTrue(result.fulfilled());
+        assertTrue(context.isSuccessful());
+    }
+
+    @Test
+    void exhausted() {
+        RetryImpl<TestContext> retry = retry();
+        retry.attempts(2).jitter(false);
+        TestPromise<TestContext> result = (TestPromise<TestContext>) retry.promise();
+
+        attempts.get(0).fail("first");
+        timers.fire();
+        attempts.get(1).fail("second");
+
+        assertEquals(2, attempts.size());
+        assertTrue(result.rejected());
+        assertEquals("second", result.result());
+        assertEquals(FlowStatus.FAILURE, context.status());
+        assertEquals("second", context.failureReason());
+    }
+
+    @Test
+    void retryIf() {
+        RetryImpl<TestContext> retry = retry();
+        retry.attempts(5).jitter(false).retryIf(error -> !"fatal".equals(error));
+        TestPromise<TestContext> result = (TestPromise<TestContext>) retry.promise();
+
+        attempts.get(0).fail("error");
+        timers.fire();
+        attempts.get(1).fail("fatal");
+
+        assertEquals(2, attempts.size());
+        assertTrue(result.rejected());
+        assertEquals("fatal", result.result());
+    }
+
+    @Test
+    void attemptTimeout() {
+        RetryImpl<TestContext> retry = retry();
+        retry.attempts(2).delay(100).jitter(false).attemptTimeout(1000);
+        TestPromise<TestContext> result = (TestPromise<TestContext>) retry.promise();
+
+        assertEquals(1000, timers.fire());
+        assertTrue(signals.get(0).aborted);
+        assertEquals(TIMEOUT_ERROR, signals.get(0).reason);
+
+        // the late result of the first attempt is ignored
+        attempts.get(0).fulfill(context);
+        assertFalse(result.fulfilled());
+
+        assertEquals(100, timers.fire());
+        assertFalse(signals.get(1).aborted);
+        attempts.get(1).fulfill(context);
+        assertTrue(result.fulfilled());
+        assertTrue(context.isSuccessful());
+        // the timeout of the second attempt has been cleared
+        assertTrue(timers.timers.get(2).cleared);
+        assertEquals(asList(1000.0, 100.0, 1000.0), timers.delays());
+    }
+
+    @Test
+    void timeoutStatus() {
+        RetryImpl<TestContext> retry = retry();
+        retry.attempts(2).jitter(false).attemptTimeout(1000);
+        TestPromise<TestContext> result = (TestPromise<TestContext>) retry.promise();
+
+        timers.fire();
+        timers.fire();
+        timers.fire();
+        // a late failure of the timed out attempt is ignored as well
+        attempts.get(1).fail("error");
+
+        assertTrue(result.rejected());
+        assertEquals(TIMEOUT_ERROR, result.result());
+        assertTrue(context.isTimeout());
+        assertEquals(FlowStatus.TIMEOUT, context.status());
+    }
+
+    private RetryImpl<TestContext> retry() {
+        return new RetryImpl<TestContext>(context, this::attempt, timers, () -> 0.5) {
+            @Override
+            Promise<TestContext> promise(PromiseExecutorCallbackFn<TestContext> executor) {
+                return TestPromise.promise(executor);
+            }
+
+            @Override
+            Promise<TestContext> resolved(TestContext context) {
+                return TestPromise.resolved(context);
+            }
+
+            @Override
+            Promise<TestContext> rejected(Object error) {
+                return TestPromise.rejected(error);
+            }
+
+            @Override
+            AbortController abortController() {
+                return new TestAbortController();
+            }
+        };
+    }
+
+    private TestPromise<TestContext> attempt(TestContext context) {
+        signals.add(context.signal());
+        TestPromise<TestContext> attempt = new TestPromise<>();
+        attempts.add(attempt);
+        return attempt;
+    }
+}
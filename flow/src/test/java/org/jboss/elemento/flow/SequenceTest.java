@@ -0,0 +1,175 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import elemental2.dom.AbortController;
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn;
+
+import static java.util.Arrays.asList;
+import static org.jboss.elemento.flow.SequenceImpl.Mode.PARALLEL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SequenceTest {
+
+    private TestContext context;
+    private List<Integer> started;
+    private List<TestPromise<TestContext>> promises;
+
+    @BeforeEach
+    void setUp() {
+        context = new TestContext();
+        started = new ArrayList<>();
+        promises = new ArrayList<>();
+    }
+
+    @Test
+    void concurrency() {
+        TestPromise<TestContext> result = bounded(5, 2, true);
+        assertEquals(asList(1, 2), started);
+
+        promises.get(1).fulfill(context);
+        assertEquals(asList(1, 2, 3), started);
+        promises.get(0).fulfill(context);
+        assertEquals(asList(1, 2, 3, 4), started);
+        promises.get(3).fulfill(context);
+        assertEquals(asList(1, 2, 3, 4, 5), started);
+        assertFalse(result.fulfilled());
+
+        promises.get(2).fulfill(context);
+        promises.get(4).fulfill(context);
+        assertTrue(result.fulfilled());
+        assertTrue(context.isSuccessful());
+    }
+
+    @Test
+    void concurrencyFailFast() {
+        TestPromise<TestContext> result = bounded(4, 2, true);
+
+        promises.get(0).fail("error");
+        assertTrue(result.rejected());
+        assertEquals("error", result.result());
+        assertTrue(context.failure());
+
+        // no further tasks are started
+        promises.get(1).fulfill(context);
+        assertEquals(asList(1, 2), started);
+        assertEquals("error", result.result());
+    }
+
+    @Test
+    void concurrencyFailLast() {
+        TestPromise<TestContext> result = bounded(4, 2, false);
+
+        promises.get(0).fail("error");
+        assertEquals(asList(1, 2, 3), started);
+        promises.get(2).fail("another error");
+        assertEquals(asList(1, 2, 3, 4), started);
+        assertFalse(result.fulfilled());
+
+        promises.get(1).fulfill(context);
+        promises.get(3).fulfill(context);
+        assertTrue(result.fulfilled());
+        assertTrue(context.isSuccessful());
+    }
+
+    @Test
+    void concurrencyThrowingTask() {
+        List<Task<TestContext>> tasks = new ArrayList<>();
+        tasks.add(c -> {
+            throw new IllegalStateException("sync");
+        });
+        tasks.add(this::pending);
+        tasks.add(this::pending);
+        TestPromise<TestContext> result = run(tasks, 2, false);
+
+        // the throwing task counts as failed, the others keep running
+        assertEquals(2, promises.size());
+        promises.get(0).fulfill(context);
+        assertFalse(result.rejected());
+        promises.get(1).fulfill(context);
+        assertTrue(result.fulfilled());
+    }
+
+    @Test
+    void concurrencyThrowingTaskFailFast() {
+        List<Task<TestContext>> tasks = new ArrayList<>();
+        tasks.add(this::pending);
+        tasks.add(c -> {
+            throw new IllegalStateException("sync");
+        });
+        tasks.add(this::pending);
+        TestPromise<TestContext> result = run(tasks, 2, true);
+
+        assertTrue(result.rejected());
+        assertInstanceOf(IllegalStateException.class, result.result());
+        promises.get(0).fulfill(context);
+        assertEquals(1, promises.size());
+    }
+
+    private TestPromise<TestContext> bounded(int size, int concurrency, boolean failFast) {
+        List<Task<TestContext>> tasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int index = i + 1;
+            tasks.add(c -> {
+                started.add(index);
+                return pending(c);
+            });
+        }
+        return run(tasks, concurrency, failFast);
+    }
+
+    private TestPromise<TestContext> run(List<Task<TestContext>> tasks, int concurrency, boolean failFast) {
+        SequenceImpl<TestContext> sequence = new SequenceImpl<TestContext>(PARALLEL, context, tasks) {
+            @Override
+            Promise<TestContext> promise(PromiseExecutorCallbackFn<TestContext> executor) {
+                return TestPromise.promise(executor);
+            }
+
+            @Override
+            Promise<TestContext> resolved(TestContext context) {
+                return TestPromise.resolved(context);
+            }
+
+            @Override
+            Promise<TestContext> rejected(Object error) {
+                return TestPromise.rejected(error);
+            }
+
+            @Override
+            AbortController abortController() {
+                return new TestAbortController();
+            }
+        };
+        sequence.concurrency(concurrency).failFast(failFast);
+        return (TestPromise<TestContext>) sequence.promise();
+    }
+
+    private TestPromise<TestContext> pending(TestContext context) {
+        TestPromise<TestContext> promise = new TestPromise<>();
+        promises.add(promise);
+        return promise;
+    }
+}
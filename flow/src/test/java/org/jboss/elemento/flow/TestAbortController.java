@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import elemental2.dom.AbortController;
+import elemental2.dom.AbortSignal;
+import elemental2.dom.EventListener;
+
+/**
+ * Abort controller for JVM-based JUnit tests, where JavaScript's abort controllers are not available. The signal keeps track of
+ * its listeners.
+ */
+class TestAbortController extends AbortController {
+
+    TestAbortController() {
+        this.signal = new TestSignal();
+    }
+
+    @Override
+    public void abort() {
+        abort(null);
+    }
+
+    @Override
+    public void abort(Object reason) {
+        ((TestSignal) signal).fire(reason);
+    }
+
+    static class TestSignal extends AbortSignal {
+
+        final List<EventListener> listeners = new ArrayList<>();
+
+        @Override
+        public void addEventListener(String type, EventListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeEventListener(String type, EventListener listener) {
+            listeners.remove(listener);
+        }
+
+        void fire(Object reason) {
+            if (!aborted) {
+                aborted = true;
+                this.reason = reason;
+                for (EventListener listener : new ArrayList<>(listeners)) {
+                    listener.handleEvent(null);
+                }
+            }
+        }
+    }
+}
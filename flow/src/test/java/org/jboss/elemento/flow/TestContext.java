@@ -0,0 +1,29 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import elemental2.promise.Promise;
+
+/** Flow context which resolves to {@linkplain TestPromise test promises}. */
+class TestContext extends FlowContext {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <C extends FlowContext, T> Promise<C> resolve(FlowKey<T> key, T value) {
+        set(key, value);
+        return TestPromise.resolved((C) this);
+    }
+}
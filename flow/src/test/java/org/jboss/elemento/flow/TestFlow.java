@@ -0,0 +1,77 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import elemental2.dom.AbortController;
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn;
+
+/**
+ * Flow for JVM-based JUnit tests which applies a single task. Uses {@linkplain TestPromise test promises} and
+ * {@linkplain TestAbortController test abort controllers}.
+ */
+class TestFlow extends FlowRunner<TestContext> {
+
+    private final Task<TestContext> task;
+    boolean cleanedUp;
+    private double time;
+
+    TestFlow(TestContext context, Task<TestContext> task) {
+        super(context, 1);
+        this.task = task;
+    }
+
+    @Override
+    Promise<TestContext> run() {
+        return apply(task, 0);
+    }
+
+    @Override
+    void cleanup() {
+        cleanedUp = true;
+    }
+
+    @Override
+    String kind() {
+        return "test";
+    }
+
+    @Override
+    Promise<TestContext> promise(PromiseExecutorCallbackFn<TestContext> executor) {
+        return TestPromise.promise(executor);
+    }
+
+    @Override
+    Promise<TestContext> resolved(TestContext context) {
+        return TestPromise.resolved(context);
+    }
+
+    @Override
+    Promise<TestContext> rejected(Object error) {
+        return TestPromise.rejected(error);
+    }
+
+    @Override
+    AbortController abortController() {
+        return new TestAbortController();
+    }
+
+    /** A clock which advances by one millisecond whenever it is read. */
+    @Override
+    double now() {
+        return time++;
+    }
+}
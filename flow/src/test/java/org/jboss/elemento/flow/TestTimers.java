@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Timers for JVM-based JUnit tests. Timers don't run by themselves, use {@link #fire()} to run the next pending timer. */
+class TestTimers implements Timers {
+
+    final List<Timer> timers = new ArrayList<>();
+
+    @Override
+    public double setTimeout(Runnable callback, double delay) {
+        Timer timer = new Timer(callback, delay);
+        timers.add(timer);
+        return timers.size();
+    }
+
+    @Override
+    public void clearTimeout(double handle) {
+        timers.get((int) handle - 1).cleared = true;
+    }
+
+    /** Returns the delays of all timers, including the ones which have been fired or cleared. */
+    List<Double> delays() {
+        List<Double> delays = new ArrayList<>();
+        for (Timer timer : timers) {
+            delays.add(timer.delay);
+        }
+        return delays;
+    }
+
+    /** Runs the pending timer with the shortest delay and returns its delay. */
+    double fire() {
+        Timer next = null;
+        for (Timer timer : timers) {
+            if (!timer.fired && !timer.cleared && (next == null || timer.delay < next.delay)) {
+                next = timer;
+            }
+        }
+        if (next == null) {
+            throw new IllegalStateException("No pending timer");
+        }
+        next.fired = true;
+        next.callback.run();
+        return next.delay;
+    }
+
+    static class Timer {
+
+        final Runnable callback;
+        final double delay;
+        boolean fired;
+        boolean cleared;
+
+        Timer(Runnable callback, double delay) {
+            this.callback = callback;
+            this.delay = delay;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks for the conversion between absolute and relative paths in {@link Base}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BaseBenchmark {
+
+    private Base base;
+    private Base emptyBase;
+
+    @Setup
+    public void setup() {
+        base = new Base("/console");
+        emptyBase = new Base("/");
+    }
+
+    @Benchmark
+    public String relative() {
+        return base.relative("/console/users/42/profile");
+    }
+
+    @Benchmark
+    public String relativeOutsideBase() {
+        return base.relative("/other/users/42/profile");
+    }
+
+    @Benchmark
+    public String relativeEmptyBase() {
+        return emptyBase.relative("/users/42/profile");
+    }
+
+    @Benchmark
+    public String absolute() {
+        return base.absolute("/users/42/profile");
+    }
+
+    @Benchmark
+    public String absoluteWithoutSlash() {
+        return base.absolute("users/42/profile");
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks for matching routes, encoding paths and extracting parameters in {@link Parameter}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterBenchmark {
+
+    private static final String ROUTE = "/users/:id/:tab";
+    private static final String OPTIONAL_ROUTE = "/users/:id/details/:tab?";
+    private static final String PATH = "/users/42/profile";
+    private static final String OPTIONAL_PATH = "/users/42/details";
+    private static final String ENCODED_PATH = "/users/John%20Doe/profile";
+
+    @Setup
+    public void setup() {
+        Parameter.encoder = new JavaUrlEncoder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Parameter.encoder = new JsUrlEncoder();
+    }
+
+    // ------------------------------------------------------ match
+
+    @Benchmark
+    public boolean match() {
+        return Parameter.match(ROUTE, PATH);
+    }
+
+    @Benchmark
+    public boolean matchOptional() {
+        return Parameter.match(OPTIONAL_ROUTE, OPTIONAL_PATH);
+    }
+
+    @Benchmark
+    public boolean noMatch() {
+        return Parameter.match(ROUTE, "/groups/42/profile");
+    }
+
+    // ------------------------------------------------------ encode
+
+    @Benchmark
+    public String encodePath() {
+        return Parameter.encodePath(ROUTE, "42", "profile");
+    }
+
+    @Benchmark
+    public String encodePathWithSpecialCharacters() {
+        return Parameter.encodePath(ROUTE, "John Doe", "a/b?c");
+    }
+
+    @Benchmark
+    public String encodePathOptional() {
+        return Parameter.encodePath(OPTIONAL_ROUTE, "42");
+    }
+
+    // ------------------------------------------------------ extract
+
+    @Benchmark
+    public String extract() {
+        return new Parameter(ROUTE, PATH).get("tab");
+    }
+
+    @Benchmark
+    public String extractDecoded() {
+        return new Parameter(ROUTE, ENCODED_PATH).get("id");
+    }
+
+    @Benchmark
+    public String extractOptional() {
+        return new Parameter(OPTIONAL_ROUTE, OPTIONAL_PATH).getOrDefault("tab", "general");
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import elemental2.dom.HTMLElement;
+
+import static java.util.Collections.emptyList;
+import static org.jboss.elemento.router.Place.place;
+
+/**
+ * Benchmarks for resolving a path to a place using {@link PlaceManager#place(String)} over synthetic route tables. The route
+ * table consists of static routes, routes with required parameters, routes with optional parameters and routes with several
+ * parameters in equal shares.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceManagerBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int routes;
+
+    private PlaceManager placeManager;
+    private PlaceManager basePlaceManager;
+    private String[] paths;
+    private String staticPath;
+    private String parameterPath;
+    private String optionalPath;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Parameter.encoder = new JavaUrlEncoder();
+        placeManager = new PlaceManager();
+        basePlaceManager = new PlaceManager().base("/console");
+        paths = new String[routes];
+        for (int i = 0; i < routes; i++) {
+            Place place;
+            switch (i % 4) {
+                case 0:
+                    place = place("/section" + i);
+                    paths[i] = "/section" + i;
+                    break;
+                case 1:
+                    place = place("/section" + i + "/:id");
+                    paths[i] = "/section" + i + "/42";
+                    break;
+                case 2:
+                    place = place("/section" + i + "/:id/details/:tab?");
+                    paths[i] = "/section" + i + "/42/details";
+                    break;
+                default:
+                    place = place("/section" + i + "/items/:item/:version");
+                    paths[i] = "/section" + i + "/items/foo/1.0";
+                    break;
+            }
+            placeManager.register(place, EmptyPage::new);
+            basePlaceManager.register(place, EmptyPage::new);
+        }
+        int middle = routes / 2 - routes / 2 % 4;
+        staticPath = paths[middle];
+        parameterPath = paths[middle + 1];
+        optionalPath = paths[middle + 2];
+        index = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        Parameter.encoder = new JsUrlEncoder();
+    }
+
+    @Benchmark
+    public Place findStatic() {
+        return placeManager.place(staticPath);
+    }
+
+    @Benchmark
+    public Place findParameter() {
+        return placeManager.place(parameterPath);
+    }
+
+    @Benchmark
+    public Place findOptionalParameter() {
+        return placeManager.place(optionalPath);
+    }
+
+    @Benchmark
+    public Place findWithBase() {
+        return basePlaceManager.place("/console" + parameterPath);
+    }
+
+    /** Resolves all paths of the route table one after another. */
+    @Benchmark
+    public Place findAll() {
+        String path = paths[index];
+        index = index + 1 == paths.length ? 0 : index + 1;
+        return placeManager.place(path);
+    }
+
+    @Benchmark
+    public Place notFound() {
+        return placeManager.place("/unknown/42/details");
+    }
+
+    private static class EmptyPage implements Page {
+
+        @Override
+        public Iterable<HTMLElement> elements(Place place, Parameter parameter, LoadedData data) {
+            return emptyList();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.jboss.elemento.router.Parameter.match;
+import static org.jboss.elemento.router.Place.place;
+
+/**
+ * Compares the linear scan over all parameterized places using {@link Parameter#match(String, String)} with the
+ * {@link RouteTrie} for 600 routes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteMatchingBenchmark {
+
+    private static final int ROUTES = 600;
+
+    private List<Place> places;
+    private RouteTrie trie;
+    private String[] paths;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Parameter.encoder = new JavaUrlEncoder();
+        places = new ArrayList<>();
+        trie = new RouteTrie();
+        paths = new String[ROUTES];
+        for (int i = 0; i < ROUTES; i++) {
+            Place place;
+            switch (i % 3) {
+                case 0:
+                    place = place("/section" + i + "/:id");
+                    paths[i] = "/section" + i + "/42";
+                    break;
+                case 1:
+                    place = place("/section" + i + "/:id/details/:tab?");
+                    paths[i] = "/section" + i + "/42/details/general";
+                    break;
+                default:
+                    place = place("/section" + i + "/items/:item/:version");
+                    paths[i] = "/section" + i + "/items/foo/1.0";
+                    break;
+            }
+            places.add(place);
+            trie.add(place);
+        }
+        index = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        Parameter.encoder = new JsUrlEncoder();
+    }
+
+    /** Finds the place by matching all places one after another and extracts the parameters. */
+    @Benchmark
+    public Parameter linearScan() {
+        String path = nextPath();
+        for (Place place : places) {
+            if (match(place.route(), path)) {
+                return new Parameter(place.route(), path);
+            }
+        }
+        return null;
+    }
+
+    /** Finds the place and extracts the parameters in one pass using the route trie. */
+    @Benchmark
+    public RouteTrie.Match trie() {
+        return trie.match(nextPath());
+    }
+
+    private String nextPath() {
+        String path = paths[index];
+        index = index + 1 == paths.length ? 0 : index + 1;
+        return path;
+    }
+}
@@ -16,6 +16,7 @@
 package org.jboss.elemento.router.processor;
 
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 
 import static javax.lang.model.element.Modifier.PUBLIC;
@@ -36,8 +37,7 @@ class CdiCodeGenerator extends CodeGenerator {
     }
 
     @Override
-    void addPlace(MethodSpec.Builder constructor, String placeName, RouteInfo route) {
-        constructor.addStatement("add($N, () -> $N.lookupBean($L.class).getInstance())",
-                placeName, BEAN_MANAGER_NAME, route.pageClass);
+    CodeBlock newPage(RouteInfo route) {
+        return CodeBlock.of("$N.lookupBean($L.class).getInstance()", BEAN_MANAGER_NAME, route.pageClass);
     }
 }
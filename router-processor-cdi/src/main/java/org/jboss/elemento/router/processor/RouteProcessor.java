@@ -35,11 +35,12 @@ import com.google.auto.service.AutoService;
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
 @SupportedAnnotationTypes({"org.jboss.elemento.router.Loader", "org.jboss.elemento.router.Route"})
-@SupportedOptions({"routes.package"})
+@SupportedOptions({"places.package", "places.class", "places.async"})
 public class RouteProcessor extends BasicAnnotationProcessor {
 
     @Override
     protected Iterable<? extends Step> steps() {
-        return List.of(new LoaderStep(processingEnv), new RouteStep(processingEnv, new CdiCodeGenerator()));
+        LoaderStep loaderStep = new LoaderStep(processingEnv);
+        return List.of(loaderStep, new RouteStep(processingEnv, loaderStep, new CdiCodeGenerator()));
     }
 }
@@ -33,7 +33,8 @@ abstract class CodeGenerator {
 
     private int counter = 0;
 
-    final void generateCode(Filer filer, String packageName, String className, List<RouteInfo> routes) throws IOException {
+    final void generateCode(Filer filer, String packageName, String className, boolean async, List<RouteInfo> routes)
+            throws IOException {
         ClassName placeClass = ClassName.get("org.jboss.elemento.router", "Place");
         ClassName placesClass = ClassName.get("org.jboss.elemento.router", "Places");
 
@@ -41,16 +42,26 @@ abstract class CodeGenerator {
         routes.sort(comparing(routeInfo -> routeInfo.route)); // helps verify generated code
         for (RouteInfo route : routes) {
             String placeName = createPlace(constructor, placeClass, route);
-            addPlace(constructor, placeName, route);
+            if (async) {
+                addAsyncPlace(constructor, placeName, route);
+            } else {
+                constructor.addStatement("add($N, () -> $L)", placeName, newPage(route));
+            }
         }
 
-        TypeSpec implType = TypeSpec.classBuilder(className)
+        TypeSpec.Builder implType = TypeSpec.classBuilder(className)
                 .superclass(placesClass)
                 .addModifiers(PUBLIC)
-                .addMethod(constructor.build())
-                .build();
+                .addMethod(constructor.build());
+        // the places class aggregates all pages and loaders: record them for incremental builds
+        for (RouteInfo route : routes) {
+            implType.addOriginatingElement(route.pageType);
+            if (route.loaderInfo != null && route.loaderInfo.element != null) {
+                implType.addOriginatingElement(route.loaderInfo.element);
+            }
+        }
 
-        JavaFile javaFile = JavaFile.builder(packageName, implType)
+        JavaFile javaFile = JavaFile.builder(packageName, implType.build())
                 .build();
         javaFile.writeTo(filer);
     }
@@ -61,7 +72,14 @@ abstract class CodeGenerator {
         String placeName = "place" + counter;
 
         CodeBlock.Builder builder = CodeBlock.builder();
-        builder.add("$T $N = $T.place($S)", placeClass, placeName, placeClass, route.route);
+        CodeBlock segments = route.metadata.segments.stream()
+                .map(segment -> CodeBlock.of("$S", segment))
+                .collect(CodeBlock.joining(", "));
+        builder.add("$T $N = $T.compiled($S, $S", placeClass, placeName, placeClass, route.route, route.metadata.path);
+        if (!segments.isEmpty()) {
+            builder.add(", $L", segments);
+        }
+        builder.add(")");
         if (route.title != null) {
             builder.add("\n.title($S)", route.title);
         }
@@ -74,6 +92,11 @@ abstract class CodeGenerator {
             } else {
                 builder.add("\n.loader($L.$L())", route.loaderInfo.loaderClass, route.loaderInfo.loaderMethod);
             }
+            if (route.staleWhileRevalidate) {
+                builder.add("\n.cache($L, true)", route.cacheTtl);
+            } else if (route.cacheTtl > 0) {
+                builder.add("\n.cache($L)", route.cacheTtl);
+            }
         }
         constructor.addStatement(builder.build());
 
@@ -81,5 +104,30 @@ abstract class CodeGenerator {
         return placeName;
     }
 
-    abstract void addPlace(MethodSpec.Builder constructor, String placeName, RouteInfo route);
+    /** Adds the place with a GWT split point, so that the page is loaded on demand. */
+    private void addAsyncPlace(MethodSpec.Builder constructor, String placeName, RouteInfo route) {
+        ClassName gwtClass = ClassName.get("com.google.gwt.core.client", "GWT");
+        ClassName callbackClass = ClassName.get("com.google.gwt.core.client", "RunAsyncCallback");
+        ClassName promiseClass = ClassName.get("elemental2.promise", "Promise");
+
+        TypeSpec callback = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(callbackClass)
+                .addMethod(MethodSpec.methodBuilder("onFailure")
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .addParameter(Throwable.class, "reason")
+                        .addStatement("reject.onInvoke(reason)")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("onSuccess")
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .addStatement("resolve.onInvoke($L)", newPage(route))
+                        .build())
+                .build();
+        constructor.addStatement("addAsync($N, () -> new $T<>((resolve, reject) -> $T.runAsync($L.class, $L)))",
+                placeName, promiseClass, gwtClass, route.pageClass, callback);
+    }
+
+    /** Returns the code to create a new instance of the page. */
+    abstract CodeBlock newPage(RouteInfo route);
 }
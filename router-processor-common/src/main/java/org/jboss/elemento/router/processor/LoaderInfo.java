@@ -15,14 +15,18 @@
  */
 package org.jboss.elemento.router.processor;
 
+import javax.lang.model.element.Element;
+
 @SuppressWarnings("unused")
 class LoaderInfo {
 
     final String loaderClass;
     final String loaderMethod;
+    final Element element;
 
-    LoaderInfo(String loaderClass, String loaderMethod) {
+    LoaderInfo(String loaderClass, String loaderMethod, Element element) {
         this.loaderClass = loaderClass;
         this.loaderMethod = loaderMethod;
+        this.element = element;
     }
 }
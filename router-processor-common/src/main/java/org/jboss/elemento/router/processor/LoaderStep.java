@@ -48,11 +48,12 @@ import static javax.tools.Diagnostic.Kind.ERROR;
 @SuppressWarnings("UnstableApiUsage")
 class LoaderStep implements BasicAnnotationProcessor.Step {
 
-    static final Map<String, LoaderInfo> loaderInfos = new HashMap<>();
     private final ProcessingEnvironment processingEnv;
+    private final Map<String, LoaderInfo> loaderInfos;
 
     LoaderStep(ProcessingEnvironment processingEnv) {
         this.processingEnv = processingEnv;
+        this.loaderInfos = new HashMap<>();
     }
 
     @Override
@@ -69,7 +70,7 @@ class LoaderStep implements BasicAnnotationProcessor.Step {
             if (MoreElements.isType(element)) {
                 TypeElement type = asType(element);
                 if (validLoaderType(type) && uniqueLoader(loader.value(), element)) {
-                    LoaderInfo loaderInfo = new LoaderInfo(type.getQualifiedName().toString(), null);
+                    LoaderInfo loaderInfo = new LoaderInfo(type.getQualifiedName().toString(), null, type);
                     loaderInfos.put(loader.value(), loaderInfo);
                 }
 
@@ -78,7 +79,7 @@ class LoaderStep implements BasicAnnotationProcessor.Step {
                 if (validLoaderMethod(method) && uniqueLoader(loader.value(), element)) {
                     LoaderInfo loaderInfo = new LoaderInfo(
                             MoreElements.asType(method.getEnclosingElement()).getQualifiedName().toString(),
-                            method.getSimpleName().toString());
+                            method.getSimpleName().toString(), method);
                     loaderInfos.put(loader.value(), loaderInfo);
                 }
             }
@@ -86,6 +87,11 @@ class LoaderStep implements BasicAnnotationProcessor.Step {
         return emptySet();
     }
 
+    /** Returns the loader with the given name or {@code null} if no such loader has been processed (yet). */
+    LoaderInfo loaderInfo(String name) {
+        return loaderInfos.get(name);
+    }
+
     private boolean validLoaderType(TypeElement type) {
         if (!type.getModifiers().contains(PUBLIC)) {
             String error = String.format("Class %s annotated with @%s is not public", type.getQualifiedName().toString(),
@@ -15,20 +15,28 @@
  */
 package org.jboss.elemento.router.processor;
 
+import javax.lang.model.element.TypeElement;
+
 @SuppressWarnings("unused")
 class RouteInfo {
 
+    final TypeElement pageType;
+    final RouteMetadata metadata;
     final String route;
     final String title;
     final String selector;
     final String pageClass;
     LoaderInfo loaderInfo;
+    int cacheTtl;
+    boolean staleWhileRevalidate;
 
-    RouteInfo(String route, String title, String selector, String pageClass) {
-        this.route = route;
+    RouteInfo(TypeElement pageType, RouteMetadata metadata, String title, String selector) {
+        this.pageType = pageType;
+        this.metadata = metadata;
+        this.route = metadata.route;
         this.title = title;
         this.selector = selector;
-        this.pageClass = pageClass;
+        this.pageClass = pageType.getQualifiedName().toString();
         this.loaderInfo = null;
     }
 }
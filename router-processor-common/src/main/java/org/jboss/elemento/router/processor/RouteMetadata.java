@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route metadata computed at compile time. Mirrors the parsing done by {@code Place.place(String)} at runtime, so that the
+ * generated code can use {@code Place.compiled(String, String, String...)} instead.
+ */
+class RouteMetadata {
+
+    static RouteMetadata parse(String route) throws ProcessingException {
+        if (route == null || route.trim().isEmpty()) {
+            throw new ProcessingException("Route must not be empty");
+        }
+        String normalized = route.startsWith("/") ? route : "/" + route;
+        if (normalized.length() > 1 && normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+
+        List<String> segments = new ArrayList<>();
+        if (normalized.length() > 1) {
+            for (String segment : normalized.substring(1).split("/")) {
+                segments.add(segment);
+            }
+        }
+        int required = segments.size();
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (isOptionalParameter(segment)) {
+                if (required == segments.size()) {
+                    required = i;
+                }
+            } else if (required != segments.size()) {
+                throw new ProcessingException(String.format(
+                        "Optional parameters must be trailing. Found non-optional segment '%s' after optional parameter in route '%s'",
+                        segment, route));
+            } else {
+                path.append('/').append(segment);
+            }
+        }
+        return new RouteMetadata(normalized, path.length() == 0 ? "/" : path.toString(), segments, required);
+    }
+
+    final String route;
+    final String path;
+    final List<String> segments;
+    final int required;
+
+    private RouteMetadata(String route, String path, List<String> segments, int required) {
+        this.route = route;
+        this.path = path;
+        this.segments = segments;
+        this.required = required;
+    }
+
+    /**
+     * Two routes are ambiguous if they match exactly the same paths with the same precedence (e.g. {@code /users/:id} and
+     * {@code /users/:name}): Both routes must have the same number of segments and optional parameters, and the required
+     * segments must be equal, with parameters being equal regardless of their names.
+     */
+    boolean ambiguous(RouteMetadata other) {
+        if (segments.size() != other.segments.size() || required != other.required) {
+            return false;
+        }
+        for (int i = 0; i < required; i++) {
+            String segment = segments.get(i);
+            String otherSegment = other.segments.get(i);
+            boolean parameter = isParameter(segment);
+            if (parameter != isParameter(otherSegment) || (!parameter && !segment.equals(otherSegment))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isParameter(String segment) {
+        if (segment.length() < 2 || !segment.startsWith(":")) {
+            return false;
+        }
+        String name = segment.endsWith("?") ? segment.substring(1, segment.length() - 1) : segment.substring(1);
+        return !name.isEmpty() && !name.startsWith(":");
+    }
+
+    static boolean isOptionalParameter(String segment) {
+        return segment.endsWith("?") && segment.length() > 2 && isParameter(segment);
+    }
+}
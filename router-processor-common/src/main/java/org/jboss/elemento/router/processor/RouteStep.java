@@ -18,6 +18,7 @@ package org.jboss.elemento.router.processor;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -48,13 +49,18 @@ import static javax.tools.Diagnostic.Kind.WARNING;
 class RouteStep implements BasicAnnotationProcessor.Step {
 
     private final ProcessingEnvironment processingEnv;
+    private final LoaderStep loaderStep;
     private final CodeGenerator codeGenerator;
-    private final List<RouteInfo> routes;
+    // one route per page, collected over all rounds and merged into one places class
+    private final Map<String, RouteInfo> routes;
+    private boolean generated;
 
-    RouteStep(ProcessingEnvironment processingEnv, CodeGenerator codeGenerator) {
+    RouteStep(ProcessingEnvironment processingEnv, LoaderStep loaderStep, CodeGenerator codeGenerator) {
         this.processingEnv = processingEnv;
+        this.loaderStep = loaderStep;
         this.codeGenerator = codeGenerator;
-        this.routes = new ArrayList<>();
+        this.routes = new LinkedHashMap<>();
+        this.generated = false;
     }
 
     @Override
@@ -68,6 +74,7 @@ class RouteStep implements BasicAnnotationProcessor.Step {
         Set<Element> notReady = new HashSet<>();
         String packageName = processingEnv.getOptions().getOrDefault("places.package", Names.PLACES_PACKAGE);
         String className = processingEnv.getOptions().getOrDefault("places.class", Names.PLACES_CLASS);
+        boolean async = Boolean.parseBoolean(processingEnv.getOptions().getOrDefault("places.async", "false"));
 
         for (Map.Entry<String, Element> entry : elementsByAnnotation.entries()) {
             Element element = entry.getValue();
@@ -75,27 +82,64 @@ class RouteStep implements BasicAnnotationProcessor.Step {
 
             // create route info
             TypeElement pageType = asType(element);
-            RouteInfo routeInfo = new RouteInfo(emptyToNull(route.value()),
+            RouteMetadata metadata;
+            try {
+                metadata = RouteMetadata.parse(route.value());
+            } catch (ProcessingException e) {
+                String error = String.format("Invalid route in page %s: %s", pageType.getQualifiedName(), e.getMessage());
+                processingEnv.getMessager().printMessage(ERROR, error, pageType);
+                continue;
+            }
+            RouteInfo routeInfo = new RouteInfo(pageType, metadata,
                     emptyToNull(route.title()),
-                    emptyToNull(route.selector()),
-                    pageType.getQualifiedName().toString());
+                    emptyToNull(route.selector()));
 
             processLoader(pageType, route, routeInfo, notReady);
-            routes.add(routeInfo);
+            processCache(pageType, route, routeInfo);
+            if (!notReady.contains(pageType)) {
+                if (generated) {
+                    String error = String.format("Page %s has been processed after %s.%s has been generated",
+                            routeInfo.pageClass, packageName, className);
+                    processingEnv.getMessager().printMessage(ERROR, error, pageType);
+                } else {
+                    verifyRoute(pageType, routeInfo);
+                    routes.put(routeInfo.pageClass, routeInfo);
+                }
+            }
         }
 
-        if (notReady.isEmpty() && !routes.isEmpty()) {
+        // generate the places class once, as soon as all pages are ready
+        if (notReady.isEmpty() && !routes.isEmpty() && !generated) {
             try {
-                codeGenerator.generateCode(processingEnv.getFiler(), packageName, className, routes);
+                codeGenerator.generateCode(processingEnv.getFiler(), packageName, className, async,
+                        new ArrayList<>(routes.values()));
             } catch (IOException e) {
-                String error = String.format("Error writing code for %s.%s: %s", packageName, Names.PLACES_CLASS,
-                        e.getMessage());
+                String error = String.format("Error writing code for %s.%s: %s", packageName, className, e.getMessage());
                 processingEnv.getMessager().printMessage(ERROR, error);
             }
+            generated = true;
         }
         return notReady;
     }
 
+    /** Reports duplicate and ambiguous routes as errors. */
+    private void verifyRoute(TypeElement pageType, RouteInfo routeInfo) {
+        for (RouteInfo other : routes.values()) {
+            if (other.pageClass.equals(routeInfo.pageClass)) {
+                continue;
+            }
+            if (other.route.equals(routeInfo.route)) {
+                String error = String.format("Duplicate route '%s' in pages %s and %s", routeInfo.route, other.pageClass,
+                        routeInfo.pageClass);
+                processingEnv.getMessager().printMessage(ERROR, error, pageType);
+            } else if (other.metadata.ambiguous(routeInfo.metadata)) {
+                String error = String.format("Ambiguous routes '%s' in page %s and '%s' in page %s: Both match the same paths",
+                        other.route, other.pageClass, routeInfo.route, routeInfo.pageClass);
+                processingEnv.getMessager().printMessage(ERROR, error, pageType);
+            }
+        }
+    }
+
     private void processLoader(TypeElement pageType, Route route, RouteInfo routeInfo, Set<Element> notReady) {
         // #1 Look for loader methods in the page class
         List<ExecutableElement> exactMatches = new ArrayList<>();
@@ -109,7 +153,7 @@ class RouteStep implements BasicAnnotationProcessor.Step {
         }
         if (exactMatches.size() == 1) {
             routeInfo.loaderInfo = new LoaderInfo(pageType.getQualifiedName().toString(),
-                    exactMatches.get(0).getSimpleName().toString());
+                    exactMatches.get(0).getSimpleName().toString(), exactMatches.get(0));
         } else if (exactMatches.size() > 1) {
             String methods = exactMatches.stream()
                     .map(method -> method.getSimpleName().toString() + "()")
@@ -136,7 +180,7 @@ class RouteStep implements BasicAnnotationProcessor.Step {
         // #2 Look for loader references
         if (emptyToNull(route.loader()) != null) {
             if (routeInfo.loaderInfo == null) {
-                LoaderInfo loaderInfo = LoaderStep.loaderInfos.get(route.loader());
+                LoaderInfo loaderInfo = loaderStep.loaderInfo(route.loader());
                 if (loaderInfo != null) {
                     routeInfo.loaderInfo = loaderInfo;
                 } else {
@@ -151,6 +195,21 @@ class RouteStep implements BasicAnnotationProcessor.Step {
         }
     }
 
+    private void processCache(TypeElement pageType, Route route, RouteInfo routeInfo) {
+        if (route.cacheTtl() < 0) {
+            String error = String.format("Page %s has defined a negative cache TTL: %d", routeInfo.pageClass, route.cacheTtl());
+            processingEnv.getMessager().printMessage(ERROR, error, pageType);
+        } else if (route.cacheTtl() > 0 || route.staleWhileRevalidate()) {
+            if (routeInfo.loaderInfo == null && emptyToNull(route.loader()) == null) {
+                String warning = String.format("Page %s has defined cache settings, but no loader. Cache settings are ignored.",
+                        routeInfo.pageClass);
+                processingEnv.getMessager().printMessage(WARNING, warning, pageType);
+            }
+            routeInfo.cacheTtl = route.cacheTtl();
+            routeInfo.staleWhileRevalidate = route.staleWhileRevalidate();
+        }
+    }
+
     private List<ExecutableElement> possibleLoadersMethods(TypeElement pageType) {
         return pageType.getEnclosedElements().stream()
                 .filter(element -> element.getKind() == METHOD && element.getModifiers().contains(STATIC))
@@ -15,6 +15,7 @@
  */
 package org.jboss.elemento.router.processor;
 
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 
 import static javax.lang.model.element.Modifier.PUBLIC;
@@ -29,7 +30,7 @@ class SimpleCodeGenerator extends CodeGenerator {
     }
 
     @Override
-    void addPlace(MethodSpec.Builder constructor, String placeName, RouteInfo route) {
-        constructor.addStatement("add($N, () -> new $L())", placeName, route.pageClass);
+    CodeBlock newPage(RouteInfo route) {
+        return CodeBlock.of("new $L()", route.pageClass);
     }
 }
@@ -74,8 +74,53 @@ class LoaderTest implements RouteProcessorTest {
                 .executeTest();
     }
 
+    @Test
+    void independentRuns() {
+        // loaders must not leak from one processor run into the next one
+        for (int i = 0; i < 2; i++) {
+            Cute.blackBoxTest()
+                    .given()
+                    .processor(PROCESSOR)
+                    .andSourceFiles(readFromResource("/router/processor/loader/LoaderMethodRef.java"))
+                    .whenCompiled()
+                    .thenExpectThat()
+                    .compilationSucceeds()
+                    .andThat()
+                    .generatedSourceFile(GENERATED_PLACES)
+                    .matches(TEXT_IGNORE_LINE_ENDINGS, readFromResource("/router/processor/loader/LoaderMethodRefCode.java"))
+                    .executeTest();
+        }
+    }
+
+    @Test
+    void cachedLoader() {
+        processor.andSourceFiles(readFromResource("/router/processor/loader/CachedLoader.java"))
+                .whenCompiled()
+                .thenExpectThat()
+                .compilationSucceeds()
+                .andThat()
+                .generatedSourceFile(GENERATED_PLACES)
+                .matches(TEXT_IGNORE_LINE_ENDINGS, readFromResource("/router/processor/loader/CachedLoaderCode.java"))
+                .executeTest();
+    }
+
     // ------------------------------------------------------ warning
 
+    @Test
+    void cacheWithoutLoader() {
+        processor.andSourceFiles(readFromResource("/router/processor/loader/CacheWithoutLoader.java"))
+                .whenCompiled()
+                .thenExpectThat()
+                .compilationSucceeds()
+                .andThat()
+                .compilerMessage()
+                .ofKindWarning()
+                .atSource("/router/processor/loader/CacheWithoutLoader.java")
+                .atLine(16).atColumn(19)
+                .contains("no loader")
+                .executeTest();
+    }
+
     @Test
     void possibleLoaderMethod() {
         processor.andSourceFiles(readFromResource("/router/processor/loader/PossibleLoaderMethod.java"))
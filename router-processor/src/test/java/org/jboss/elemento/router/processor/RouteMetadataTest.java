@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router.processor;
+
+import org.jboss.elemento.router.Place;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.jboss.elemento.router.CompiledPlaces.hasOptionalParameter;
+import static org.jboss.elemento.router.CompiledPlaces.hasParameter;
+import static org.jboss.elemento.router.CompiledPlaces.segments;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Makes sure that the route metadata computed at compile time matches the parsing of {@link Place#place(String)}. */
+class RouteMetadataTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/",
+            "users",
+            "/users",
+            "/users/",
+            "/users/:id",
+            "users/:id/",
+            "/users/:id?",
+            "/users/:id/posts/:post?",
+            "/configuration/:item?/:detail?",
+            "/:id",
+            "/:id?",
+            "/a/b/c",
+            "/a/:b/c/:d",
+            "/files/:",
+            "/files/::id",
+            "/files/:?",
+            "/files/:id??",
+            "/users/id?",
+    })
+    void sameAsRuntime(String route) throws ProcessingException {
+        RouteMetadata metadata = RouteMetadata.parse(route);
+        Place place = Place.place(route);
+        Place compiled = Place.compiled(metadata.route, metadata.path, metadata.segments.toArray(new String[0]));
+
+        assertEquals(place.route(), metadata.route);
+        assertEquals(place.path(), metadata.path);
+        assertArrayEquals(segments(place), metadata.segments.toArray(new String[0]));
+        assertEquals(hasParameter(place), hasParameter(compiled));
+        assertEquals(hasOptionalParameter(place), hasOptionalParameter(compiled));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            " ",
+            "/users/:id?/posts",
+            "/:a?/:b",
+    })
+    void invalid(String route) {
+        assertThrows(ProcessingException.class, () -> RouteMetadata.parse(route));
+        assertThrows(IllegalArgumentException.class, () -> Place.place(route));
+    }
+}
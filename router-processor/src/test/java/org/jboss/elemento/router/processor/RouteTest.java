@@ -37,4 +37,70 @@ class RouteTest implements RouteProcessorTest {
                 .matches(TEXT_IGNORE_LINE_ENDINGS, readFromResource("/router/processor/route/RoutesCode.java"))
                 .executeTest();
     }
+
+    @Test
+    void asyncRoutes() {
+        Cute.blackBoxTest().given()
+                .processor(PROCESSOR)
+                .andSourceFiles(readFromResource("/router/processor/route/AsyncRoutes.java"))
+                .andUseCompilerOptions("-Aplaces.async=true")
+                .whenCompiled()
+                .thenExpectThat()
+                .compilationSucceeds()
+                .andThat()
+                .generatedSourceFile(GENERATED_PLACES)
+                .matches(TEXT_IGNORE_LINE_ENDINGS, readFromResource("/router/processor/route/AsyncRoutesCode.java"))
+                .executeTest();
+    }
+
+    @Test
+    void duplicateRoutes() {
+        Cute.blackBoxTest().given()
+                .processor(PROCESSOR)
+                .andSourceFiles(readFromResource("/router/processor/route/DuplicateRoutes.java"))
+                .whenCompiled()
+                .thenExpectThat()
+                .compilationFails()
+                .andThat()
+                .compilerMessage()
+                .ofKindError()
+                .atSource("/router/processor/route/DuplicateRoutes.java")
+                .atLine(25).atColumn(19)
+                .contains("Duplicate route '/users'")
+                .executeTest();
+    }
+
+    @Test
+    void ambiguousRoutes() {
+        Cute.blackBoxTest().given()
+                .processor(PROCESSOR)
+                .andSourceFiles(readFromResource("/router/processor/route/AmbiguousRoutes.java"))
+                .whenCompiled()
+                .thenExpectThat()
+                .compilationFails()
+                .andThat()
+                .compilerMessage()
+                .ofKindError()
+                .atSource("/router/processor/route/AmbiguousRoutes.java")
+                .atLine(25).atColumn(19)
+                .contains("Ambiguous routes")
+                .executeTest();
+    }
+
+    @Test
+    void invalidRoute() {
+        Cute.blackBoxTest().given()
+                .processor(PROCESSOR)
+                .andSourceFiles(readFromResource("/router/processor/route/InvalidRoute.java"))
+                .whenCompiled()
+                .thenExpectThat()
+                .compilationFails()
+                .andThat()
+                .compilerMessage()
+                .ofKindError()
+                .atSource("/router/processor/route/InvalidRoute.java")
+                .atLine(16).atColumn(19)
+                .contains("Invalid route")
+                .executeTest();
+    }
 }
@@ -0,0 +1,23 @@
+package router.processor.loader;
+
+import org.jboss.elemento.router.LoadedData;
+import org.jboss.elemento.router.Page;
+import org.jboss.elemento.router.Parameter;
+import org.jboss.elemento.router.Place;
+import org.jboss.elemento.router.Route;
+
+import elemental2.dom.HTMLElement;
+
+import static java.util.Collections.emptyList;
+
+public class CacheWithoutLoader {
+
+    @Route(value = "/cache-without-loader", cacheTtl = 60000)
+    public static class CacheWithoutLoaderPage implements Page {
+
+        @Override
+        public Iterable<HTMLElement> elements(Place place, Parameter parameter, LoadedData data) {
+            return emptyList();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.jboss.elemento.router;
+
+public class AnnotatedPlaces extends Places {
+  public AnnotatedPlaces() {
+    super();
+    Place place0 = Place.compiled("/cached", "/cached", "cached")
+        .loader(router.processor.loader.CachedLoader.CachedPage.loader())
+        .cache(60000);
+    add(place0, () -> new router.processor.loader.CachedLoader.CachedPage());
+    Place place1 = Place.compiled("/stale", "/stale", "stale")
+        .loader(router.processor.loader.CachedLoader.StalePage.loader())
+        .cache(1000, true);
+    add(place1, () -> new router.processor.loader.CachedLoader.StalePage());
+  }
+}
@@ -3,7 +3,7 @@ package org.jboss.elemento.router;
 public class AnnotatedPlaces extends Places {
   public AnnotatedPlaces() {
     super();
-    Place place0 = Place.place("/loader-class-ref")
+    Place place0 = Place.compiled("/loader-class-ref", "/loader-class-ref", "loader-class-ref")
         .loader(new router.processor.loader.LoaderClassRef.LoaderClass());
     add(place0, () -> new router.processor.loader.LoaderClassRef.LoaderClassRefPage());
   }
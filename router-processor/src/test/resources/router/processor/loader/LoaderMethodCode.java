@@ -3,7 +3,7 @@ package org.jboss.elemento.router;
 public class AnnotatedPlaces extends Places {
   public AnnotatedPlaces() {
     super();
-    Place place0 = Place.place("/loader-method")
+    Place place0 = Place.compiled("/loader-method", "/loader-method", "loader-method")
         .loader(router.processor.loader.LoaderMethod.LoaderMethodPage.loader());
     add(place0, () -> new router.processor.loader.LoaderMethod.LoaderMethodPage());
   }
@@ -3,7 +3,7 @@ package org.jboss.elemento.router;
 public class AnnotatedPlaces extends Places {
   public AnnotatedPlaces() {
     super();
-    Place place0 = Place.place("/loader-method-ref")
+    Place place0 = Place.compiled("/loader-method-ref", "/loader-method-ref", "loader-method-ref")
         .loader(router.processor.loader.LoaderMethodRef.Loaders.loaderMethod());
     add(place0, () -> new router.processor.loader.LoaderMethodRef.LoaderMethodRefPage());
   }
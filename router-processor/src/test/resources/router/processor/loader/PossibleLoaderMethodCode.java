@@ -3,7 +3,7 @@ package org.jboss.elemento.router;
 public class AnnotatedPlaces extends Places {
   public AnnotatedPlaces() {
     super();
-    Place place0 = Place.place("/possible-loader-method");
+    Place place0 = Place.compiled("/possible-loader-method", "/possible-loader-method", "possible-loader-method");
     add(place0, () -> new router.processor.loader.PossibleLoaderMethod.PossibleLoaderMethodPage());
   }
 }
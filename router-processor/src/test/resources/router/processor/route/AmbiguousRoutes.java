@@ -0,0 +1,32 @@
+package router.processor.route;
+
+import org.jboss.elemento.router.LoadedData;
+import org.jboss.elemento.router.Page;
+import org.jboss.elemento.router.Parameter;
+import org.jboss.elemento.router.Place;
+import org.jboss.elemento.router.Route;
+
+import elemental2.dom.HTMLElement;
+
+import static java.util.Collections.emptyList;
+
+public class AmbiguousRoutes {
+
+    @Route("/users/:id")
+    public static class IdPage implements Page {
+
+        @Override
+        public Iterable<HTMLElement> elements(Place place, Parameter parameter, LoadedData data) {
+            return emptyList();
+        }
+    }
+
+    @Route("/users/:name")
+    public static class NamePage implements Page {
+
+        @Override
+        public Iterable<HTMLElement> elements(Place place, Parameter parameter, LoadedData data) {
+            return emptyList();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package router.processor.route;
+
+import org.jboss.elemento.router.LoadedData;
+import org.jboss.elemento.router.Page;
+import org.jboss.elemento.router.Parameter;
+import org.jboss.elemento.router.Place;
+import org.jboss.elemento.router.Route;
+
+import elemental2.dom.HTMLElement;
+
+import static java.util.Collections.emptyList;
+
+public class AsyncRoutes {
+
+    @Route("/async")
+    public static class AsyncPage implements Page {
+
+        @Override
+        public Iterable<HTMLElement> elements(Place place, Parameter parameter, LoadedData data) {
+            return emptyList();
+        }
+    }
+
+    @Route(value = "/async-title", title = "Title")
+    public static class AsyncTitlePage implements Page {
+
+        @Override
+        public Iterable<HTMLElement> elements(Place place, Parameter parameter, LoadedData data) {
+            return emptyList();
+        }
+    }
+}
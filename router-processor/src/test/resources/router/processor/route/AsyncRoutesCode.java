@@ -0,0 +1,38 @@
+package org.jboss.elemento.router;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.RunAsyncCallback;
+import elemental2.promise.Promise;
+import java.lang.Override;
+import java.lang.Throwable;
+
+public class AnnotatedPlaces extends Places {
+  public AnnotatedPlaces() {
+    super();
+    Place place0 = Place.compiled("/async", "/async", "async");
+    addAsync(place0, () -> new Promise<>((resolve, reject) -> GWT.runAsync(router.processor.route.AsyncRoutes.AsyncPage.class, new RunAsyncCallback() {
+      @Override
+      public void onFailure(Throwable reason) {
+        reject.onInvoke(reason);
+      }
+
+      @Override
+      public void onSuccess() {
+        resolve.onInvoke(new router.processor.route.AsyncRoutes.AsyncPage());
+      }
+    })));
+    Place place1 = Place.compiled("/async-title", "/async-title", "async-title")
+        .title("Title");
+    addAsync(place1, () -> new Promise<>((resolve, reject) -> GWT.runAsync(router.processor.route.AsyncRoutes.AsyncTitlePage.class, new RunAsyncCallback() {
+      @Override
+      public void onFailure(Throwable reason) {
+        reject.onInvoke(reason);
+      }
+
+      @Override
+      public void onSuccess() {
+        resolve.onInvoke(new router.processor.route.AsyncRoutes.AsyncTitlePage());
+      }
+    })));
+  }
+}
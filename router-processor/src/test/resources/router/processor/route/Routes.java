@@ -21,6 +21,15 @@ public class Routes {
         }
     }
 
+    @Route("/optional/:para?")
+    public static class OptionalParameterPage implements Page {
+
+        @Override
+        public Iterable<HTMLElement> elements(Place place, Parameter parameter, LoadedData data) {
+            return emptyList();
+        }
+    }
+
     @Route("/para/:meter")
     public static class ParameterPage implements Page {
 
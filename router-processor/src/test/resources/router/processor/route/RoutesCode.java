@@ -3,19 +3,21 @@ package org.jboss.elemento.router;
 public class AnnotatedPlaces extends Places {
   public AnnotatedPlaces() {
     super();
-    Place place0 = Place.place("/basic");
+    Place place0 = Place.compiled("/basic", "/basic", "basic");
     add(place0, () -> new router.processor.route.Routes.BasicPage());
-    Place place1 = Place.place("/para/:meter");
-    add(place1, () -> new router.processor.route.Routes.ParameterPage());
-    Place place2 = Place.place("/selector")
+    Place place1 = Place.compiled("/optional/:para?", "/optional", "optional", ":para?");
+    add(place1, () -> new router.processor.route.Routes.OptionalParameterPage());
+    Place place2 = Place.compiled("/para/:meter", "/para/:meter", "para", ":meter");
+    add(place2, () -> new router.processor.route.Routes.ParameterPage());
+    Place place3 = Place.compiled("/selector", "/selector", "selector")
         .root("#selector");
-    add(place2, () -> new router.processor.route.Routes.SelectorPage());
-    Place place3 = Place.place("/title")
+    add(place3, () -> new router.processor.route.Routes.SelectorPage());
+    Place place4 = Place.compiled("/title", "/title", "title")
         .title("Title");
-    add(place3, () -> new router.processor.route.Routes.TitlePage());
-    Place place4 = Place.place("/title-and-selector")
+    add(place4, () -> new router.processor.route.Routes.TitlePage());
+    Place place5 = Place.compiled("/title-and-selector", "/title-and-selector", "title-and-selector")
         .title("Title")
         .root("#selector");
-    add(place4, () -> new router.processor.route.Routes.TitleAndSelectorPage());
+    add(place5, () -> new router.processor.route.Routes.TitleAndSelectorPage());
   }
 }
@@ -22,19 +22,27 @@ import org.jboss.elemento.router.Parameter;
 import org.jboss.elemento.router.Place;
 import org.jboss.elemento.router.PlaceManager;
 import org.jboss.elemento.router.Places;
+import org.jboss.elemento.router.Prefetch;
 
+import elemental2.core.JsDate;
+import elemental2.dom.AbortSignal;
 import elemental2.dom.HTMLElement;
+import elemental2.dom.RequestInit;
 import elemental2.dom.Response;
 import elemental2.promise.Promise;
 import jsinterop.base.Js;
 import jsinterop.base.JsPropertyMap;
 
+import static elemental2.dom.DomGlobal.clearInterval;
 import static elemental2.dom.DomGlobal.fetch;
+import static elemental2.dom.DomGlobal.setInterval;
 import static java.util.Arrays.asList;
 import static org.jboss.elemento.Elements.a;
 import static org.jboss.elemento.Elements.body;
 import static org.jboss.elemento.Elements.div;
 import static org.jboss.elemento.Elements.h;
+import static org.jboss.elemento.Elements.onAttach;
+import static org.jboss.elemento.Elements.onDetach;
 import static org.jboss.elemento.Elements.p;
 import static org.jboss.elemento.Elements.span;
 import static org.jboss.elemento.router.Place.place;
@@ -107,4 +115,77 @@ public class PlaceManagerDemo {
         }
     }
     // @end region = placeManager
+
+    // @start region = abortSignal
+    public static class CancellableTimeLoader implements LoadData<String> {
+
+        @Override
+        public Promise<String> load(Place place, Parameter parameter) {
+            return load(place, parameter, null);
+        }
+
+        @Override
+        public Promise<String> load(Place place, Parameter parameter, AbortSignal signal) {
+            String url = "https://worldtimeapi.org/api/timezone/" + parameter.get("area") + "/" + parameter.get("location");
+            RequestInit init = RequestInit.create();
+            init.setSignal(signal); // cancels the request if the user navigates elsewhere
+            return fetch(url, init)
+                    .then(Response::json)
+                    .then(json -> {
+                        JsPropertyMap<String> map = Js.cast(json);
+                        return Promise.resolve(map.get("datetime"));
+                    });
+        }
+    }
+    // @end region = abortSignal
+
+    // @start region = keepAlive
+    public static class ClockPage implements Page {
+
+        private HTMLElement clock;
+        private double handle;
+
+        @Override
+        public Iterable<HTMLElement> elements(Place place, Parameter parameter, LoadedData data) {
+            clock = span().element();
+            observe();
+            return asList(
+                    h(1, "Clock").element(),
+                    p().add("It's ").add(clock).element());
+        }
+
+        @Override
+        public void resume() {
+            // attach and detach observers are one-shot: parking the page has fired the detach observer,
+            // so register both observers again
+            observe();
+        }
+
+        private void observe() {
+            onAttach(clock, __ -> handle = setInterval(___ -> clock.textContent = new JsDate().toLocaleTimeString(), 1_000));
+            onDetach(clock, __ -> clearInterval(handle));
+        }
+    }
+
+    public void keepAlive() {
+        PlaceManager placeManager = new PlaceManager()
+                .root(By.id("main"))
+                .keepAlive(5)
+                .register(Places.places().add(place("/clock"), ClockPage::new));
+        placeManager.start();
+    }
+    // @end region = keepAlive
+
+    public void prefetch(Places places) {
+        // @start region = prefetch
+        PlaceManager placeManager = new PlaceManager()
+                .root(By.id("main"))
+                .prefetch(Prefetch.prefetch()
+                        .viewport(true)
+                        .concurrency(2)
+                        .budget(5))
+                .register(places);
+        placeManager.start();
+        // @end region = prefetch
+    }
 }
@@ -5,6 +5,7 @@ import org.jboss.elemento.router.Place;
 import org.jboss.elemento.router.Places;
 
 import elemental2.dom.HTMLElement;
+import elemental2.promise.Promise;
 
 import static java.util.Collections.emptyList;
 import static org.jboss.elemento.router.Place.place;
@@ -52,4 +53,22 @@ public class PlacesDemo {
         }
     }
     // @end region = places
+
+    public static class AdminPage extends EmptyPage {
+    }
+
+    // loads the code of a chunk, e.g. using a GWT split point or a J2CL dynamic chunk
+    private Promise<Void> loadChunk(String name) {
+        return Promise.resolve((Void) null);
+    }
+
+    public void async() {
+        // @start region = async
+        Places places = places()
+                .add(place("/"), EmptyPage::new)
+                // AdminPage and its dependencies are only downloaded when /admin is visited
+                .addAsync(place("/admin"), () -> loadChunk("admin")
+                        .then(__ -> Promise.resolve(new AdminPage())));
+        // @end region = async
+    }
 }
@@ -0,0 +1,273 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.jboss.elemento.logger.Logger;
+
+import elemental2.dom.AbortController;
+import elemental2.dom.AbortSignal;
+import elemental2.dom.EventListener;
+import elemental2.promise.Promise;
+
+/**
+ * Cache for the results of {@link LoadData}. Results are keyed by place and parameters. The cache
+ * <ul>
+ * <li>merges concurrent loads for the same key, so that they share one promise,</li>
+ * <li>keeps results for the {@linkplain Place#cache(int) time to live} of the place, and</li>
+ * <li>returns stale results immediately and refreshes them in the background if the place uses
+ * {@linkplain Place#cache(int, boolean) stale-while-revalidate}.</li>
+ * <li>keeps {@linkplain #prefetch(Place, Parameter, int) prefetched} results until they're used by the next navigation.</li>
+ * </ul>
+ * If the cache exceeds {@link #MAX_ENTRIES}, the least recently used result is evicted.
+ */
+class DataCache {
+
+    static final int MAX_ENTRIES = 256;
+    private static final Logger logger = Logger.getLogger(DataCache.class.getName());
+
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    private final Map<String, Pending> pending;
+
+    DataCache() {
+        this(System::currentTimeMillis);
+    }
+
+    DataCache(LongSupplier clock) {
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>();
+        this.pending = new HashMap<>();
+    }
+
+    /**
+     * Returns the data of the given place. The signal belongs to the navigation which requested the data. If the signal is
+     * aborted and no other navigation waits for the same load, the load is aborted as well.
+     */
+    Promise<Object> load(Place place, Parameter parameter, AbortSignal signal) {
+        String key = PageCache.key(place, parameter);
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            if (entry.prefetched && !place.cached()) {
+                // prefetched data is used once
+                if (clock.getAsLong() - entry.timestamp < entry.maxAge) {
+                    logger.debug("Use prefetched data for %s", place);
+                    return resolve(entry.data);
+                }
+            } else if (place.cached()) {
+                entries.put(key, entry); // most recently used
+                if (fresh(place, entry)) {
+                    logger.debug("Use cached data for %s", place);
+                    return resolve(entry.data);
+                } else if (place.staleWhileRevalidate) {
+                    logger.debug("Use stale data for %s and revalidate", place);
+                    fetch(key, place, parameter, null, 0).catch_(error -> {
+                        logger.warn("Unable to revalidate data for %s: %s", place, String.valueOf(error));
+                        return null;
+                    });
+                    return resolve(entry.data);
+                } else {
+                    entries.remove(key);
+                }
+            }
+        }
+        return fetch(key, place, parameter, signal, 0);
+    }
+
+    /**
+     * Loads the data of the given place in the background. Unless the place is {@linkplain Place#cache(int) cached}, the result
+     * is kept for {@code maxAge} milliseconds and used by the next call to {@link #load(Place, Parameter, AbortSignal)}.
+     *
+     * @return the pending load or {@code null} if the place has no loader or the data is already available
+     */
+    Promise<Object> prefetch(Place place, Parameter parameter, int maxAge) {
+        if (place.loader == null) {
+            return null;
+        }
+        String key = PageCache.key(place, parameter);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long age = clock.getAsLong() - entry.timestamp;
+            if (entry.prefetched ? age < entry.maxAge : fresh(place, entry)) {
+                return null;
+            }
+        }
+        if (pending.containsKey(key)) {
+            return null;
+        }
+        logger.debug("Prefetch data for %s", place);
+        return fetch(key, place, parameter, null, maxAge);
+    }
+
+    /**
+     * Removes all cached results of the given place. Loads of the place which are still running are not aborted, but their
+     * results are not cached.
+     */
+    void invalidate(Place place) {
+        String prefix = place.route() + " ";
+        entries.keySet().removeIf(key -> key.equals(place.route()) || key.startsWith(prefix));
+        pending.entrySet().removeIf(entry -> {
+            String key = entry.getKey();
+            if (key.equals(place.route()) || key.startsWith(prefix)) {
+                entry.getValue().invalidated = true;
+                return true;
+            }
+            return false;
+        });
+    }
+
+    boolean fresh(Place place, Entry entry) {
+        return clock.getAsLong() - entry.timestamp < place.cacheTtl;
+    }
+
+    Entry get(String key) {
+        return entries.get(key);
+    }
+
+    void put(String key, Object data) {
+        put(key, new Entry(data, clock.getAsLong(), false, 0));
+    }
+
+    void put(String key, Entry entry) {
+        entries.remove(key);
+        entries.put(key, entry);
+        for (Iterator<String> iterator = entries.keySet().iterator();
+                iterator.hasNext() && entries.size() > MAX_ENTRIES; ) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int pending() {
+        return pending.size();
+    }
+
+    // overridden in JVM tests, where promises and abort controllers are not available
+    Promise<Object> resolve(Object data) {
+        return Promise.resolve(data);
+    }
+
+    AbortController abortController() {
+        return new AbortController();
+    }
+
+    /**
+     * Starts a new load or joins the pending load for the given key. Loads started by a navigation ({@code signal != null})
+     * are aborted when all navigations waiting for them have been aborted. Background loads (prefetches and revalidations) are
+     * never aborted.
+     */
+    @SuppressWarnings("unchecked")
+    private Promise<Object> fetch(String key, Place place, Parameter parameter, AbortSignal signal, int maxAge) {
+        Pending current = pending.get(key);
+        if (current != null) {
+            logger.debug("Join pending load for %s", place);
+        } else {
+            Pending self = new Pending(signal == null, maxAge, abortController());
+            self.promise = (Promise<Object>) place.loader.load(place, parameter, self.controller.signal);
+            self.promise.then(data -> {
+                settle(key, self);
+                if (!self.invalidated) {
+                    if (place.cached()) {
+                        put(key, new Entry(data, clock.getAsLong(), false, 0));
+                    } else if (self.maxAge > 0 && self.navigations == 0) {
+                        put(key, new Entry(data, clock.getAsLong(), true, self.maxAge));
+                    }
+                }
+                return null;
+            }, error -> {
+                settle(key, self);
+                return null;
+            });
+            pending.put(key, self);
+            current = self;
+        }
+        if (signal != null) {
+            join(key, current, signal);
+        }
+        return current.promise;
+    }
+
+    private void join(String key, Pending current, AbortSignal signal) {
+        current.navigations++;
+        EventListener listener = event -> {
+            current.navigations--;
+            if (current.navigations == 0 && !current.background && !current.settled) {
+                logger.debug("Abort pending load for %s", key);
+                settle(key, current);
+                current.controller.abort();
+            }
+        };
+        signal.addEventListener("abort", listener);
+        // the listener is removed once the load has been settled
+        current.joined.add(() -> signal.removeEventListener("abort", listener));
+    }
+
+    private void settle(String key, Pending current) {
+        current.settled = true;
+        for (Runnable removeListener : current.joined) {
+            removeListener.run();
+        }
+        current.joined.clear();
+        if (pending.get(key) == current) {
+            pending.remove(key);
+        }
+    }
+
+    private static class Pending {
+
+        final boolean background;
+        final int maxAge; // > 0 if prefetched
+        final AbortController controller;
+        final List<Runnable> joined; // removes the abort listeners of the navigations
+        Promise<Object> promise;
+        int navigations; // waiting for this load
+        boolean settled;
+        boolean invalidated; // the result must not be cached
+
+        Pending(boolean background, int maxAge, AbortController controller) {
+            this.background = background;
+            this.maxAge = maxAge;
+            this.controller = controller;
+            this.joined = new ArrayList<>();
+        }
+    }
+
+    static class Entry {
+
+        final Object data;
+        final long timestamp;
+        final boolean prefetched;
+        final int maxAge; // of prefetched data
+
+        Entry(Object data, long timestamp, boolean prefetched, int maxAge) {
+            this.data = data;
+            this.timestamp = timestamp;
+            this.prefetched = prefetched;
+            this.maxAge = maxAge;
+        }
+    }
+}
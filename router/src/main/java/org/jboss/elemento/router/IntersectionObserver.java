@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import elemental2.core.JsArray;
+import elemental2.dom.Element;
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+/**
+ * Minimal binding of the intersection observer API used by the {@link Prefetcher}.
+ *
+ * @see <a href=
+ * "https://developer.mozilla.org/en-US/docs/Web/API/IntersectionObserver">https://developer.mozilla.org/en-US/docs/Web/API/IntersectionObserver</a>
+ */
+@JsType(isNative = true, namespace = JsPackage.GLOBAL)
+class IntersectionObserver {
+
+    public IntersectionObserver(Callback callback, Options options) {
+    }
+
+    public native void disconnect();
+
+    public native void observe(Element element);
+
+    public native void unobserve(Element element);
+
+    @JsFunction
+    @FunctionalInterface
+    interface Callback {
+
+        void onIntersection(JsArray<Entry> entries, IntersectionObserver observer);
+    }
+
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    static class Entry {
+
+        public boolean isIntersecting;
+        public Element target;
+    }
+
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    static class Options {
+
+        public String rootMargin;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.jboss.elemento.router;
 
+import elemental2.dom.AbortSignal;
 import elemental2.promise.Promise;
 
 /**
@@ -33,4 +34,22 @@ public interface LoadData<T> {
      * @return a Promise representing the asynchronous loading operation
      */
     Promise<T> load(Place place, Parameter parameter);
+
+    /**
+     * Loads data for a given place using a specified parameter. The signal is aborted if the navigation is canceled, e.g.
+     * because the user navigated to another place before the data has been loaded. Override this method to cancel pending
+     * requests, e.g. by passing the signal to {@code fetch()}.
+     * <p>
+     * The default implementation ignores the signal and calls {@link #load(Place, Parameter)}.
+     * <p>
+     * {@snippet class = PlaceManagerDemo region = abortSignal}
+     *
+     * @param place     the place for which data needs to be loaded
+     * @param parameter the parameter used for loading data
+     * @param signal    the signal that is aborted when the navigation is canceled
+     * @return a Promise representing the asynchronous loading operation
+     */
+    default Promise<T> load(Place place, Parameter parameter, AbortSignal signal) {
+        return load(place, parameter);
+    }
 }
@@ -37,9 +37,37 @@ public interface Page {
     }
 
     /**
-     * Called when the elements of this page have been detached. The default implementation does nothing.
+     * Called when the elements of this page have been detached. If the keep-alive cache is enabled, this method is called when
+     * the page is evicted from the cache. The default implementation does nothing.
      */
     default void detach() {
         // noop;
     }
+
+    /**
+     * Called when the elements of this page have been parked in the keep-alive cache of the {@link PlaceManager}. Use this
+     * method to stop background work like timers or subscriptions. The default implementation does nothing.
+     *
+     * @see PlaceManager#keepAlive(int)
+     */
+    default void suspend() {
+        // noop;
+    }
+
+    /**
+     * Called when the elements of this page have been re-inserted from the keep-alive cache of the {@link PlaceManager}. Use
+     * this method to restart background work or to refresh stale data. The default implementation does nothing.
+     * <p>
+     * Parking a page removes its elements from the document. Observers registered with
+     * {@link org.jboss.elemento.Elements#onDetach(HTMLElement, org.jboss.elemento.ObserverCallback) onDetach()} are
+     * therefore called when the page is parked, and observers registered with
+     * {@link org.jboss.elemento.Elements#onAttach(HTMLElement, org.jboss.elemento.ObserverCallback) onAttach()} are not
+     * called again when the page is resumed. Both kinds of observers are one-shot: register them again in this method.
+     * {@snippet class = PlaceManagerDemo region = keepAlive}
+     *
+     * @see PlaceManager#keepAlive(int)
+     */
+    default void resume() {
+        // noop;
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import elemental2.dom.DocumentFragment;
+import elemental2.dom.HTMLElement;
+
+/**
+ * Keep-alive cache for pages. Pages are keyed by place and parameters. When the cache exceeds its capacity, the least recently
+ * used page is evicted and {@linkplain Page#detach() detached}.
+ */
+class PageCache {
+
+    static String key(Place place, Parameter parameter) {
+        return parameter.isEmpty() ? place.route() : place.route() + " " + parameter.path();
+    }
+
+    private final Map<String, Entry> entries;
+    private int capacity;
+
+    PageCache() {
+        this.entries = new LinkedHashMap<>();
+        this.capacity = 0;
+    }
+
+    boolean enabled() {
+        return capacity > 0;
+    }
+
+    void capacity(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        evict();
+    }
+
+    /** Removes and returns the entry for the given key or {@code null} if there's no such entry. */
+    Entry take(String key) {
+        return entries.remove(key);
+    }
+
+    void park(String key, Entry entry) {
+        entries.remove(key);
+        entries.put(key, entry);
+        evict();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext() && entries.size() > capacity; ) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            entry.page.detach();
+        }
+    }
+
+    static class Entry {
+
+        final Page page;
+        final HTMLElement root;
+        final DocumentFragment fragment;
+        final double scrollTop; // of the root element
+        final double scrollY; // of the window
+
+        Entry(Page page, HTMLElement root, DocumentFragment fragment, double scrollTop, double scrollY) {
+            this.page = page;
+            this.root = root;
+            this.fragment = fragment;
+            this.scrollTop = scrollTop;
+            this.scrollY = scrollY;
+        }
+    }
+}
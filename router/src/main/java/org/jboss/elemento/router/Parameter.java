@@ -313,6 +313,24 @@ public class Parameter {
         }
     }
 
+    /**
+     * Creates a parameter from segments which have already been matched against a route.
+     *
+     * @param names  the parameter name for each segment of the route, {@code null} for static segments
+     * @param values the segments of the path
+     */
+    Parameter(String path, String[] names, String[] values) {
+        this.path = path;
+        this.params = new HashMap<>();
+        this.rawParams = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (names[i] != null) {
+                rawParams.put(names[i], values[i]);
+                params.put(names[i], encoder.decode(values[i]));
+            }
+        }
+    }
+
     // ------------------------------------------------------ api
 
     public boolean isEmpty() {
@@ -15,6 +15,7 @@
  */
 package org.jboss.elemento.router;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -26,6 +27,8 @@ import static elemental2.dom.DomGlobal.document;
 import static org.jboss.elemento.Elements.querySelector;
 import static org.jboss.elemento.router.Parameter.hasOptionalParameter;
 import static org.jboss.elemento.router.Parameter.hasParameter;
+import static org.jboss.elemento.router.Parameter.isOptionalParameter;
+import static org.jboss.elemento.router.Parameter.isParameter;
 import static org.jboss.elemento.router.Parameter.stripOptionalParameters;
 import static org.jboss.elemento.router.Parameter.validateOptionalParameters;
 import static org.jboss.elemento.router.Path.normalize;
@@ -46,7 +49,8 @@ import static org.jboss.elemento.router.Path.normalize;
  * {@link Page#elements(Place, Parameter, LoadedData)}.
  * <p>
  * If the page has a {@link LoadData}, the {@link PlaceManager} will call it and pass the loaded data as {@link LoadedData} to
- * the page when calling {@link Page#elements(Place, Parameter, LoadedData)}.
+ * the page when calling {@link Page#elements(Place, Parameter, LoadedData)}. The loaded data can be cached using
+ * {@link #cache(int, boolean)}.
  * <p>
  * If a title is given, the {@link PlaceManager} will change the document title accordingly. If a custom root selector or
  * element is given, the {@link PlaceManager} will replace the contents of that element with the {@link Page} registered for
@@ -60,6 +64,25 @@ public class Place {
         return new Place(route);
     }
 
+    /**
+     * Creates a place from route metadata which has been computed at compile time. The route must be valid and normalized,
+     * the path must be the route without optional parameters, and the segments must be the segments of the route. No
+     * validation or parsing takes place.
+     * <p>
+     * <strong>This method is meant for the code generated by the router annotation processor only.</strong> Inconsistent
+     * metadata is not detected unless assertions are enabled, and leads to places which don't match the expected paths. Use
+     * {@link #place(String)} in your own code.
+     *
+     * @param route    the normalized route
+     * @param path     the route with optional parameter segments removed
+     * @param segments the segments of the route
+     */
+    public static Place compiled(String route, String path, String... segments) {
+        assert route.equals(normalize(route)) && path.equals(stripOptionalParameters(route)) &&
+                Arrays.equals(segments, Path.split(route)) : "Invalid compiled route metadata for '" + route + "'";
+        return new Place(route, path, segments);
+    }
+
     // ------------------------------------------------------ instance
 
     private final String route;
@@ -68,8 +91,11 @@ public class Place {
 
     final boolean hasParameter;
     final boolean hasOptionalParameter;
+    private String[] segments;
     Supplier<HTMLElement> root;
     LoadData<?> loader;
+    int cacheTtl;
+    boolean staleWhileRevalidate;
 
     Place(String route) {
         if (route == null || route.trim().isEmpty()) {
@@ -84,6 +110,25 @@ public class Place {
         this.root = null;
     }
 
+    // precompiled route
+    Place(String route, String path, String[] segments) {
+        boolean parameter = false;
+        boolean optionalParameter = false;
+        for (String segment : segments) {
+            if (isParameter(segment)) {
+                parameter = true;
+                optionalParameter = optionalParameter || isOptionalParameter(segment);
+            }
+        }
+        this.route = route;
+        this.path = path;
+        this.segments = segments;
+        this.hasParameter = parameter;
+        this.hasOptionalParameter = optionalParameter;
+        this.title = null;
+        this.root = null;
+    }
+
     // copy constructor
     Place(String route, Place other) {
         this.route = route;
@@ -92,6 +137,9 @@ public class Place {
         this.root = other.root;
         this.hasParameter = other.hasParameter;
         this.hasOptionalParameter = other.hasOptionalParameter;
+        this.loader = other.loader;
+        this.cacheTtl = other.cacheTtl;
+        this.staleWhileRevalidate = other.staleWhileRevalidate;
     }
 
     @Override
@@ -120,6 +168,12 @@ public class Place {
         if (loader != null) {
             builder.append(", <loader>");
         }
+        if (cached()) {
+            builder.append(", cache ").append(cacheTtl).append("ms");
+            if (staleWhileRevalidate) {
+                builder.append(" (swr)");
+            }
+        }
         builder.append(')');
         return builder.toString();
     }
@@ -153,6 +207,33 @@ public class Place {
         return this;
     }
 
+    /**
+     * Caches the data returned by the {@linkplain #loader(LoadData) loader} for the given time. The data is cached per set of
+     * parameter values. Concurrent navigations to the same place share one load, whether caching is enabled or not.
+     *
+     * @param ttl the time to live in milliseconds. Use {@code 0} to disable caching (the default).
+     */
+    public Place cache(int ttl) {
+        return cache(ttl, false);
+    }
+
+    /**
+     * Caches the data returned by the {@linkplain #loader(LoadData) loader} for the given time. If
+     * {@code staleWhileRevalidate} is {@code true}, expired data is still used to render the page immediately, and fresh data
+     * is loaded in the background. The fresh data is used the next time the place is visited.
+     *
+     * @param ttl                  the time to live in milliseconds
+     * @param staleWhileRevalidate whether to use expired data while loading fresh data in the background
+     */
+    public Place cache(int ttl, boolean staleWhileRevalidate) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("TTL must not be negative!");
+        }
+        this.cacheTtl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        return this;
+    }
+
     // ------------------------------------------------------ getters
 
     /**
@@ -175,4 +256,16 @@ public class Place {
     public String title() {
         return title;
     }
+
+    /** Returns the segments of the route. The route is split on first use unless the place has been precompiled. */
+    String[] segments() {
+        if (segments == null) {
+            segments = Path.split(route);
+        }
+        return segments;
+    }
+
+    boolean cached() {
+        return cacheTtl > 0 || staleWhileRevalidate;
+    }
 }
@@ -17,7 +17,6 @@ package org.jboss.elemento.router;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
@@ -28,6 +27,8 @@ import org.jboss.elemento.By;
 import org.jboss.elemento.Elements;
 import org.jboss.elemento.logger.Logger;
 
+import elemental2.dom.AbortController;
+import elemental2.dom.DocumentFragment;
 import elemental2.dom.Element;
 import elemental2.dom.Event;
 import elemental2.dom.EventTarget;
@@ -51,7 +52,6 @@ import static org.jboss.elemento.Elements.removeChildrenFrom;
 import static org.jboss.elemento.EventType.bind;
 import static org.jboss.elemento.EventType.click;
 import static org.jboss.elemento.EventType.popstate;
-import static org.jboss.elemento.router.Parameter.match;
 
 /**
  * The place manager is the central part of the router. It keeps track of registered places, handles navigation events, and
@@ -70,22 +70,40 @@ public class PlaceManager {
     private static final Logger logger = Logger.getLogger(PlaceManager.class.getName());
 
     private final Map<String, Place> places;
+    private final RouteTrie routes;
+    private final PageCache pageCache;
+    private final DataCache dataCache;
     private final Map<Place, Supplier<Page>> pages;
+    private final Map<Place, Supplier<Promise<Page>>> asyncPages;
     private final List<BeforePlaceHandler> beforeHandlers;
     private final List<AfterPlaceHandler> afterHandlers;
     private Base base;
     private Place currentPlace;
     private Page currentPage;
+    private String currentKey;
+    private HTMLElement currentRoot;
     private Supplier<HTMLElement> root;
     private Function<String, String> title;
     private Function<Place, Page> notFound;
     private Supplier<Page> noData;
     private BiFunction<Place, String, Page> errorPage;
     private LinkSelector linkSelector;
+    private Prefetch prefetch;
+    private Prefetcher prefetcher;
+    private int navigation;
+    private AbortController pendingNavigation;
 
     public PlaceManager() {
+        this(new DataCache());
+    }
+
+    PlaceManager(DataCache dataCache) {
         this.places = new HashMap<>();
+        this.routes = new RouteTrie();
+        this.pageCache = new PageCache();
+        this.dataCache = dataCache;
         this.pages = new HashMap<>();
+        this.asyncPages = new HashMap<>();
         this.beforeHandlers = new ArrayList<>();
         this.afterHandlers = new ArrayList<>();
         this.base = new Base("/");
@@ -218,6 +236,36 @@ public class PlaceManager {
         return this;
     }
 
+    /**
+     * Enables the keep-alive cache for pages. Instead of being thrown away, the elements of the current page are parked in a
+     * {@link elemental2.dom.DocumentFragment} when navigating to another place. When navigating back to the same place with the
+     * same parameters, the parked elements are re-inserted, and the scroll position is restored. No loader is called, and
+     * the page is not created again.
+     * <p>
+     * Parked pages are {@linkplain Page#suspend() suspended} and {@linkplain Page#resume() resumed} when they're
+     * re-inserted. If the cache exceeds the given capacity, the least recently used page is evicted and
+     * {@linkplain Page#detach() detached}. Since parking removes the elements from the document, attach and detach observers
+     * of a parked page fire as if the page had been removed. See {@link Page#resume()} for how to register them again.
+     *
+     * @param capacity the maximum number of parked pages. Use {@code 0} to disable the cache (the default).
+     */
+    public PlaceManager keepAlive(int capacity) {
+        pageCache.capacity(capacity);
+        return this;
+    }
+
+    /**
+     * Enables prefetching of data. The data of places is loaded in the background when the user hovers over or focuses a link,
+     * or, if configured, when a link scrolls into view. Navigation then uses the prefetched data instead of calling the
+     * {@link LoadData} again. Only links matching the {@linkplain #linkSelector(String) link selector} are prefetched.
+     *
+     * @param prefetch the prefetch configuration or {@code null} to disable prefetching (the default)
+     */
+    public PlaceManager prefetch(Prefetch prefetch) {
+        this.prefetch = prefetch;
+        return this;
+    }
+
     /**
      * Sets the link selector for selecting links that should be monitored by this place manager. This method uses a CSS
      * selector string to define the selector.
@@ -262,27 +310,63 @@ public class PlaceManager {
     }
 
     /**
-     * Registers a new place and its associated page supplier with the place manager.
+     * Registers a new place and its associated page supplier with the place manager. If the route of the place is ambiguous
+     * with the route of an already registered place (e.g. {@code /users/:id} and {@code /users/:name}), a warning is logged,
+     * and the place registered first wins.
      *
      * @param place the {@link Place} object representing a specific location in the application
      * @param page  a {@link Supplier} that provides the {@link Page} associated with the given place
      */
     public PlaceManager register(Place place, Supplier<Page> page) {
-        places.put(place.route(), place);
+        asyncPages.remove(place);
         pages.put(place, page);
+        return registerPlace(place);
+    }
+
+    /**
+     * Registers a new place and its associated asynchronous page supplier with the place manager. Like a synchronous supplier,
+     * the supplier is called each time the place is visited, and the place manager waits for the page before it's rendered.
+     * If the place has a {@link LoadData}, the data and the page are loaded in parallel. Use this method to move pages into
+     * their own code splits (e.g. GWT {@code runAsync} split points or J2CL chunks).
+     *
+     * @param place the {@link Place} object representing a specific location in the application
+     * @param page  a {@link Supplier} that provides a promise of the {@link Page} associated with the given place
+     * @see Places#addAsync(Place, Supplier)
+     */
+    public PlaceManager registerAsync(Place place, Supplier<Promise<Page>> page) {
+        pages.remove(place);
+        asyncPages.put(place, page);
+        return registerPlace(place);
+    }
+
+    private PlaceManager registerPlace(Place place) {
+        places.put(place.route(), place);
+        if (place.hasParameter) {
+            Place ambiguous = routes.add(place);
+            if (ambiguous != null) {
+                logger.warn("Ambiguous routes: '%s' and '%s' match the same paths. '%s' wins.",
+                        ambiguous.route(), place.route(), ambiguous.route());
+            }
+        }
         return this;
     }
 
     /**
-     * Registers a collection of places and their associated page suppliers with the PlaceManager.
+     * Registers a collection of places and their associated page suppliers with the PlaceManager. The places are registered
+     * in the order they were added to {@link Places}. Ambiguous routes are reported as described in
+     * {@link #register(Place, Supplier)}.
      *
      * @param places a {@link Places} object containing a collection of {@link Place} objects and their corresponding
      *               {@link Supplier} for {@link Page}. Each entry in the collection represents a mapping between a place and a
      *               page supplier.
      */
     public PlaceManager register(Places places) {
-        for (Map.Entry<Place, Supplier<Page>> entry : places) {
-            register(entry.getKey(), entry.getValue());
+        for (Place place : places.order) {
+            if (places.pages.containsKey(place)) {
+                register(place, places.pages.get(place));
+            } else {
+                registerAsync(place, places.asyncPages.get(place));
+            }
         }
         return this;
     }
@@ -298,6 +382,15 @@ public class PlaceManager {
         return currentPlace;
     }
 
+    /**
+     * Removes the cached data of the given place. The next navigation to the place will call its {@link LoadData} again.
+     *
+     * @see Place#cache(int, boolean)
+     */
+    public void invalidate(Place place) {
+        dataCache.invalidate(place);
+    }
+
     public Place place(String path) {
         PlaceManagerStruct pms = findPlace(path);
         return pms.ok() ? pms.place : null;
@@ -320,12 +413,18 @@ public class PlaceManager {
     public void start() {
         bindClickHandler();
         bindHistoryHandler();
+        if (prefetch != null) {
+            prefetcher = new Prefetcher(prefetch, this::prefetchLink, a -> linkSelector.matches(a));
+            prefetcher.start();
+        }
         PlaceManagerStruct pms = findPlace(location.pathname);
         gotoPlace(pms).then(success -> {
             if (success) {
                 updateHistory(pms, false);
             } else {
-                logger.error("Unable to start place manager with " + pms.place);
+                if (!superseded(pms)) {
+                    logger.error("Unable to start place manager with " + pms.place);
+                }
             }
             return null;
         });
@@ -363,7 +462,7 @@ public class PlaceManager {
         gotoPlace(pms).then(success -> {
             if (success) {
                 updateHistory(pms, true);
-            } else {
+            } else if (!superseded(pms)) {
                 logger.error("Unable to go to " + pms.place);
             }
             return null;
@@ -424,7 +523,7 @@ public class PlaceManager {
                     gotoPlace(pms).then(success -> {
                         if (success) {
                             updateHistory(pms, true);
-                        } else {
+                        } else if (!superseded(pms)) {
                             logger.error("Unable to go to " + pms.place);
                         }
                         return null;
@@ -434,12 +533,12 @@ public class PlaceManager {
         });
     }
 
-    private HTMLAnchorElement anchorElement(Event event) {
+    static HTMLAnchorElement anchorElement(Event event) {
         HTMLAnchorElement anchorElement = null;
         EventTarget target = event.target;
         if (target instanceof HTMLAnchorElement) {
             anchorElement = ((HTMLAnchorElement) target);
-        } else {
+        } else if (target instanceof Element) {
             HTMLElement closest = Elements.closest(((Element) target), By.element("a"));
             if (closest instanceof HTMLAnchorElement) {
                 anchorElement = ((HTMLAnchorElement) closest);
@@ -455,6 +554,17 @@ public class PlaceManager {
         return false;
     }
 
+    private Promise<?> prefetchLink(HTMLAnchorElement a) {
+        URL url = new URL(a.href, location.origin);
+        if (shouldHandleLink(a, url)) {
+            PlaceManagerStruct pms = findPlace(url.pathname);
+            if (pms.ok() && hasPage(pms.place)) {
+                return dataCache.prefetch(pms.place, pms.parameter, prefetch.maxAge);
+            }
+        }
+        return null;
+    }
+
     private void bindHistoryHandler() {
         bind(window, popstate, event -> {
             if (event.state != null) {
@@ -474,12 +584,10 @@ public class PlaceManager {
             pms.place = places.get(relativePath);
             if (pms.place == null) {
                 logger.debug("No direct match for '%s'. Looking for parameterized place.", path);
-                for (Iterator<Place> iterator = places.values().iterator(); iterator.hasNext() && pms.place == null; ) {
-                    Place possiblePlace = iterator.next();
-                    if (possiblePlace.hasParameter && match(possiblePlace.route(), relativePath)) {
-                        pms.place = possiblePlace;
-                        pms.parameter = new Parameter(pms.place.route(), relativePath);
-                    }
+                RouteTrie.Match match = routes.match(relativePath);
+                if (match != null) {
+                    pms.place = match.place;
+                    pms.parameter = match.parameter;
                 }
             }
         }
@@ -496,7 +604,7 @@ public class PlaceManager {
 
     private Promise<Boolean> gotoPlace(PlaceManagerStruct pms) {
         if (pms.ok()) {
-            if (pages.containsKey(pms.place)) {
+            if (hasPage(pms.place)) {
                 logger.debug("Goto %s", pms.place);
                 try {
                     for (BeforePlaceHandler handler : beforeHandlers) {
@@ -508,28 +616,77 @@ public class PlaceManager {
                         }
                     }
                 } catch (Throwable t) {
+                    beginNavigation(pms);
                     pms.page = errorPage(pms.place, "Error in place before handler: " + t.getMessage());
                     return gotoPage(pms);
                 }
+                // the superseded navigation is aborted after this navigation has joined a pending load of the same data
+                AbortController superseded = supersede(pms);
+                if (pageCache.enabled()) {
+                    PageCache.Entry entry = pageCache.take(PageCache.key(pms.place, pms.parameter));
+                    if (entry != null) {
+                        abort(superseded);
+                        logger.debug("Resume %s", pms.place);
+                        return resumePage(pms, entry);
+                    }
+                }
                 Supplier<Page> pageSupplier = pages.get(pms.place);
+                Supplier<Promise<Page>> asyncPageSupplier = asyncPages.get(pms.place);
+                Promise<Page> asyncPage = asyncPageSupplier != null ? loadPage(pms, asyncPageSupplier) : null;
                 if (pms.place.loader == null) {
+                    abort(superseded);
+                    if (asyncPage != null) {
+                        return asyncPage.then(page -> {
+                            if (superseded(pms)) {
+                                logger.debug("Discard page for %s: Navigation has been superseded", pms.place);
+                                return Promise.resolve(false);
+                            }
+                            pms.page = page;
+                            return gotoPage(pms);
+                        });
+                    }
                     logger.debug("Create page for %s", pms.place);
                     try {
                         pms.page = pageSupplier.get();
                     } catch (Throwable t) {
+                        pms.errorType = ErrorType.UNDEFINED;
                         pms.page = errorPage(pms.place, "Error when creating page: " + t.getMessage());
                     }
                     return gotoPage(pms);
                 } else {
                     logger.debug("Load data for %s", pms.place);
-                    return pms.place.loader.load(pms.place, pms.parameter)
+                    AbortController controller = abortController();
+                    pendingNavigation = controller;
+                    Promise<Object> loading = dataCache.load(pms.place, pms.parameter, controller.signal);
+                    abort(superseded);
+                    return loading
                             .then(data -> {
+                                if (superseded(pms)) {
+                                    logger.debug("Discard data for %s: Navigation has been superseded", pms.place);
+                                    return Promise.resolve(false);
+                                }
+                                endNavigation(controller);
                                 logger.debug("Data loaded successfully. Create page for %s", pms.place);
                                 pms.data = new LoadedData(data);
+                                if (asyncPage != null) {
+                                    return asyncPage.then(page -> {
+                                        if (superseded(pms)) {
+                                            logger.debug("Discard page for %s: Navigation has been superseded", pms.place);
+                                            return Promise.resolve(false);
+                                        }
+                                        pms.page = page;
+                                        return gotoPage(pms);
+                                    });
+                                }
                                 pms.page = pageSupplier.get();
                                 return gotoPage(pms);
                             })
                             .catch_(error -> {
+                                if (superseded(pms)) {
+                                    logger.debug("Discard error for %s: Navigation has been superseded", pms.place);
+                                    return Promise.resolve(false);
+                                }
+                                endNavigation(controller);
                                 String errorAsString = String.valueOf(error);
                                 logger.error("Unable to load page for %s: %s", pms.place, errorAsString);
                                 pms.errorType = ErrorType.NO_DATA;
@@ -539,11 +696,13 @@ public class PlaceManager {
                             });
                 }
             } else {
+                beginNavigation(pms);
                 pms.errorType = ErrorType.NOT_FOUND;
                 pms.page = notFound(pms.place);
                 return gotoPage(pms);
             }
         } else {
+            beginNavigation(pms);
             if (pms.errorType == ErrorType.NOT_FOUND) {
                 pms.page = notFound(pms.place);
             } else if (pms.errorType == ErrorType.NO_DATA) {
@@ -555,6 +714,69 @@ public class PlaceManager {
         }
     }
 
+    /**
+     * Calls the asynchronous page supplier. Errors are turned into an error page, and the navigation is marked as failed, like
+     * errors of synchronous page suppliers.
+     */
+    private Promise<Page> loadPage(PlaceManagerStruct pms, Supplier<Promise<Page>> asyncPageSupplier) {
+        logger.debug("Load page for %s", pms.place);
+        try {
+            return asyncPageSupplier.get().catch_(error -> {
+                pms.errorType = ErrorType.UNDEFINED;
+                return Promise.resolve(errorPage(pms.place, "Error when loading page: " + error));
+            });
+        } catch (Throwable t) {
+            pms.errorType = ErrorType.UNDEFINED;
+            return Promise.resolve(errorPage(pms.place, "Error when loading page: " + t.getMessage()));
+        }
+    }
+
+    // overridden in JVM tests, where abort controllers are not available
+    AbortController abortController() {
+        return new AbortController();
+    }
+
+    private boolean hasPage(Place place) {
+        return pages.containsKey(place) || asyncPages.containsKey(place);
+    }
+
+    /**
+     * Starts a new navigation. A pending navigation is superseded by the new one: Its loader is aborted, and its result is
+     * discarded.
+     */
+    private void beginNavigation(PlaceManagerStruct pms) {
+        abort(supersede(pms));
+    }
+
+    /**
+     * Starts a new navigation like {@link #beginNavigation(PlaceManagerStruct)}, but doesn't abort the pending navigation.
+     * Returns its controller, so that it can be aborted once the new navigation has joined a pending load of the same data
+     * (e.g. on a double click). Otherwise, the load would be aborted and started again.
+     */
+    private AbortController supersede(PlaceManagerStruct pms) {
+        AbortController controller = pendingNavigation;
+        pendingNavigation = null;
+        pms.navigation = ++navigation;
+        return controller;
+    }
+
+    private void abort(AbortController controller) {
+        if (controller != null) {
+            logger.debug("Cancel pending navigation");
+            controller.abort();
+        }
+    }
+
+    private void endNavigation(AbortController controller) {
+        if (pendingNavigation == controller) {
+            pendingNavigation = null;
+        }
+    }
+
+    private boolean superseded(PlaceManagerStruct pms) {
+        return pms.navigation != 0 && pms.navigation != navigation;
+    }
+
     private Promise<Boolean> gotoPage(PlaceManagerStruct pms) {
         HTMLElement rootElement = pms.place.root != null ? pms.place.root.get() : root.get();
         if (rootElement == null) {
@@ -565,16 +787,61 @@ public class PlaceManager {
         if (pms.place.title() != null) {
             document.title = this.title.apply(pms.place.title());
         }
+        String key = pms.ok() ? PageCache.key(pms.place, pms.parameter) : null;
+        leaveCurrentPage(key);
         removeChildrenFrom(rootElement);
-        if (currentPage != null) {
-            currentPage.detach();
-        }
         for (HTMLElement e : pms.page.elements(pms.place, pms.parameter, pms.data)) {
             rootElement.appendChild(e);
         }
         currentPage = pms.page;
+        currentKey = key;
+        currentRoot = rootElement;
         pms.page.attach();
+        return placeChanged(pms);
+    }
 
+    private Promise<Boolean> resumePage(PlaceManagerStruct pms, PageCache.Entry entry) {
+        if (pms.place.title() != null) {
+            document.title = this.title.apply(pms.place.title());
+        }
+        String key = PageCache.key(pms.place, pms.parameter);
+        leaveCurrentPage(key);
+        removeChildrenFrom(entry.root);
+        entry.root.appendChild(entry.fragment);
+        entry.root.scrollTop = entry.scrollTop;
+        window.scrollTo(window.scrollX, entry.scrollY);
+        currentPage = entry.page;
+        currentKey = key;
+        currentRoot = entry.root;
+        entry.page.resume();
+        return placeChanged(pms);
+    }
+
+    /** Parks the current page in the keep-alive cache (if enabled) or detaches it otherwise. */
+    private void leaveCurrentPage(String nextKey) {
+        if (currentPage != null) {
+            if (pageCache.enabled() && currentKey != null && !currentKey.equals(nextKey) && currentRoot != null) {
+                DocumentFragment fragment = document.createDocumentFragment();
+                double scrollTop = currentRoot.scrollTop;
+                double scrollY = window.scrollY;
+                while (currentRoot.firstChild != null) {
+                    fragment.appendChild(currentRoot.firstChild);
+                }
+                currentPage.suspend();
+                pageCache.park(currentKey, new PageCache.Entry(currentPage, currentRoot, fragment, scrollTop, scrollY));
+            } else {
+                currentPage.detach();
+            }
+        }
+        currentPage = null;
+        currentKey = null;
+        currentRoot = null;
+    }
+
+    private Promise<Boolean> placeChanged(PlaceManagerStruct pms) {
+        if (prefetcher != null) {
+            prefetcher.pageChanged();
+        }
         if (pms.ok()) {
             currentPlace = pms.place;
             logger.info("Navigation to %s", pms.place);
@@ -636,6 +903,7 @@ public class PlaceManager {
         private LoadedData data;
         private Page page;
         private ErrorType errorType;
+        private int navigation;
 
         PlaceManagerStruct() {
             this.parameter = Parameter.EMPTY;
@@ -15,11 +15,15 @@
  */
 package org.jboss.elemento.router;
 
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
+import elemental2.promise.Promise;
+
 import static org.jboss.elemento.router.Path.normalize;
 
 /**
@@ -39,11 +43,19 @@ public class Places implements Iterable<Map.Entry<Place, Supplier<Page>>> {
     // ------------------------------------------------------ instance
 
     final Map<Place, Supplier<Page>> pages;
+    final Map<Place, Supplier<Promise<Page>>> asyncPages;
+    final Set<Place> order; // of all places, synchronous and asynchronous
 
     Places() {
-        pages = new HashMap<>();
+        pages = new LinkedHashMap<>();
+        asyncPages = new LinkedHashMap<>();
+        order = new LinkedHashSet<>();
     }
 
+    /**
+     * Iterates over the places with synchronous page suppliers. Places added with {@link #addAsync(Place, Supplier)} are not
+     * part of the iteration.
+     */
     @Override
     public Iterator<Map.Entry<Place, Supplier<Page>>> iterator() {
         return pages.entrySet().iterator();
@@ -55,7 +67,24 @@ public class Places implements Iterable<Map.Entry<Place, Supplier<Page>>> {
      * Adds a Place and the corresponding page supplier to the collection of places.
      */
     public Places add(Place place, Supplier<Page> page) {
+        asyncPages.remove(place);
         pages.put(place, page);
+        order.add(place);
+        return this;
+    }
+
+    /**
+     * Adds a Place and the corresponding asynchronous page supplier to the collection of places. Like a synchronous supplier,
+     * the supplier is called each time the place is visited. Use it to move the page into its own code split (e.g. a GWT
+     * {@code runAsync} split point or a J2CL chunk), so that the code is only downloaded when the page is visited for the first
+     * time.
+     * <p>
+     * {@snippet class = PlacesDemo region = async}
+     */
+    public Places addAsync(Place place, Supplier<Promise<Page>> page) {
+        pages.remove(place);
+        asyncPages.put(place, page);
+        order.add(place);
         return this;
     }
 
@@ -63,7 +92,9 @@ public class Places implements Iterable<Map.Entry<Place, Supplier<Page>>> {
      * Adds all the places from the given Places object to this places object.
      */
     public Places add(Places places) {
-        pages.putAll(places.pages);
+        for (Place place : places.order) {
+            add(place, places);
+        }
         return this;
     }
 
@@ -75,9 +106,13 @@ public class Places implements Iterable<Map.Entry<Place, Supplier<Page>>> {
      * @param places the child places to add
      */
     public Places children(String path, Places places) {
-        for (Map.Entry<Place, Supplier<Page>> entry : places.pages.entrySet()) {
-            Place child = new Place(failSafeRoute(path, entry.getKey()), entry.getKey());
-            pages.put(child, entry.getValue());
+        for (Place place : places.order) {
+            Place child = new Place(failSafeRoute(path, place), place);
+            if (places.pages.containsKey(place)) {
+                add(child, places.pages.get(place));
+            } else {
+                addAsync(child, places.asyncPages.get(place));
+            }
         }
         return this;
     }
@@ -86,8 +121,8 @@ public class Places implements Iterable<Map.Entry<Place, Supplier<Page>>> {
      * Assigns a given loader for a specific place.
      */
     public Places loader(Place place, LoadData<?> loader) {
-        if (pages.containsKey(place)) {
-            for (Place p : pages.keySet()) {
+        if (order.contains(place)) {
+            for (Place p : order) {
                 if (p.equals(place)) {
                     p.loader(loader);
                     break;
@@ -99,6 +134,14 @@ public class Places implements Iterable<Map.Entry<Place, Supplier<Page>>> {
 
     // ------------------------------------------------------ internal
 
+    private void add(Place place, Places places) {
+        if (places.pages.containsKey(place)) {
+            add(place, places.pages.get(place));
+        } else {
+            addAsync(place, places.asyncPages.get(place));
+        }
+    }
+
     private String failSafeRoute(String parent, Place child) {
         return normalize(normalize(parent) + child.route());
     }
@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+/**
+ * Configures how the {@link PlaceManager} prefetches the data of places. When prefetching is enabled, the place manager loads
+ * the data of a place in the background as soon as the user shows an intent to navigate to it. Navigation then uses the
+ * prefetched data instead of calling the {@link LoadData} again.
+ * <p>
+ * Prefetching is triggered for links which match the {@linkplain PlaceManager#linkSelector(String) link selector} of the place
+ * manager when
+ * <ul>
+ * <li>the pointer rests on a link for {@linkplain #hoverDelay(int) some time},</li>
+ * <li>a link receives the focus or is touched, or</li>
+ * <li>a link scrolls into the viewport (only if {@linkplain #viewport(boolean) enabled}).</li>
+ * </ul>
+ * The number of concurrent and total prefetches is limited by {@link #concurrency(int)} and {@link #budget(int)}. Prefetching
+ * is skipped altogether if the user has asked to save data or is on a slow connection (as reported by
+ * {@code navigator.connection}).
+ * <p>
+ * {@snippet class = PlaceManagerDemo region = prefetch}
+ */
+public class Prefetch {
+
+    // ------------------------------------------------------ factory
+
+    public static Prefetch prefetch() {
+        return new Prefetch();
+    }
+
+    // ------------------------------------------------------ instance
+
+    boolean hover;
+    boolean viewport;
+    int hoverDelay;
+    int concurrency;
+    int budget;
+    int maxAge;
+
+    Prefetch() {
+        this.hover = true;
+        this.viewport = false;
+        this.hoverDelay = 65;
+        this.concurrency = 2;
+        this.budget = 10;
+        this.maxAge = 30_000;
+    }
+
+    // ------------------------------------------------------ builder
+
+    /** Whether to prefetch when the pointer rests on a link, or a link receives the focus. Defaults to {@code true}. */
+    public Prefetch hover(boolean hover) {
+        this.hover = hover;
+        return this;
+    }
+
+    /**
+     * Whether to prefetch when a link scrolls into the viewport. All matching links of the document are observed, including
+     * links which are added later. Links in shadow DOM are not observed. Defaults to {@code false}.
+     */
+    public Prefetch viewport(boolean viewport) {
+        this.viewport = viewport;
+        return this;
+    }
+
+    /** The time in milliseconds the pointer has to rest on a link before prefetching starts. Defaults to 65 ms. */
+    public Prefetch hoverDelay(int hoverDelay) {
+        this.hoverDelay = Math.max(0, hoverDelay);
+        return this;
+    }
+
+    /** The maximum number of prefetches running at the same time. Defaults to 2. */
+    public Prefetch concurrency(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+        return this;
+    }
+
+    /** The maximum number of prefetches per page. The budget is reset after each navigation. Defaults to 10. */
+    public Prefetch budget(int budget) {
+        this.budget = Math.max(0, budget);
+        return this;
+    }
+
+    /**
+     * The time in milliseconds prefetched data is kept, if it's not used by a navigation. Places which
+     * {@linkplain Place#cache(int) cache} their data use the cache settings instead. Defaults to 30 seconds.
+     */
+    public Prefetch maxAge(int maxAge) {
+        this.maxAge = Math.max(0, maxAge);
+        return this;
+    }
+}
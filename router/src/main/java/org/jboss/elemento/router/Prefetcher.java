@@ -0,0 +1,225 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.jboss.elemento.logger.Logger;
+
+import elemental2.dom.AddEventListenerOptions;
+import elemental2.dom.Element;
+import elemental2.dom.HTMLAnchorElement;
+import elemental2.dom.MutationObserver;
+import elemental2.dom.MutationObserverInit;
+import elemental2.dom.MutationRecord;
+import elemental2.dom.Node;
+import elemental2.dom.NodeList;
+import elemental2.promise.Promise;
+import jsinterop.base.Js;
+import jsinterop.base.JsPropertyMap;
+
+import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.document;
+import static elemental2.dom.DomGlobal.navigator;
+import static elemental2.dom.DomGlobal.setTimeout;
+import static jsinterop.base.Js.isTripleEqual;
+import static jsinterop.base.Js.undefined;
+import static org.jboss.elemento.EventType.bind;
+import static org.jboss.elemento.EventType.focusin;
+import static org.jboss.elemento.EventType.mouseout;
+import static org.jboss.elemento.EventType.mouseover;
+import static org.jboss.elemento.EventType.touchstart;
+
+/**
+ * Prefetches the data of links the user is likely to follow. Prefetches are queued and executed with respect to the
+ * {@linkplain Prefetch#concurrency(int) concurrency} and {@linkplain Prefetch#budget(int) budget} of the {@link Prefetch}
+ * configuration.
+ * <p>
+ * If {@linkplain Prefetch#viewport(boolean) enabled}, all links of the document which match the link selector are observed
+ * using an {@link IntersectionObserver}. Links which are added later are picked up by a {@link MutationObserver}. Links in
+ * shadow DOM and links whose {@code href} attribute is set after they have been added are not observed.
+ */
+class Prefetcher {
+
+    private static final Logger logger = Logger.getLogger(Prefetcher.class.getName());
+
+    private final Prefetch prefetch;
+    private final Function<HTMLAnchorElement, Promise<?>> prefetchLink;
+    private final Predicate<HTMLAnchorElement> matches;
+    private final List<HTMLAnchorElement> queue;
+    private final Set<String> requested;
+    private IntersectionObserver observer;
+    private MutationObserver mutationObserver;
+    private HTMLAnchorElement hovered;
+    private double hoverTimeout;
+    private int active;
+    private int used;
+
+    /**
+     * @param prefetch     the prefetch configuration
+     * @param prefetchLink starts the prefetch for a link and returns the pending load or {@code null} if there's nothing to
+     *                     prefetch
+     * @param matches      whether a link matches the link selector, only matching links are observed
+     */
+    Prefetcher(Prefetch prefetch, Function<HTMLAnchorElement, Promise<?>> prefetchLink,
+            Predicate<HTMLAnchorElement> matches) {
+        this.prefetch = prefetch;
+        this.prefetchLink = prefetchLink;
+        this.matches = matches;
+        this.queue = new ArrayList<>();
+        this.requested = new HashSet<>();
+    }
+
+    void start() {
+        if (prefetch.hover) {
+            bind(document, mouseover, event -> {
+                HTMLAnchorElement a = PlaceManager.anchorElement(event);
+                if (a != null && a != hovered) {
+                    cancelHover();
+                    hovered = a;
+                    hoverTimeout = setTimeout(__ -> {
+                        hovered = null;
+                        request(a);
+                    }, prefetch.hoverDelay);
+                }
+            });
+            bind(document, mouseout, event -> {
+                if (hovered != null && !hovered.contains(Js.<Element>uncheckedCast(event.relatedTarget))) {
+                    cancelHover();
+                }
+            });
+            bind(document, focusin, event -> request(PlaceManager.anchorElement(event)));
+            AddEventListenerOptions options = AddEventListenerOptions.create();
+            options.setPassive(true);
+            bind(document, touchstart, options, event -> request(PlaceManager.anchorElement(event)));
+        }
+        if (prefetch.viewport) {
+            if (isTripleEqual(Js.global().getAsAny("IntersectionObserver"), undefined())) {
+                logger.warn("IntersectionObserver not supported. Links in the viewport won't be prefetched.");
+            } else {
+                IntersectionObserver.Options options = Js.uncheckedCast(JsPropertyMap.of());
+                options.rootMargin = "0px";
+                observer = new IntersectionObserver((entries, o) -> {
+                    for (int i = 0; i < entries.length; i++) {
+                        IntersectionObserver.Entry entry = entries.getAt(i);
+                        if (entry.isIntersecting) {
+                            o.unobserve(entry.target);
+                            request(Js.uncheckedCast(entry.target));
+                        }
+                    }
+                }, options);
+                // links added after the navigation, e.g. by asynchronously rendered parts of a page
+                mutationObserver = new MutationObserver((mutationRecords, o) -> {
+                    MutationRecord[] records = Js.uncheckedCast(mutationRecords);
+                    for (MutationRecord record : records) {
+                        for (int i = 0; i < record.addedNodes.length; i++) {
+                            Node node = record.addedNodes.getAt(i);
+                            if (node instanceof Element) {
+                                observeLinks((Element) node);
+                            }
+                        }
+                    }
+                    return null;
+                });
+                MutationObserverInit init = MutationObserverInit.create();
+                init.setChildList(true);
+                init.setSubtree(true);
+                mutationObserver.observe(document.body, init);
+            }
+        }
+    }
+
+    /** Resets the budget and observes all links of the document again. */
+    void pageChanged() {
+        cancelHover();
+        queue.clear();
+        requested.clear();
+        used = 0;
+        if (observer != null) {
+            observer.disconnect();
+            observeLinks(document.body);
+        }
+    }
+
+    private void observeLinks(Element element) {
+        if (element instanceof HTMLAnchorElement) {
+            observeLink((HTMLAnchorElement) element);
+        }
+        NodeList<Element> links = element.querySelectorAll("a[href]");
+        for (int i = 0; i < links.length; i++) {
+            observeLink(Js.uncheckedCast(links.getAt(i)));
+        }
+    }
+
+    private void observeLink(HTMLAnchorElement a) {
+        if (a.hasAttribute("href") && matches.test(a)) {
+            observer.observe(a);
+        }
+    }
+
+    private void request(HTMLAnchorElement a) {
+        if (a != null && !requested.contains(a.href)) {
+            requested.add(a.href);
+            queue.add(a);
+            drain();
+        }
+    }
+
+    private void drain() {
+        while (active < prefetch.concurrency && used < prefetch.budget && !queue.isEmpty()) {
+            if (saveData()) {
+                logger.debug("Skip prefetching: Save-Data is enabled or connection is slow");
+                queue.clear();
+                return;
+            }
+            HTMLAnchorElement a = queue.remove(0);
+            Promise<?> promise = prefetchLink.apply(a);
+            if (promise != null) {
+                active++;
+                used++;
+                promise.then(__ -> done(), __ -> done());
+            }
+        }
+    }
+
+    private Promise<Object> done() {
+        active--;
+        drain();
+        return null;
+    }
+
+    private void cancelHover() {
+        if (hovered != null) {
+            clearTimeout(hoverTimeout);
+            hovered = null;
+        }
+    }
+
+    private static boolean saveData() {
+        Object connection = Js.asPropertyMap(navigator).get("connection");
+        if (Js.isTruthy(connection)) {
+            JsPropertyMap<Object> map = Js.asPropertyMap(connection);
+            String effectiveType = Js.uncheckedCast(map.get("effectiveType"));
+            return Js.isTruthy(map.get("saveData")) || "slow-2g".equals(effectiveType) || "2g".equals(effectiveType);
+        }
+        return false;
+    }
+}
@@ -42,6 +42,9 @@ import java.lang.annotation.Target;
  * <li>{@code selector}: Specifies the CSS selector that identifies the element whose child elements are replaced by the
  * elements of the page.</li>
  * <li>{@code loader}: Specifies a reference to a named loader annotated with {@link Loader}</li>
+ * <li>{@code cacheTtl}: Specifies how long (in milliseconds) the loaded data is cached. See {@link Place#cache(int)}.</li>
+ * <li>{@code staleWhileRevalidate}: Specifies whether expired data is used while fresh data is loaded in the background. See
+ * {@link Place#cache(int, boolean)}.</li>
  * </ul>
  *
  * <p>
@@ -60,4 +63,8 @@ public @interface Route {
     String selector() default "";
 
     String loader() default "";
+
+    int cacheTtl() default 0;
+
+    boolean staleWhileRevalidate() default false;
 }
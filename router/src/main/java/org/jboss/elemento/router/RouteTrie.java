@@ -0,0 +1,197 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.jboss.elemento.router.Parameter.isOptionalParameter;
+import static org.jboss.elemento.router.Parameter.isParameter;
+import static org.jboss.elemento.router.Parameter.parameterName;
+
+/**
+ * Segment trie for parameterized routes. The routes are split into segments once when they are added (or at compile time if
+ * the places have been generated by the annotation processor). Each segment is either a static segment or a parameter. Routes
+ * with trailing optional parameters end at several nodes: one for each number of omitted optional parameters.
+ * <p>
+ * {@link #match(String)} resolves the place and extracts the parameters by walking the trie along the path segments. For each
+ * segment, there are at most two branches: the static segment and the parameter. The static branch is visited first. Branches
+ * which can't reach more static segments than the best match so far are skipped. The most specific route wins:
+ * <ol>
+ * <li>routes with more static segments take precedence over routes with fewer static segments</li>
+ * <li>if two routes have the same number of static segments, segments are compared from left to right, and static segments
+ * take precedence over parameters</li>
+ * <li>routes which end at a node take precedence over routes which end there only by omitting optional parameters</li>
+ * <li>required parameters take precedence over optional parameters</li>
+ * </ol>
+ * Two different routes which end at the same node with the same precedence are ambiguous (e.g. {@code /users/:id} and
+ * {@code /users/:name}). In that case the route added first wins.
+ */
+final class RouteTrie {
+
+    private final Node root;
+
+    RouteTrie() {
+        this.root = new Node();
+    }
+
+    // ------------------------------------------------------ api
+
+    /**
+     * Adds the given place. Returns the place of an already added route which is ambiguous with the given place or
+     * {@code null} if there's no ambiguity.
+     */
+    Place add(Place place) {
+        String[] segments = place.segments();
+        String[] names = new String[segments.length];
+        int required = segments.length;
+        for (int i = 0; i < segments.length; i++) {
+            if (isParameter(segments[i])) {
+                names[i] = parameterName(segments[i]);
+                if (isOptionalParameter(segments[i]) && required == segments.length) {
+                    required = i;
+                }
+            }
+        }
+
+        Route route = new Route(place, names, segments.length - required);
+        Place ambiguous = null;
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            if (i >= required) {
+                ambiguous = firstNonNull(ambiguous, node.terminal(route, segments.length - i));
+            }
+            node = names[i] != null ? node.parameter() : node.child(segments[i]);
+        }
+        return firstNonNull(ambiguous, node.terminal(route, 0));
+    }
+
+    /** Returns the matching place and parameters or {@code null} if no route matches the given path. */
+    Match match(String path) {
+        if (path == null) {
+            return null;
+        }
+        String[] segments = Path.split(path);
+        Best best = new Best();
+        find(root, segments, 0, 0, best);
+        if (best.route != null) {
+            return new Match(best.route.place, new Parameter(path, best.route.names, segments));
+        }
+        return null;
+    }
+
+    // ------------------------------------------------------ internal
+
+    /**
+     * Walks the trie and records the route with the most static segments in {@code best}. On a tie, the route found first
+     * wins. Since the static branch is visited before the parameter branch, that's the route whose static segments come first.
+     */
+    private void find(Node node, String[] segments, int index, int statics, Best best) {
+        if (statics + segments.length - index <= best.statics) {
+            return; // can't beat the best match so far
+        }
+        if (index == segments.length) {
+            if (node.route != null) {
+                best.route = node.route;
+                best.statics = statics;
+            }
+            return;
+        }
+        if (node.children != null) {
+            Node child = node.children.get(segments[index]);
+            if (child != null) {
+                find(child, segments, index + 1, statics + 1, best);
+            }
+        }
+        if (node.parameter != null) {
+            find(node.parameter, segments, index + 1, statics, best);
+        }
+    }
+
+    private static Place firstNonNull(Place first, Place second) {
+        return first != null ? first : second;
+    }
+
+    static final class Match {
+
+        final Place place;
+        final Parameter parameter;
+
+        Match(Place place, Parameter parameter) {
+            this.place = place;
+            this.parameter = parameter;
+        }
+    }
+
+    private static final class Best {
+
+        Route route;
+        int statics = -1;
+    }
+
+    private static final class Route {
+
+        final Place place;
+        final String[] names; // parameter name per segment, null for static segments
+        final int optional;
+
+        Route(Place place, String[] names, int optional) {
+            this.place = place;
+            this.names = names;
+            this.optional = optional;
+        }
+    }
+
+    private static final class Node {
+
+        Map<String, Node> children;
+        Node parameter;
+        Route route;
+        int omitted; // number of optional parameters omitted to end at this node
+
+        Node child(String segment) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+
+        Node parameter() {
+            if (parameter == null) {
+                parameter = new Node();
+            }
+            return parameter;
+        }
+
+        /** Sets the route if it's more specific than the current one and returns the current place if both are ambiguous. */
+        Place terminal(Route route, int omitted) {
+            if (this.route == null || this.route.place.route().equals(route.place.route())) {
+                this.route = route;
+                this.omitted = omitted;
+                return null;
+            }
+            int precedence = omitted != this.omitted
+                    ? Integer.compare(omitted, this.omitted)
+                    : Integer.compare(route.optional, this.route.optional);
+            if (precedence < 0) {
+                this.route = route;
+                this.omitted = omitted;
+                return null;
+            }
+            return precedence == 0 ? this.route.place : null;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import elemental2.dom.AbortController;
+import elemental2.dom.AbortSignal;
+import elemental2.promise.Promise;
+
+import static org.jboss.elemento.router.Place.place;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataCacheTest {
+
+    private long now;
+    private List<TestPromise<Object>> loads;
+    private List<TestAbortController> controllers;
+
+    @BeforeEach
+    void setUp() {
+        Parameter.encoder = new JavaUrlEncoder();
+        now = 1000;
+        loads = new ArrayList<>();
+        controllers = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Parameter.encoder = new JsUrlEncoder();
+    }
+
+    @Test
+    void cached() {
+        assertFalse(place("/foo").cached());
+        assertTrue(place("/foo").cache(100).cached());
+        assertTrue(place("/foo").cache(0, true).cached());
+        assertFalse(place("/foo").cache(100).cache(0).cached());
+        assertThrows(IllegalArgumentException.class, () -> place("/foo").cache(-1));
+    }
+
+    @Test
+    void ttl() {
+        DataCache cache = new DataCache(() -> now);
+        Place place = place("/foo").cache(100);
+        cache.put("/foo", "data");
+
+        DataCache.Entry entry = cache.get("/foo");
+        assertNotNull(entry);
+        assertEquals("data", entry.data);
+        assertTrue(cache.fresh(place, entry));
+        now += 99;
+        assertTrue(cache.fresh(place, entry));
+        now += 1;
+        assertFalse(cache.fresh(place, entry));
+    }
+
+    @Test
+    void staleWhileRevalidate() {
+        DataCache cache = new DataCache(() -> now);
+        Place place = place("/foo").cache(0, true);
+        cache.put("/foo", "data");
+        assertFalse(cache.fresh(place, cache.get("/foo")));
+    }
+
+    @Test
+    void loadShared() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo"));
+        TestPromise<Object> first = load(cache, place);
+        TestPromise<Object> second = load(cache, place);
+        assertEquals(1, loads.size());
+        assertSame(first, second);
+        assertEquals(1, cache.pending());
+
+        loads.get(0).fulfill("data");
+        assertEquals("data", first.result());
+        assertEquals(0, cache.pending());
+        assertEquals(0, cache.size()); // not cached
+
+        load(cache, place);
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void loadCached() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo").cache(100));
+        load(cache, place);
+        loads.get(0).fulfill("data");
+
+        now += 99;
+        TestPromise<Object> hit = load(cache, place);
+        assertEquals(1, loads.size());
+        assertTrue(hit.fulfilled());
+        assertEquals("data", hit.result());
+
+        now += 1;
+        TestPromise<Object> miss = load(cache, place);
+        assertEquals(2, loads.size());
+        assertFalse(miss.fulfilled());
+        loads.get(1).fulfill("fresh");
+        assertEquals("fresh", load(cache, place).result());
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void loadRejected() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo").cache(100));
+        TestPromise<Object> failed = load(cache, place);
+        loads.get(0).fail("error");
+        assertTrue(failed.rejected());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.pending());
+
+        load(cache, place);
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void loadStaleWhileRevalidate() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo").cache(100, true));
+        load(cache, place);
+        loads.get(0).fulfill("stale");
+
+        now += 200;
+        TestPromise<Object> stale = load(cache, place);
+        assertTrue(stale.fulfilled());
+        assertEquals("stale", stale.result());
+        assertEquals(2, loads.size()); // background refresh
+
+        // still stale, joins the running refresh
+        assertEquals("stale", load(cache, place).result());
+        assertEquals(2, loads.size());
+
+        loads.get(1).fulfill("fresh");
+        TestPromise<Object> fresh = load(cache, place);
+        assertEquals("fresh", fresh.result());
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void invalidatePending() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo").cache(100));
+        TestPromise<Object> pending = load(cache, place);
+        cache.invalidate(place);
+        assertEquals(0, cache.pending());
+
+        loads.get(0).fulfill("outdated");
+        assertEquals("outdated", pending.result()); // the navigation still gets its data
+        assertEquals(0, cache.size());
+
+        load(cache, place);
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void abortShared() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo"));
+        TestAbortController first = new TestAbortController();
+        TestAbortController second = new TestAbortController();
+        TestPromise<Object> promise = load(cache, place, first.signal);
+        load(cache, place, second.signal);
+        assertEquals(1, loads.size());
+
+        first.abort();
+        assertFalse(controllers.get(0).aborted); // the second navigation still waits for the data
+        assertEquals(1, cache.pending());
+
+        loads.get(0).fulfill("data");
+        assertEquals("data", promise.result());
+    }
+
+    @Test
+    void abortLast() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo"));
+        TestAbortController first = new TestAbortController();
+        TestAbortController second = new TestAbortController();
+        load(cache, place, first.signal);
+        load(cache, place, second.signal);
+
+        first.abort();
+        second.abort();
+        assertTrue(controllers.get(0).aborted);
+        assertEquals(0, cache.pending());
+
+        // a new navigation starts a new load
+        load(cache, place);
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void abortBackground() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo"));
+        cache.prefetch(place, Parameter.EMPTY, 100);
+        TestAbortController navigation = new TestAbortController();
+        load(cache, place, navigation.signal);
+        assertEquals(1, loads.size());
+
+        navigation.abort();
+        assertFalse(controllers.get(0).aborted); // prefetches are never aborted
+    }
+
+    @Test
+    void abortListenerRemoved() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo"));
+        TestAbortController navigation = new TestAbortController();
+        load(cache, place, navigation.signal);
+        assertEquals(1, ((TestAbortController.TestSignal) navigation.signal).listeners.size());
+
+        loads.get(0).fulfill("data");
+        assertTrue(((TestAbortController.TestSignal) navigation.signal).listeners.isEmpty());
+        navigation.abort();
+        assertFalse(controllers.get(0).aborted);
+    }
+
+    @Test
+    void prefetchJoined() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo"));
+        assertNotNull(cache.prefetch(place, Parameter.EMPTY, 100));
+        assertNull(cache.prefetch(place, Parameter.EMPTY, 100)); // already running
+        TestPromise<Object> navigation = load(cache, place);
+        assertEquals(1, loads.size());
+
+        loads.get(0).fulfill("data");
+        assertEquals("data", navigation.result());
+        assertEquals(0, cache.size()); // used by the navigation, not kept
+    }
+
+    @Test
+    void prefetchUsedOnce() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo"));
+        cache.prefetch(place, Parameter.EMPTY, 100);
+        loads.get(0).fulfill("data");
+        assertEquals(1, cache.size());
+
+        now += 99;
+        TestPromise<Object> navigation = load(cache, place);
+        assertEquals("data", navigation.result());
+        assertEquals(1, loads.size());
+        assertEquals(0, cache.size());
+
+        load(cache, place);
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void prefetchMaxAge() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo"));
+        cache.prefetch(place, Parameter.EMPTY, 100);
+        loads.get(0).fulfill("outdated");
+
+        now += 100;
+        TestPromise<Object> navigation = load(cache, place);
+        assertEquals(2, loads.size());
+        loads.get(1).fulfill("data");
+        assertEquals("data", navigation.result());
+    }
+
+    @Test
+    void prefetchCached() {
+        DataCache cache = cache();
+        Place place = loading(place("/foo").cache(1000));
+        cache.prefetch(place, Parameter.EMPTY, 100);
+        loads.get(0).fulfill("data");
+
+        // cached places keep the data for their TTL, not for the max age of the prefetch
+        now += 500;
+        assertEquals("data", load(cache, place).result());
+        assertEquals("data", load(cache, place).result());
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    void prefetchSkipped() {
+        DataCache cache = new DataCache(() -> now);
+        assertNull(cache.prefetch(place("/foo"), Parameter.EMPTY, 100));
+
+        Place place = place("/bar").cache(100).loader((p, parameter) -> {
+            throw new AssertionError("Loader must not be called");
+        });
+        cache.put("/bar", "data");
+        assertNull(cache.prefetch(place, Parameter.EMPTY, 100));
+
+        Place prefetched = place("/baz").loader((p, parameter) -> {
+            throw new AssertionError("Loader must not be called");
+        });
+        cache.put("/baz", new DataCache.Entry("data", now, true, 100));
+        assertNull(cache.prefetch(prefetched, Parameter.EMPTY, 100));
+    }
+
+    @Test
+    void invalidate() {
+        DataCache cache = new DataCache(() -> now);
+        Place users = place("/users/:id").cache(100);
+        Place usersList = place("/users").cache(100);
+        cache.put(PageCache.key(users, new Parameter(users.route(), "/users/1")), "one");
+        cache.put(PageCache.key(users, new Parameter(users.route(), "/users/2")), "two");
+        cache.put(PageCache.key(usersList, Parameter.EMPTY), "all");
+
+        cache.invalidate(users);
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get("/users"));
+        cache.invalidate(usersList);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void leastRecentlyUsed() {
+        DataCache cache = new DataCache(() -> now);
+        for (int i = 0; i < DataCache.MAX_ENTRIES; i++) {
+            cache.put("/" + i, i);
+        }
+        cache.put("/0", 0); // refresh
+        cache.put("/new", "new");
+
+        assertEquals(DataCache.MAX_ENTRIES, cache.size());
+        assertNotNull(cache.get("/0"));
+        assertNull(cache.get("/1"));
+        assertNotNull(cache.get("/new"));
+    }
+
+    // ------------------------------------------------------ helper
+
+    private DataCache cache() {
+        return new DataCache(() -> now) {
+            @Override
+            Promise<Object> resolve(Object data) {
+                return TestPromise.resolved(data);
+            }
+
+            @Override
+            AbortController abortController() {
+                TestAbortController controller = new TestAbortController();
+                controllers.add(controller);
+                return controller;
+            }
+        };
+    }
+
+    private Place loading(Place place) {
+        return place.loader((p, parameter) -> {
+            TestPromise<Object> promise = new TestPromise<>();
+            loads.add(promise);
+            return promise;
+        });
+    }
+
+    private TestPromise<Object> load(DataCache cache, Place place) {
+        return load(cache, place, new TestAbortController().signal);
+    }
+
+    private TestPromise<Object> load(DataCache cache, Place place, AbortSignal signal) {
+        return (TestPromise<Object>) cache.load(place, Parameter.EMPTY, signal);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.jboss.elemento.router.Place.place;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageCacheTest {
+
+    private final List<String> detached = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Parameter.encoder = new JavaUrlEncoder();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Parameter.encoder = new JsUrlEncoder();
+    }
+
+    @Test
+    void key() {
+        Place place = place("/users/:id");
+        String one = PageCache.key(place, new Parameter(place.route(), "/users/1"));
+        String two = PageCache.key(place, new Parameter(place.route(), "/users/2"));
+        assertNotEquals(one, two);
+        assertEquals("/foo", PageCache.key(place("/foo"), Parameter.EMPTY));
+    }
+
+    @Test
+    void disabled() {
+        PageCache cache = new PageCache();
+        assertFalse(cache.enabled());
+        cache.park("a", entry("a"));
+        assertEquals(0, cache.size());
+        assertEquals(singletonList("a"), detached);
+    }
+
+    @Test
+    void take() {
+        PageCache cache = new PageCache();
+        cache.capacity(2);
+        assertTrue(cache.enabled());
+        PageCache.Entry entry = entry("a");
+        cache.park("a", entry);
+        assertSame(entry, cache.take("a"));
+        assertNull(cache.take("a"));
+        assertEquals(emptyList(), detached);
+    }
+
+    @Test
+    void leastRecentlyUsed() {
+        PageCache cache = new PageCache();
+        cache.capacity(2);
+        cache.park("a", entry("a"));
+        cache.park("b", entry("b"));
+        cache.park("a", cache.take("a")); // a is now the most recently used page
+        cache.park("c", entry("c"));
+
+        assertEquals(singletonList("b"), detached);
+        assertNull(cache.take("b"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void shrink() {
+        PageCache cache = new PageCache();
+        cache.capacity(3);
+        cache.park("a", entry("a"));
+        cache.park("b", entry("b"));
+        cache.park("c", entry("c"));
+        cache.capacity(1);
+
+        assertEquals(asList("a", "b"), detached);
+        assertEquals(1, cache.size());
+    }
+
+    private PageCache.Entry entry(String name) {
+        return new PageCache.Entry(new TestPage() {
+            @Override
+            public void detach() {
+                detached.add(name);
+            }
+        }, null, null, 0, 0);
+    }
+}
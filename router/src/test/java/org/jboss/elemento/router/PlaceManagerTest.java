@@ -15,13 +15,20 @@
  */
 package org.jboss.elemento.router;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import elemental2.dom.AbortController;
+
 import static org.jboss.elemento.router.Place.place;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PlaceManagerTest {
 
@@ -70,4 +77,58 @@ public class PlaceManagerTest {
         assertEquals("/foo", place.route());
         assertEquals("/base/foo", placeManager.href("/foo"));
     }
+
+    @Test
+    void parameterPlaces() {
+        PlaceManager placeManager = new PlaceManager()
+                .register(place("/users"), TestPage::new)
+                .register(place("/users/new"), TestPage::new)
+                .register(place("/users/:id"), TestPage::new)
+                .register(place("/users/:id/:tab"), TestPage::new)
+                .register(place("/users/new/:step"), TestPage::new);
+
+        assertEquals("/users", placeManager.place("/users").route());
+        assertEquals("/users/new", placeManager.place("/users/new").route());
+        assertEquals("/users/:id", placeManager.place("/users/42").route());
+        assertEquals("/users/:id/:tab", placeManager.place("/users/42/profile").route());
+        assertEquals("/users/new/:step", placeManager.place("/users/new/2").route());
+        assertNull(placeManager.place("/users/42/profile/more"));
+    }
+
+    @Test
+    void samePlaceWhileLoading() {
+        List<TestPromise<Object>> loads = new ArrayList<>();
+        List<TestAbortController> loaderControllers = new ArrayList<>();
+        List<TestAbortController> navigationControllers = new ArrayList<>();
+        DataCache dataCache = new DataCache() {
+            @Override
+            AbortController abortController() {
+                TestAbortController controller = new TestAbortController();
+                loaderControllers.add(controller);
+                return controller;
+            }
+        };
+        PlaceManager placeManager = new PlaceManager(dataCache) {
+            @Override
+            AbortController abortController() {
+                TestAbortController controller = new TestAbortController();
+                navigationControllers.add(controller);
+                return controller;
+            }
+        };
+        placeManager.register(place("/foo").loader((place, parameter) -> {
+            TestPromise<Object> promise = new TestPromise<>();
+            loads.add(promise);
+            return promise;
+        }), TestPage::new);
+
+        // double click: the second navigation joins the load of the first one
+        placeManager.goTo("/foo");
+        placeManager.goTo("/foo");
+        assertEquals(1, loads.size());
+        assertTrue(navigationControllers.get(0).aborted);
+        assertFalse(navigationControllers.get(1).aborted);
+        assertFalse(loaderControllers.get(0).aborted);
+        assertEquals(1, dataCache.pending());
+    }
 }
@@ -17,6 +17,7 @@ package org.jboss.elemento.router;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -69,4 +70,17 @@ class PlaceTest {
         assertEquals("/a", new Place("/a/:b?/:c?").path());
         assertEquals("/", new Place("/:a?").path());
     }
+
+    @Test
+    void compiled() {
+        for (String route : new String[]{"/", "/a", "/a/:b", "/a/:b?", "/a/:b/:c?", "/:a?"}) {
+            Place parsed = new Place(route);
+            Place compiled = Place.compiled(parsed.route(), parsed.path(), Path.split(route));
+            assertEquals(parsed, compiled);
+            assertEquals(parsed.path(), compiled.path());
+            assertEquals(parsed.hasParameter, compiled.hasParameter);
+            assertEquals(parsed.hasOptionalParameter, compiled.hasOptionalParameter);
+            assertArrayEquals(parsed.segments(), compiled.segments());
+        }
+    }
 }
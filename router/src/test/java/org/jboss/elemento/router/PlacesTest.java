@@ -15,11 +15,20 @@
  */
 package org.jboss.elemento.router;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
 import org.junit.jupiter.api.Test;
 
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.jboss.elemento.router.Place.place;
 import static org.jboss.elemento.router.Places.places;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PlacesTest {
@@ -50,4 +59,47 @@ class PlacesTest {
 
         assertFalse(places.pages.containsKey(place("/level1/level2")));
     }
+
+    @Test
+    void registrationOrder() {
+        Places places = places()
+                .add(place("/c"), TestPage::new)
+                .add(place("/a"), TestPage::new)
+                .add(place("/b"), TestPage::new);
+
+        List<String> routes = new ArrayList<>();
+        for (Map.Entry<Place, Supplier<Page>> entry : places) {
+            routes.add(entry.getKey().route());
+        }
+        assertEquals(asList("/c", "/a", "/b"), routes);
+    }
+
+    @Test
+    void asyncPages() {
+        Places places = places()
+                .add(place("/a"), TestPage::new)
+                .children("/b", places()
+                        .addAsync(place("/c"), () -> null))
+                .addAsync(place("/a"), () -> null);
+
+        assertTrue(places.pages.isEmpty());
+        assertTrue(places.asyncPages.containsKey(place("/a")));
+        assertTrue(places.asyncPages.containsKey(place("/b/c")));
+        assertFalse(places.iterator().hasNext());
+        assertEquals(asList("/a", "/b/c"), places.order.stream().map(Place::route).collect(toList()));
+    }
+
+    @Test
+    void childrenKeepPolicy() {
+        LoadData<String> loader = (place, parameter) -> null;
+        Places places = places()
+                .children("/parent", places()
+                        .add(place("/child").loader(loader).cache(100, true), TestPage::new));
+
+        Place child = places.pages.keySet().iterator().next();
+        assertEquals("/parent/child", child.route());
+        assertSame(loader, child.loader);
+        assertEquals(100, child.cacheTtl);
+        assertTrue(child.staleWhileRevalidate);
+    }
 }
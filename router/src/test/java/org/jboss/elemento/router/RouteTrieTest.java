@@ -0,0 +1,207 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.elemento.router.Place.place;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RouteTrieTest {
+
+    @BeforeEach
+    void setUp() {
+        Parameter.encoder = new JavaUrlEncoder();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Parameter.encoder = new JsUrlEncoder();
+    }
+
+    @Test
+    void noMatch() {
+        RouteTrie trie = new RouteTrie();
+        trie.add(place("/users/:id"));
+
+        assertNull(trie.match(null));
+        assertNull(trie.match("/"));
+        assertNull(trie.match("/users"));
+        assertNull(trie.match("/users/1/edit"));
+        assertNull(trie.match("/groups/1"));
+    }
+
+    @Test
+    void parameters() {
+        RouteTrie trie = new RouteTrie();
+        trie.add(place("/time/:area/:location"));
+
+        RouteTrie.Match match = trie.match("/time/America/New_York");
+        assertNotNull(match);
+        assertEquals("/time/:area/:location", match.place.route());
+        assertEquals("America", match.parameter.get("area"));
+        assertEquals("New_York", match.parameter.get("location"));
+        assertEquals("/time/America/New_York", match.parameter.path());
+    }
+
+    @Test
+    void decoded() {
+        RouteTrie trie = new RouteTrie();
+        trie.add(place("/resource/:name"));
+
+        RouteTrie.Match match = trie.match("/resource/my%2Ffile");
+        assertNotNull(match);
+        assertEquals("my/file", match.parameter.get("name"));
+        assertEquals("my%2Ffile", match.parameter.getRaw("name"));
+    }
+
+    @Test
+    void optionalParameters() {
+        RouteTrie trie = new RouteTrie();
+        trie.add(place("/a/:b?/:c?"));
+
+        assertEquals("/a/:b?/:c?", trie.match("/a").place.route());
+        assertFalse(trie.match("/a").parameter.has("b"));
+        assertEquals("1", trie.match("/a/1").parameter.get("b"));
+        assertFalse(trie.match("/a/1").parameter.has("c"));
+        assertEquals("2", trie.match("/a/1/2").parameter.get("c"));
+        assertNull(trie.match("/a/1/2/3"));
+    }
+
+    @Test
+    void staticBeforeParameter() {
+        RouteTrie trie = new RouteTrie();
+        trie.add(place("/users/:id/:tab"));
+        trie.add(place("/users/new/:step"));
+
+        assertEquals("/users/new/:step", trie.match("/users/new/1").place.route());
+        assertEquals("/users/:id/:tab", trie.match("/users/42/profile").place.route());
+    }
+
+    @Test
+    void moreStaticSegments() {
+        // registration order must not matter
+        for (boolean fewerFirst : new boolean[]{true, false}) {
+            RouteTrie trie = new RouteTrie();
+            if (fewerFirst) {
+                trie.add(place("/a/b/:y/:z"));
+                trie.add(place("/a/:x/c/d"));
+            } else {
+                trie.add(place("/a/:x/c/d"));
+                trie.add(place("/a/b/:y/:z"));
+            }
+            assertEquals("/a/:x/c/d", trie.match("/a/b/c/d").place.route());
+            assertEquals("b", trie.match("/a/b/c/d").parameter.get("x"));
+            assertEquals("/a/b/:y/:z", trie.match("/a/b/c/e").place.route());
+            assertEquals("/a/:x/c/d", trie.match("/a/e/c/d").place.route());
+        }
+    }
+
+    @Test
+    void sameStaticSegments() {
+        // same number of static segments: the route whose static segments come first wins
+        for (boolean leftFirst : new boolean[]{true, false}) {
+            RouteTrie trie = new RouteTrie();
+            if (leftFirst) {
+                trie.add(place("/a/b/:y"));
+                trie.add(place("/a/:x/c"));
+            } else {
+                trie.add(place("/a/:x/c"));
+                trie.add(place("/a/b/:y"));
+            }
+            assertEquals("/a/b/:y", trie.match("/a/b/c").place.route());
+            assertEquals("/a/:x/c", trie.match("/a/e/c").place.route());
+        }
+    }
+
+    @Test
+    void backtrack() {
+        RouteTrie trie = new RouteTrie();
+        trie.add(place("/users/new/:step"));
+        trie.add(place("/users/:id/:tab/:section"));
+
+        // 'new' matches the static segment, but only the parameterized route has enough segments
+        assertEquals("/users/:id/:tab/:section", trie.match("/users/new/a/b").place.route());
+        assertEquals("new", trie.match("/users/new/a/b").parameter.get("id"));
+    }
+
+    @Test
+    void requiredBeforeOptional() {
+        // registration order must not matter
+        for (boolean optionalFirst : new boolean[]{true, false}) {
+            RouteTrie trie = new RouteTrie();
+            if (optionalFirst) {
+                assertNull(trie.add(place("/users/:id?")));
+                assertNull(trie.add(place("/users/:id")));
+            } else {
+                assertNull(trie.add(place("/users/:id")));
+                assertNull(trie.add(place("/users/:id?")));
+            }
+            assertEquals("/users/:id", trie.match("/users/1").place.route());
+            assertEquals("/users/:id?", trie.match("/users").place.route());
+        }
+    }
+
+    @Test
+    void presentBeforeOmittedOptional() {
+        for (boolean longFirst : new boolean[]{true, false}) {
+            RouteTrie trie = new RouteTrie();
+            if (longFirst) {
+                assertNull(trie.add(place("/users/:id/:tab?")));
+                assertNull(trie.add(place("/users/:id")));
+            } else {
+                assertNull(trie.add(place("/users/:id")));
+                assertNull(trie.add(place("/users/:id/:tab?")));
+            }
+            assertEquals("/users/:id", trie.match("/users/1").place.route());
+            assertEquals("/users/:id/:tab?", trie.match("/users/1/profile").place.route());
+        }
+    }
+
+    @Test
+    void ambiguous() {
+        RouteTrie trie = new RouteTrie();
+        assertNull(trie.add(place("/users/:id")));
+        assertEquals("/users/:id", trie.add(place("/users/:name")).route());
+        assertNull(trie.add(place("/users/:key?")));
+        assertEquals("/users/:key?", trie.add(place("/users/:other?")).route());
+        assertEquals("/users/:id", trie.match("/users/1").place.route());
+        assertEquals("/users/:key?", trie.match("/users").place.route());
+    }
+
+    @Test
+    void reRegister() {
+        RouteTrie trie = new RouteTrie();
+        assertNull(trie.add(place("/users/:id")));
+        assertNull(trie.add(place("/users/:id")));
+    }
+
+    @Test
+    void differentParameterNames() {
+        RouteTrie trie = new RouteTrie();
+        trie.add(place("/users/:id"));
+        trie.add(place("/users/:name/edit"));
+
+        assertEquals("1", trie.match("/users/1").parameter.get("id"));
+        assertEquals("jane", trie.match("/users/jane/edit").parameter.get("name"));
+        assertFalse(trie.match("/users/jane/edit").parameter.has("id"));
+    }
+}
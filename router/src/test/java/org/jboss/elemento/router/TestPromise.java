@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.router;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import elemental2.promise.IThenable;
+import elemental2.promise.Promise;
+
+/**
+ * Synchronous promise for JVM-based JUnit tests, where JavaScript's promises are not available. Callbacks run as soon as the
+ * promise is settled, not in a microtask. Use {@link #fulfill(Object)} and {@link #fail(Object)} to settle the promise.
+ */
+class TestPromise<T> extends Promise<T> {
+
+    static <T> TestPromise<T> resolved(T value) {
+        TestPromise<T> promise = new TestPromise<>();
+        promise.fulfill(value);
+        return promise;
+    }
+
+    static <T> TestPromise<T> rejected(Object error) {
+        TestPromise<T> promise = new TestPromise<>();
+        promise.fail(error);
+        return promise;
+    }
+
+    private final List<Runnable> callbacks;
+    private boolean settled;
+    private boolean fulfilled;
+    private Object result;
+
+    TestPromise() {
+        super((resolve, reject) -> {
+        });
+        this.callbacks = new ArrayList<>();
+    }
+
+    void fulfill(T value) {
+        settle(true, value);
+    }
+
+    void fail(Object error) {
+        settle(false, error);
+    }
+
+    boolean fulfilled() {
+        return settled && fulfilled;
+    }
+
+    boolean rejected() {
+        return settled && !fulfilled;
+    }
+
+    Object result() {
+        return result;
+    }
+
+    @Override
+    public <V> Promise<V> then(ThenOnFulfilledCallbackFn<? super T, ? extends V> onFulfilled) {
+        return then(onFulfilled, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Promise<V> then(ThenOnFulfilledCallbackFn<? super T, ? extends V> onFulfilled,
+            ThenOnRejectedCallbackFn<? extends V> onRejected) {
+        TestPromise<V> next = new TestPromise<>();
+        whenSettled(() -> {
+            if (fulfilled) {
+                chain(next, onFulfilled.onInvoke((T) result));
+            } else if (onRejected != null) {
+                chain(next, onRejected.onInvoke(result));
+            } else {
+                next.fail(result);
+            }
+        });
+        return next;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Promise<V> catch_(CatchOnRejectedCallbackFn<? extends V> onRejected) {
+        TestPromise<V> next = new TestPromise<>();
+        whenSettled(() -> {
+            if (fulfilled) {
+                next.fulfill((V) result);
+            } else {
+                chain(next, onRejected.onInvoke(result));
+            }
+        });
+        return next;
+    }
+
+    private void settle(boolean fulfilled, Object result) {
+        if (!settled) {
+            this.settled = true;
+            this.fulfilled = fulfilled;
+            this.result = result;
+            for (Runnable callback : callbacks) {
+                callback.run();
+            }
+            callbacks.clear();
+        }
+    }
+
+    private void whenSettled(Runnable callback) {
+        if (settled) {
+            callback.run();
+        } else {
+            callbacks.add(callback);
+        }
+    }
+
+    private static <V> void chain(TestPromise<V> next, IThenable<? extends V> value) {
+        if (value == null) {
+            next.fulfill(null);
+        } else {
+            value.then(v -> {
+                next.fulfill(v);
+                return null;
+            }, error -> {
+                next.fail(error);
+                return null;
+            });
+        }
+    }
+}
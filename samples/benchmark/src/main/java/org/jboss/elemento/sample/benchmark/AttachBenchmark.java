@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.sample.benchmark;
+
+import elemental2.dom.HTMLElement;
+import elemental2.promise.Promise;
+
+import static elemental2.dom.DomGlobal.document;
+import static elemental2.dom.DomGlobal.performance;
+import static org.jboss.elemento.Elements.div;
+import static org.jboss.elemento.Elements.failSafeRemoveFromParent;
+import static org.jboss.elemento.Elements.onAttach;
+
+/**
+ * Registers attach observers for a number of elements, appends them in one go, and measures the time until all attach
+ * callbacks have been called.
+ */
+class AttachBenchmark implements Benchmark {
+
+    @Override
+    public String name() {
+        return "Attach callbacks";
+    }
+
+    @Override
+    public int[] sizes() {
+        return new int[]{100, 1_000, 10_000, 50_000};
+    }
+
+    @Override
+    public Promise<Double> run(int size) {
+        return new Promise<>((resolve, reject) -> {
+            HTMLElement sandbox = div().css("sandbox").element();
+            int[] count = new int[1];
+            double[] start = new double[1];
+            for (int i = 0; i < size; i++) {
+                HTMLElement element = div().element();
+                onAttach(element, __ -> {
+                    count[0]++;
+                    if (count[0] == size) {
+                        double time = performance.now() - start[0];
+                        failSafeRemoveFromParent(sandbox);
+                        resolve.onInvoke(time);
+                    }
+                });
+                sandbox.appendChild(element);
+            }
+            start[0] = performance.now();
+            document.body.appendChild(sandbox);
+        });
+    }
+}
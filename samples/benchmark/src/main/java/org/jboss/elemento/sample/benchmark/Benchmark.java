@@ -0,0 +1,31 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.sample.benchmark;
+
+import elemental2.promise.Promise;
+
+/**
+ * A benchmark which is executed for different sizes. Implementations resolve the promise with the measured time in
+ * milliseconds.
+ */
+interface Benchmark {
+
+    String name();
+
+    int[] sizes();
+
+    Promise<Double> run(int size);
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.sample.benchmark;
+
+import elemental2.dom.HTMLTableSectionElement;
+import elemental2.promise.Promise;
+import org.jboss.elemento.HTMLContainerBuilder;
+
+import static elemental2.dom.DomGlobal.performance;
+import static org.jboss.elemento.By.element;
+import static org.jboss.elemento.Elements.tbody;
+import static org.jboss.elemento.Elements.td;
+import static org.jboss.elemento.Elements.tr;
+import static org.jboss.elemento.EventType.click;
+import static org.jboss.elemento.EventType.dragstart;
+import static org.jboss.elemento.EventType.keydown;
+
+/**
+ * Creates a number of table rows with click, keydown and dragstart handlers, either registered for each row or delegated to
+ * the table body, and measures the time until all rows have been created.
+ */
+class EventBindingBenchmark implements Benchmark {
+
+    private final boolean delegate;
+
+    EventBindingBenchmark(boolean delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String name() {
+        return delegate ? "Event handlers (delegated)" : "Event handlers (per row)";
+    }
+
+    @Override
+    public int[] sizes() {
+        return new int[]{1_000, 5_000, 50_000};
+    }
+
+    @Override
+    public Promise<Double> run(int size) {
+        int[] events = new int[1];
+        double start = performance.now();
+        HTMLContainerBuilder<HTMLTableSectionElement> tbody = tbody();
+        if (delegate) {
+            tbody.on(click, element("tr"), (event, row) -> events[0]++)
+                    .on(keydown, element("tr"), (event, row) -> events[0]++)
+                    .on(dragstart, element("tr"), (event, row) -> events[0]++);
+            for (int i = 0; i < size; i++) {
+                tbody.add(tr().add(td().text("Row " + i)));
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                tbody.add(tr()
+                        .on(click, event -> events[0]++)
+                        .on(keydown, event -> events[0]++)
+                        .on(dragstart, event -> events[0]++)
+                        .add(td().text("Row " + i)));
+            }
+        }
+        return Promise.resolve(performance.now() - start);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.sample.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import elemental2.dom.HTMLElement;
+import elemental2.dom.HTMLTableRowElement;
+import elemental2.dom.MutationObserver;
+import elemental2.dom.MutationObserverInit;
+import elemental2.promise.Promise;
+import org.jboss.elemento.KeyedList;
+
+import static elemental2.dom.DomGlobal.console;
+import static elemental2.dom.DomGlobal.document;
+import static elemental2.dom.DomGlobal.performance;
+import static org.jboss.elemento.Elements.failSafeRemoveFromParent;
+import static org.jboss.elemento.Elements.table;
+import static org.jboss.elemento.Elements.tbody;
+import static org.jboss.elemento.Elements.td;
+import static org.jboss.elemento.Elements.tr;
+import static org.jboss.elemento.KeyedList.list;
+
+/**
+ * Renders a table using a {@link KeyedList}, changes one row, and measures the time of the update. The number of mutation
+ * records caused by the update is logged to the console.
+ */
+class KeyedListBenchmark implements Benchmark {
+
+    @Override
+    public String name() {
+        return "Keyed list, update one row";
+    }
+
+    @Override
+    public int[] sizes() {
+        return new int[]{1_000, 10_000, 100_000};
+    }
+
+    @Override
+    public Promise<Double> run(int size) {
+        List<Row> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(new Row(i, "Row " + i));
+        }
+        HTMLElement tbody = tbody().element();
+        HTMLElement table = table().css("sandbox").add(tbody).element();
+        document.body.appendChild(table);
+        KeyedList<Row, Integer, HTMLTableRowElement> list = list(tbody, rows,
+                row -> row.id,
+                row -> tr().add(td().text(row.text)).element(),
+                (element, row) -> element.firstElementChild.textContent = row.text,
+                (previous, row) -> previous != row); // rows are immutable
+
+        int[] mutations = new int[1];
+        MutationObserver observer = new MutationObserver((records, o) -> {
+            mutations[0] += records.length;
+            return null;
+        });
+        MutationObserverInit options = MutationObserverInit.create();
+        options.setChildList(true);
+        options.setCharacterData(true);
+        options.setSubtree(true);
+        observer.observe(tbody, options);
+
+        List<Row> changed = new ArrayList<>(rows);
+        changed.set(size / 2, new Row(size / 2, "Changed row"));
+        double start = performance.now();
+        list.update(changed);
+        double time = performance.now() - start;
+
+        mutations[0] += observer.takeRecords().length;
+        observer.disconnect();
+        console.log(name() + " (" + size + "): " + mutations[0] + " mutation record(s)");
+        failSafeRemoveFromParent(table);
+        return Promise.resolve(time);
+    }
+
+    private static final class Row {
+
+        final int id;
+        final String text;
+
+        Row(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.sample.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.core.client.EntryPoint;
+
+import elemental2.dom.HTMLButtonElement;
+import elemental2.dom.HTMLTableSectionElement;
+import elemental2.promise.Promise;
+
+import static elemental2.dom.DomGlobal.console;
+import static org.jboss.elemento.Elements.body;
+import static org.jboss.elemento.Elements.button;
+import static org.jboss.elemento.Elements.h;
+import static org.jboss.elemento.Elements.p;
+import static org.jboss.elemento.Elements.removeChildrenFrom;
+import static org.jboss.elemento.Elements.table;
+import static org.jboss.elemento.Elements.tbody;
+import static org.jboss.elemento.Elements.td;
+import static org.jboss.elemento.Elements.th;
+import static org.jboss.elemento.Elements.thead;
+import static org.jboss.elemento.Elements.tr;
+import static org.jboss.elemento.EventType.click;
+
+/**
+ * Runs the benchmarks one after another and shows the results in a table. Each benchmark runs {@value #ROUNDS} rounds per
+ * size. The first round is used as warmup and not taken into account.
+ */
+public class Main implements EntryPoint {
+
+    private static final int ROUNDS = 4;
+
+    private final List<Benchmark> benchmarks = new ArrayList<>();
+    private HTMLButtonElement runButton;
+    private HTMLTableSectionElement results;
+
+    @Override
+    public void onModuleLoad() {
+        benchmarks.add(new AttachBenchmark());
+        benchmarks.add(new PendingObserverBenchmark());
+        benchmarks.add(new RowsBenchmark(false));
+        benchmarks.add(new RowsBenchmark(true));
+        benchmarks.add(new KeyedListBenchmark());
+        benchmarks.add(new VirtualListBenchmark());
+        benchmarks.add(new EventBindingBenchmark(false));
+        benchmarks.add(new EventBindingBenchmark(true));
+
+        body().add(h(1, "Elemento Benchmarks"))
+                .add(p().text("Compile with -P prod to get meaningful numbers. " +
+                        "Times are the average of " + (ROUNDS - 1) + " rounds in milliseconds."))
+                .add(runButton = button().text("Run")
+                        .on(click, e -> run())
+                        .element())
+                .add(table()
+                        .add(thead().add(tr()
+                                .add(th().text("Benchmark"))
+                                .add(th().text("Size"))
+                                .add(th().text("Time (ms)"))))
+                        .add(results = tbody().element()));
+    }
+
+    private void run() {
+        runButton.disabled = true;
+        removeChildrenFrom(results);
+        Promise<Void> chain = Promise.resolve((Void) null);
+        for (Benchmark benchmark : benchmarks) {
+            for (int size : benchmark.sizes()) {
+                chain = chain.then(__ -> measure(benchmark, size, 0, 0));
+            }
+        }
+        chain.finally_(() -> runButton.disabled = false);
+    }
+
+    private Promise<Void> measure(Benchmark benchmark, int size, int round, double total) {
+        if (round == ROUNDS) {
+            double average = total / (ROUNDS - 1);
+            console.log(benchmark.name() + " [" + size + "]: " + average + " ms");
+            results.appendChild(tr()
+                    .add(td().text(benchmark.name()))
+                    .add(td().text(String.valueOf(size)))
+                    .add(td().text(String.valueOf(Math.round(average * 100) / 100.0)))
+                    .element());
+            return Promise.resolve((Void) null);
+        }
+        return benchmark.run(size).then(time -> measure(benchmark, size, round + 1, round == 0 ? total : total + time));
+    }
+}
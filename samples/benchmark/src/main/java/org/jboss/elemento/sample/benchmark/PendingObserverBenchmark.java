@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.sample.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.elemento.Attachable;
+
+import elemental2.dom.HTMLElement;
+import elemental2.dom.MutationObserver;
+import elemental2.dom.MutationObserverInit;
+import elemental2.promise.Promise;
+
+import static elemental2.dom.DomGlobal.document;
+import static elemental2.dom.DomGlobal.performance;
+import static org.jboss.elemento.Elements.div;
+import static org.jboss.elemento.Elements.failSafeRemoveFromParent;
+import static org.jboss.elemento.Elements.onAttach;
+
+/**
+ * Registers attach observers for a number of elements which are never attached and measures how long it takes to process
+ * {@value #ROWS} unrelated mutation records. This is what a table re-render costs while many attachables are pending.
+ * <p>
+ * The time is taken in a mutation observer which is created <em>after</em> the body observer of Elemento. Mutation observers
+ * are notified in creation order, so the probe observer runs once the body observer has processed all records.
+ */
+class PendingObserverBenchmark implements Benchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Override
+    public String name() {
+        return "Process " + ROWS + " records with pending observers";
+    }
+
+    @Override
+    public int[] sizes() {
+        return new int[]{100, 1_000, 10_000, 50_000};
+    }
+
+    @Override
+    public Promise<Double> run(int size) {
+        List<HTMLElement> pending = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            HTMLElement element = div().element();
+            onAttach(element, __ -> {
+            });
+            pending.add(element);
+        }
+
+        return new Promise<>((resolve, reject) -> {
+            HTMLElement sandbox = div().css("sandbox").element();
+            document.body.appendChild(sandbox);
+            double[] start = new double[1];
+            MutationObserver probe = new MutationObserver((records, observer) -> {
+                double time = performance.now() - start[0];
+                observer.disconnect();
+                failSafeRemoveFromParent(sandbox);
+                pending.forEach(Attachable::unregister);
+                resolve.onInvoke(time);
+                return null;
+            });
+            MutationObserverInit init = MutationObserverInit.create();
+            init.setChildList(true);
+            init.setSubtree(true);
+            probe.observe(sandbox, init);
+
+            start[0] = performance.now();
+            for (int i = 0; i < ROWS; i++) {
+                sandbox.appendChild(div().element());
+            }
+        });
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.sample.benchmark;
+
+import elemental2.dom.HTMLLIElement;
+import elemental2.dom.HTMLUListElement;
+import elemental2.dom.MouseEvent;
+import elemental2.promise.Promise;
+import org.jboss.elemento.Template;
+import org.jboss.elemento.Template.AttributeHole;
+import org.jboss.elemento.Template.EventHole;
+import org.jboss.elemento.Template.TextHole;
+
+import static elemental2.dom.DomGlobal.performance;
+import static org.jboss.elemento.By.classname;
+import static org.jboss.elemento.Elements.button;
+import static org.jboss.elemento.Elements.li;
+import static org.jboss.elemento.Elements.span;
+import static org.jboss.elemento.Elements.ul;
+import static org.jboss.elemento.EventType.click;
+import static org.jboss.elemento.Template.template;
+
+/**
+ * Creates a number of list rows, either using the builder API for each row or by stamping a {@link Template}, and measures
+ * the time until all rows have been created.
+ */
+class RowsBenchmark implements Benchmark {
+
+    private final boolean useTemplate;
+
+    RowsBenchmark(boolean useTemplate) {
+        this.useTemplate = useTemplate;
+    }
+
+    @Override
+    public String name() {
+        return useTemplate ? "Rows (template)" : "Rows (builder)";
+    }
+
+    @Override
+    public int[] sizes() {
+        return new int[]{1_000, 10_000, 100_000};
+    }
+
+    @Override
+    public Promise<Double> run(int size) {
+        HTMLUListElement ul = ul().element();
+        double start = performance.now();
+        if (useTemplate) {
+            Template<HTMLLIElement> row = template(row());
+            AttributeHole id = row.attribute("data-id");
+            TextHole label = row.text(classname("label"));
+            TextHole value = row.text(classname("value"));
+            EventHole<MouseEvent> remove = row.on(classname("remove"), click);
+            for (int i = 0; i < size; i++) {
+                ul.appendChild(row.stamp()
+                        .attr(id, String.valueOf(i))
+                        .text(label, "Row " + i)
+                        .text(value, String.valueOf(i * 2))
+                        .on(remove, event -> {})
+                        .element());
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                ul.appendChild(li().css("row")
+                        .attr("data-id", String.valueOf(i))
+                        .add(span().css("label").text("Row " + i))
+                        .add(span().css("value").text(String.valueOf(i * 2)))
+                        .add(button().css("remove").text("Remove")
+                                .on(click, event -> {}))
+                        .element());
+            }
+        }
+        return Promise.resolve(performance.now() - start);
+    }
+
+    private HTMLLIElement row() {
+        return li().css("row")
+                .add(span().css("label"))
+                .add(span().css("value"))
+                .add(button().css("remove").text("Remove"))
+                .element();
+    }
+}
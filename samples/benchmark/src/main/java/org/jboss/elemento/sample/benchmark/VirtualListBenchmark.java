@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2023 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.elemento.sample.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import elemental2.dom.HTMLElement;
+import elemental2.dom.HTMLTableRowElement;
+import elemental2.promise.Promise;
+import org.jboss.elemento.VirtualList;
+
+import static elemental2.dom.DomGlobal.console;
+import static elemental2.dom.DomGlobal.document;
+import static elemental2.dom.DomGlobal.performance;
+import static org.jboss.elemento.Elements.div;
+import static org.jboss.elemento.Elements.failSafeRemoveFromParent;
+import static org.jboss.elemento.Elements.table;
+import static org.jboss.elemento.Elements.tbody;
+import static org.jboss.elemento.Elements.td;
+import static org.jboss.elemento.Elements.tr;
+import static org.jboss.elemento.VirtualList.virtualList;
+
+/**
+ * Renders a number of rows into a {@link VirtualList} and scrolls through the list in steps. Measures the time for the initial
+ * render and all scroll steps. The number of rendered rows is logged to the console.
+ */
+class VirtualListBenchmark implements Benchmark {
+
+    private static final int STEPS = 100;
+
+    @Override
+    public String name() {
+        return "Virtual list, render and scroll";
+    }
+
+    @Override
+    public int[] sizes() {
+        return new int[]{10_000, 100_000, 200_000};
+    }
+
+    @Override
+    public Promise<Double> run(int size) {
+        List<String> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add("Row " + i);
+        }
+        HTMLElement tbody = tbody().element();
+        HTMLElement viewport = div().css("sandbox")
+                .style("height: 400px; overflow: auto")
+                .add(table().add(tbody))
+                .element();
+        document.body.appendChild(viewport);
+
+        double start = performance.now();
+        VirtualList<String, HTMLTableRowElement> list = virtualList(viewport, tbody,
+                () -> tr().add(td()).element(),
+                (row, text) -> row.firstElementChild.textContent = text);
+        list.rowHeight(24).items(rows);
+        for (int i = 1; i <= STEPS; i++) {
+            list.scrollToIndex(i * (size / STEPS) - 1);
+        }
+        double time = performance.now() - start;
+
+        console.log(name() + " (" + size + "): " + list.renderedRows() + " rendered rows");
+        list.destroy();
+        failSafeRemoveFromParent(viewport);
+        return Promise.resolve(time);
+    }
+}
@@ -45,7 +45,7 @@ FLAGS:
     --no-color          Uses plain text output
 
 ARGS:
-    <sample>              One of 'f', flow', 'm', or 'music', 'tg', todo-gwt', 'tj' or 'todo-j2cl'
+    <sample>              One of 'b', 'benchmark', 'f', flow', 'm', or 'music', 'tg', todo-gwt', 'tj' or 'todo-j2cl'
 EOF
   exit
 }
@@ -94,9 +94,9 @@ parse_params() {
   done
 
   ARGS=("$@")
-  [[ ${#ARGS[@]} -eq 1 ]] || die "Missing sample. Please use one of 'f', flow', 'm', or 'music', 'tg', todo-gwt', 'tj', 'todo-j2cl'"
+  [[ ${#ARGS[@]} -eq 1 ]] || die "Missing sample. Please use one of 'b', 'benchmark', 'f', flow', 'm', or 'music', 'tg', todo-gwt', 'tj', 'todo-j2cl'"
   MODE=${ARGS[0]}
-  [[ "${MODE}" =~ ^(f|flow|m|music|tg|todo-gwt|tj|todo-j2cl)$ ]] || die "Wrong mode. Please use one of 'f', flow', 'm', or 'music', 'tg', todo-gwt', 'tj', 'todo-j2cl'"
+  [[ "${MODE}" =~ ^(b|benchmark|f|flow|m|music|tg|todo-gwt|tj|todo-j2cl)$ ]] || die "Wrong mode. Please use one of 'b', 'benchmark', 'f', flow', 'm', or 'music', 'tg', todo-gwt', 'tj', 'todo-j2cl'"
   return 0
 }
 
@@ -105,6 +105,13 @@ setup_colors
 
 
 case "${MODE}" in
+  "b"|"benchmark")
+    msg ""
+    msg "Run ${YELLOW}Benchmark${NOFORMAT} sample..."
+    msg ""
+    cd benchmark
+    mvn ${CLEAN} gwt:devmode -P dev
+    ;;
   "f"|"flow")
     msg ""
     msg "Run ${YELLOW}Flow${NOFORMAT} sample..."